@@ -0,0 +1,64 @@
+package com.globallogic.bci.token;
+
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures local token verification with {@link Hs256TokenVerifier} against
+ * a reused JJWT parser, the baseline a downstream service would otherwise
+ * embed (together with Jackson).
+ *
+ * Run with: ./gradlew :bci-token-verifier:jmh -PjmhIncludes=TokenVerifierBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TokenVerifierBenchmark {
+
+    private static final byte[] SECRET = "mySecretKeyForJWTTokenGenerationInBCI12345".getBytes(StandardCharsets.UTF_8);
+
+    private Hs256TokenVerifier verifier;
+    private JwtParser jjwtParser;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET);
+        long now = System.currentTimeMillis();
+        token = Jwts.builder()
+                .setHeaderParam("kid", "k1")
+                .setSubject("benchmark.user@example.com")
+                .claim("email", "benchmark.user@example.com")
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + 86400000L))
+                .setId("3q2-7wAAQBCAAAAAAAAAAA")
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+        verifier = new Hs256TokenVerifier(SECRET);
+        jjwtParser = Jwts.parserBuilder().setSigningKey(key).build();
+    }
+
+    @Benchmark
+    public TokenVerification tokenVerifier() {
+        return verifier.verify(token);
+    }
+
+    @Benchmark
+    public Object jjwtParser() {
+        return jjwtParser.parseClaimsJws(token).getBody();
+    }
+}
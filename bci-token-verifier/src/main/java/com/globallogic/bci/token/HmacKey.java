@@ -0,0 +1,75 @@
+package com.globallogic.bci.token;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * HMAC-SHA256 Verification Key
+ *
+ * Wraps an HS256 secret together with per-thread Mac instances initialized
+ * with it, so checking a signature never pays for Mac.getInstance() or
+ * Mac.init() after a thread's first use of the key.
+ *
+ * Signatures are compared with MessageDigest.isEqual (constant time).
+ *
+ * @author GlobalLogic Development Team
+ * @version 1.0.0
+ * @since Java 11
+ */
+public final class HmacKey {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    /**
+     * Minimum secret length for HS256 (256 bits, RFC 7518 section 3.2).
+     */
+    public static final int MIN_KEY_BYTES = 32;
+
+    static final int SIGNATURE_LENGTH = 32;
+
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> mac;
+
+    /**
+     * Create a key from raw secret bytes.
+     *
+     * @param secret The HS256 secret (at least 32 bytes)
+     * @throws IllegalArgumentException if the secret is null or too short
+     */
+    public HmacKey(byte[] secret) {
+        if (secret == null || secret.length < MIN_KEY_BYTES) {
+            throw new IllegalArgumentException("HS256 keys must be at least " + MIN_KEY_BYTES + " bytes");
+        }
+        this.key = new SecretKeySpec(secret, ALGORITHM);
+        this.mac = ThreadLocal.withInitial(this::newMac);
+    }
+
+    /**
+     * Check an HS256 signature.
+     *
+     * @param signingInput The bytes that were signed ("header.payload" in ASCII)
+     * @param signature The decoded signature
+     * @return true if the signature matches
+     */
+    boolean verify(byte[] signingInput, byte[] signature) {
+        if (signature.length != SIGNATURE_LENGTH) {
+            return false;
+        }
+        Mac m = mac.get();
+        byte[] expected = m.doFinal(signingInput);
+        return MessageDigest.isEqual(expected, signature);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac m = Mac.getInstance(ALGORITHM);
+            m.init(key);
+            return m;
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.globallogic.bci.token;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * HS256 Token Verifier - Dependency-Free Verification of BCI Access Tokens
+ *
+ * Verifies the JWTs issued by the BCI service locally, so downstream
+ * services can authenticate callers without calling /login (no network hop,
+ * no DB write). Uses only the JDK: javax.crypto for HMAC-SHA256 and a small
+ * built-in JSON reader.
+ *
+ * Verification (single pass, same outcome as the service itself):
+ * 1. Split the compact JWS into header, payload and signature
+ * 2. Decode the header; alg must be HS256, kid selects the key
+ * 3. Check the signature over the raw signing input (constant-time comparison)
+ * 4. Decode the claim set; the payload is only parsed once it is authentic
+ * 5. Check exp and nbf against the clock, then the typ claim
+ *
+ * Usage:
+ * <pre>
+ * Hs256TokenVerifier verifier = new Hs256TokenVerifier(secret.getBytes(StandardCharsets.UTF_8));
+ * TokenVerification result = verifier.verify(bearerToken);
+ * if (result.isValid()) {
+ *     String email = result.getEmail();
+ * }
+ * </pre>
+ *
+ * Instances are immutable and thread-safe; create one per key set and share it.
+ *
+ * @author GlobalLogic Development Team
+ * @version 1.0.0
+ * @since Java 11
+ */
+public final class Hs256TokenVerifier {
+
+    private static final String ALGORITHM = "HS256";
+    private static final String TYPE_CLAIM = "typ";
+
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final KeyResolver keyResolver;
+    private final Clock clock;
+
+    /**
+     * Create a verifier for a single secret; the kid header is not checked.
+     *
+     * @param secret The HS256 secret (at least 32 bytes)
+     * @throws IllegalArgumentException if the secret is too short
+     */
+    public Hs256TokenVerifier(byte[] secret) {
+        this(singleKey(new HmacKey(secret)));
+    }
+
+    /**
+     * Create a verifier resolving keys by kid (for key rotation).
+     *
+     * @param keyResolver Resolves the kid header to a key
+     */
+    public Hs256TokenVerifier(KeyResolver keyResolver) {
+        this(keyResolver, Clock.systemUTC());
+    }
+
+    /**
+     * Create a verifier with an explicit clock.
+     *
+     * @param keyResolver Resolves the kid header to a key
+     * @param clock Clock used for exp and nbf checks
+     */
+    public Hs256TokenVerifier(KeyResolver keyResolver, Clock clock) {
+        this.keyResolver = Objects.requireNonNull(keyResolver, "keyResolver");
+        this.clock = Objects.requireNonNull(clock, "clock");
+    }
+
+    private static KeyResolver singleKey(HmacKey key) {
+        return keyId -> key;
+    }
+
+    /**
+     * Verify an access token (a token without a typ claim).
+     *
+     * @param token The compact JWS string
+     * @return The verification result (never null)
+     */
+    public TokenVerification verify(String token) {
+        return verify(token, null);
+    }
+
+    /**
+     * Verify a token of the given type.
+     *
+     * @param token The compact JWS string
+     * @param expectedType Required typ claim value, or null if the claim must be absent
+     * @return The verification result (never null)
+     */
+    public TokenVerification verify(String token, String expectedType) {
+        if (token == null || token.isEmpty()) {
+            return TokenVerification.failure(TokenVerification.Status.MALFORMED);
+        }
+        int firstDot = token.indexOf('.');
+        int secondDot = firstDot < 0 ? -1 : token.indexOf('.', firstDot + 1);
+        if (secondDot < 0 || token.indexOf('.', secondDot + 1) >= 0
+                || firstDot == 0 || secondDot == firstDot + 1 || secondDot == token.length() - 1) {
+            return TokenVerification.failure(TokenVerification.Status.MALFORMED);
+        }
+
+        Map<String, Object> header;
+        byte[] signature;
+        try {
+            header = JsonClaimsReader.readObject(decode(token, 0, firstDot));
+            signature = DECODER.decode(token.substring(secondDot + 1));
+        } catch (IllegalArgumentException e) {
+            return TokenVerification.failure(TokenVerification.Status.MALFORMED);
+        }
+
+        if (!ALGORITHM.equals(header.get("alg")) || header.containsKey("zip")) {
+            return TokenVerification.failure(TokenVerification.Status.MALFORMED);
+        }
+        Object keyId = header.get("kid");
+        if (keyId != null && !(keyId instanceof String)) {
+            return TokenVerification.failure(TokenVerification.Status.MALFORMED);
+        }
+        HmacKey key = keyResolver.resolve((String) keyId);
+        if (key == null) {
+            return TokenVerification.failure(TokenVerification.Status.BAD_SIGNATURE);
+        }
+        byte[] signingInput = token.substring(0, secondDot).getBytes(StandardCharsets.US_ASCII);
+        if (!key.verify(signingInput, signature)) {
+            return TokenVerification.failure(TokenVerification.Status.BAD_SIGNATURE);
+        }
+
+        Map<String, Object> claims;
+        try {
+            claims = JsonClaimsReader.readObject(decode(token, firstDot + 1, secondDot));
+        } catch (IllegalArgumentException e) {
+            return TokenVerification.failure(TokenVerification.Status.MALFORMED);
+        }
+
+        Object subject = claims.get("sub");
+        Object email = claims.get("email");
+        Object tokenId = claims.get("jti");
+        if (!isOptionalString(subject) || !isOptionalString(email) || !isOptionalString(tokenId)) {
+            return TokenVerification.failure(TokenVerification.Status.MALFORMED);
+        }
+        Date issuedAt;
+        Date expiration;
+        Date notBefore;
+        try {
+            issuedAt = toDate(claims.get("iat"));
+            expiration = toDate(claims.get("exp"));
+            notBefore = toDate(claims.get("nbf"));
+        } catch (IllegalArgumentException e) {
+            return TokenVerification.failure(TokenVerification.Status.MALFORMED);
+        }
+
+        long now = clock.millis();
+        if (expiration != null && now > expiration.getTime()) {
+            return TokenVerification.failure(TokenVerification.Status.EXPIRED);
+        }
+        if (notBefore != null && now < notBefore.getTime()) {
+            return TokenVerification.failure(TokenVerification.Status.MALFORMED);
+        }
+        if (!Objects.equals(expectedType, claims.get(TYPE_CLAIM))) {
+            return TokenVerification.failure(TokenVerification.Status.MALFORMED);
+        }
+        return TokenVerification.valid((String) subject, (String) email, issuedAt, expiration, (String) tokenId);
+    }
+
+    private static String decode(String token, int start, int end) {
+        return new String(DECODER.decode(token.substring(start, end)), StandardCharsets.UTF_8);
+    }
+
+    private static boolean isOptionalString(Object value) {
+        return value == null || value instanceof String;
+    }
+
+    /**
+     * Convert a NumericDate claim (epoch seconds) to a Date.
+     */
+    private static Date toDate(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Long) {
+            return new Date((Long) value * 1000L);
+        }
+        if (value instanceof Double) {
+            return new Date((long) ((Double) value * 1000d));
+        }
+        throw new IllegalArgumentException("NumericDate claim must be a number");
+    }
+}
@@ -0,0 +1,279 @@
+package com.globallogic.bci.token;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Minimal JSON reader for JWT headers and claim sets.
+ *
+ * Parses a single JSON object into a map of its top-level members. Strings,
+ * numbers, booleans and null are decoded; nested objects and arrays are
+ * validated and skipped (mapped to {@link #NESTED}), since no claim this
+ * library reads is structured. Keeps the module free of a JSON dependency.
+ *
+ * Numbers are returned as Long when they are integral and fit, Double
+ * otherwise. Objects and arrays nest at most {@link #MAX_DEPTH} levels deep,
+ * so hostile input cannot exhaust the stack.
+ */
+final class JsonClaimsReader {
+
+    /**
+     * Placeholder value for nested objects and arrays.
+     */
+    static final Object NESTED = new Object();
+
+    /**
+     * Maximum nesting of objects and arrays, counting the top-level object.
+     */
+    static final int MAX_DEPTH = 32;
+
+    private final String json;
+    private int pos;
+    private int depth;
+
+    private JsonClaimsReader(String json) {
+        this.json = json;
+    }
+
+    /**
+     * Parse a JSON object.
+     *
+     * @param json The JSON text
+     * @return Top-level members by name
+     * @throws IllegalArgumentException if the text is not a single JSON object or nests too deeply
+     */
+    static Map<String, Object> readObject(String json) {
+        JsonClaimsReader reader = new JsonClaimsReader(json);
+        reader.skipWhitespace();
+        Map<String, Object> members = reader.object();
+        reader.skipWhitespace();
+        if (reader.pos != json.length()) {
+            throw reader.error("Trailing characters");
+        }
+        return members;
+    }
+
+    private Map<String, Object> object() {
+        expect('{');
+        enter();
+        Map<String, Object> members = new HashMap<>();
+        skipWhitespace();
+        if (peek() == '}') {
+            pos++;
+            depth--;
+            return members;
+        }
+        while (true) {
+            skipWhitespace();
+            String name = string();
+            skipWhitespace();
+            expect(':');
+            skipWhitespace();
+            members.put(name, value());
+            skipWhitespace();
+            char c = next();
+            if (c == '}') {
+                depth--;
+                return members;
+            }
+            if (c != ',') {
+                throw error("Expected ',' or '}'");
+            }
+        }
+    }
+
+    private Object value() {
+        char c = peek();
+        switch (c) {
+            case '"':
+                return string();
+            case '{':
+                object();
+                return NESTED;
+            case '[':
+                array();
+                return NESTED;
+            case 't':
+                literal("true");
+                return Boolean.TRUE;
+            case 'f':
+                literal("false");
+                return Boolean.FALSE;
+            case 'n':
+                literal("null");
+                return null;
+            default:
+                return number();
+        }
+    }
+
+    private void array() {
+        expect('[');
+        enter();
+        skipWhitespace();
+        if (peek() == ']') {
+            pos++;
+            depth--;
+            return;
+        }
+        while (true) {
+            skipWhitespace();
+            value();
+            skipWhitespace();
+            char c = next();
+            if (c == ']') {
+                depth--;
+                return;
+            }
+            if (c != ',') {
+                throw error("Expected ',' or ']'");
+            }
+        }
+    }
+
+    private void enter() {
+        if (++depth > MAX_DEPTH) {
+            throw error("Nesting deeper than " + MAX_DEPTH);
+        }
+    }
+
+    private String string() {
+        expect('"');
+        int start = pos;
+        // Fast path: no escapes
+        while (pos < json.length()) {
+            char c = json.charAt(pos);
+            if (c == '"') {
+                return json.substring(start, pos++);
+            }
+            if (c == '\\') {
+                break;
+            }
+            if (c < 0x20) {
+                throw error("Control character in string");
+            }
+            pos++;
+        }
+        StringBuilder sb = new StringBuilder(json.length() - start).append(json, start, pos);
+        while (true) {
+            char c = next();
+            if (c == '"') {
+                return sb.toString();
+            }
+            if (c < 0x20) {
+                throw error("Control character in string");
+            }
+            if (c != '\\') {
+                sb.append(c);
+                continue;
+            }
+            char escaped = next();
+            switch (escaped) {
+                case '"':
+                case '\\':
+                case '/':
+                    sb.append(escaped);
+                    break;
+                case 'b':
+                    sb.append('\b');
+                    break;
+                case 'f':
+                    sb.append('\f');
+                    break;
+                case 'n':
+                    sb.append('\n');
+                    break;
+                case 'r':
+                    sb.append('\r');
+                    break;
+                case 't':
+                    sb.append('\t');
+                    break;
+                case 'u':
+                    if (pos + 4 > json.length()) {
+                        throw error("Truncated escape");
+                    }
+                    try {
+                        sb.append((char) Integer.parseInt(json.substring(pos, pos + 4), 16));
+                    } catch (NumberFormatException e) {
+                        throw error("Invalid escape");
+                    }
+                    pos += 4;
+                    break;
+                default:
+                    throw error("Invalid escape");
+            }
+        }
+    }
+
+    private Object number() {
+        int start = pos;
+        if (peek() == '-') {
+            pos++;
+        }
+        boolean integral = true;
+        while (pos < json.length()) {
+            char c = json.charAt(pos);
+            if (c >= '0' && c <= '9') {
+                pos++;
+            } else if (c == '.' || c == 'e' || c == 'E' || c == '+' || c == '-') {
+                integral = false;
+                pos++;
+            } else {
+                break;
+            }
+        }
+        String text = json.substring(start, pos);
+        try {
+            if (integral) {
+                return Long.parseLong(text);
+            }
+            return Double.parseDouble(text);
+        } catch (NumberFormatException e) {
+            if (integral && !text.isEmpty() && !"-".equals(text)) {
+                return Double.parseDouble(text); // integral but out of long range
+            }
+            throw error("Invalid number");
+        }
+    }
+
+    private void literal(String literal) {
+        if (!json.startsWith(literal, pos)) {
+            throw error("Invalid literal");
+        }
+        pos += literal.length();
+    }
+
+    private void expect(char expected) {
+        if (next() != expected) {
+            throw error("Expected '" + expected + "'");
+        }
+    }
+
+    private char peek() {
+        if (pos >= json.length()) {
+            throw error("Unexpected end of input");
+        }
+        return json.charAt(pos);
+    }
+
+    private char next() {
+        char c = peek();
+        pos++;
+        return c;
+    }
+
+    private void skipWhitespace() {
+        while (pos < json.length()) {
+            char c = json.charAt(pos);
+            if (c != ' ' && c != '\t' && c != '\n' && c != '\r') {
+                return;
+            }
+            pos++;
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at offset " + pos);
+    }
+}
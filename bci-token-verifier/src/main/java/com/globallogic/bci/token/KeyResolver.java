@@ -0,0 +1,23 @@
+package com.globallogic.bci.token;
+
+/**
+ * Resolves the verification key named by a token's kid header.
+ *
+ * Implementations must be thread-safe; the resolver is called once per
+ * verified token.
+ *
+ * @author GlobalLogic Development Team
+ * @version 1.0.0
+ * @since Java 11
+ */
+@FunctionalInterface
+public interface KeyResolver {
+
+    /**
+     * Resolve a verification key.
+     *
+     * @param keyId The kid header value, or null for tokens issued without one
+     * @return The key, or null if the id is unknown or no longer accepted
+     */
+    HmacKey resolve(String keyId);
+}
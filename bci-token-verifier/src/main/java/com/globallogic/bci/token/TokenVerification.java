@@ -0,0 +1,133 @@
+package com.globallogic.bci.token;
+
+import java.util.Date;
+
+/**
+ * Result of a single-pass token verification.
+ *
+ * Produced by {@link Hs256TokenVerifier#verify(String)} (and the service's
+ * token providers) after the token has been parsed and its signature checked
+ * exactly once. A valid result carries the
+ * claims the service needs (subject, email, issued-at, expiration, token id); a failed
+ * result carries only the reason the token was rejected.
+ *
+ * Failure results hold no per-token data, so they are shared constants and
+ * rejecting a token allocates nothing.
+ *
+ * @author GlobalLogic Development Team
+ * @version 1.0.0
+ * @since Java 11
+ */
+public final class TokenVerification {
+
+    /**
+     * Outcome of a token verification.
+     */
+    public enum Status {
+        /** Signature matches and the token has not expired. */
+        VALID,
+        /** Signature matches but the expiration date is in the past. */
+        EXPIRED,
+        /** The token is well formed but was not signed with our key. */
+        BAD_SIGNATURE,
+        /** The token could not be parsed (null, empty, bad encoding or bad claims). */
+        MALFORMED
+    }
+
+    private static final TokenVerification EXPIRED = new TokenVerification(Status.EXPIRED, null, null, null, null, null);
+    private static final TokenVerification BAD_SIGNATURE = new TokenVerification(Status.BAD_SIGNATURE, null, null, null, null, null);
+    private static final TokenVerification MALFORMED = new TokenVerification(Status.MALFORMED, null, null, null, null, null);
+
+    private final Status status;
+    private final String subject;
+    private final String email;
+    private final Date issuedAt;
+    private final Date expiration;
+    private final String tokenId;
+
+    private TokenVerification(Status status, String subject, String email, Date issuedAt, Date expiration,
+                              String tokenId) {
+        this.status = status;
+        this.subject = subject;
+        this.email = email;
+        this.issuedAt = issuedAt;
+        this.expiration = expiration;
+        this.tokenId = tokenId;
+    }
+
+    /**
+     * Create a successful verification result.
+     *
+     * @param subject The token subject ({@code sub})
+     * @param email The email claim
+     * @param issuedAt The issued-at claim ({@code iat})
+     * @param expiration The expiration claim ({@code exp})
+     * @return A result with status {@link Status#VALID}
+     */
+    public static TokenVerification valid(String subject, String email, Date issuedAt, Date expiration) {
+        return valid(subject, email, issuedAt, expiration, null);
+    }
+
+    /**
+     * Create a successful verification result for a token carrying a jti claim.
+     *
+     * @param subject The token subject ({@code sub})
+     * @param email The email claim
+     * @param issuedAt The issued-at claim ({@code iat})
+     * @param expiration The expiration claim ({@code exp})
+     * @param tokenId The token id claim ({@code jti}), or null if absent
+     * @return A result with status {@link Status#VALID}
+     */
+    public static TokenVerification valid(String subject, String email, Date issuedAt, Date expiration,
+                                          String tokenId) {
+        return new TokenVerification(Status.VALID, subject, email, issuedAt, expiration, tokenId);
+    }
+
+    /**
+     * Get the shared result for a failed verification.
+     *
+     * @param status The failure reason (must not be {@link Status#VALID})
+     * @return The shared failure result for that status
+     * @throws IllegalArgumentException if status is VALID
+     */
+    public static TokenVerification failure(Status status) {
+        switch (status) {
+            case EXPIRED:
+                return EXPIRED;
+            case BAD_SIGNATURE:
+                return BAD_SIGNATURE;
+            case MALFORMED:
+                return MALFORMED;
+            default:
+                throw new IllegalArgumentException("A failed verification cannot have status " + status);
+        }
+    }
+
+    public boolean isValid() {
+        return status == Status.VALID;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public Date getIssuedAt() {
+        return issuedAt;
+    }
+
+    public Date getExpiration() {
+        return expiration;
+    }
+
+    public String getTokenId() {
+        return tokenId;
+    }
+}
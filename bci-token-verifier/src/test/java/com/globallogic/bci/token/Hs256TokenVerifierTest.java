@@ -0,0 +1,264 @@
+package com.globallogic.bci.token;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for Hs256TokenVerifier, using tokens built with JJWT (the
+ * library the BCI service is compatible with)
+ */
+@DisplayName("Hs256TokenVerifier Tests")
+class Hs256TokenVerifierTest {
+
+    private static final byte[] SECRET = "mySecretKeyForJWTTokenGenerationInBCI12345".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] OTHER_SECRET = "anotherSecretKeyForJWTTokenGeneration98765".getBytes(StandardCharsets.UTF_8);
+    private static final long NOW = 1_700_000_000_000L;
+
+    private SecretKey secretKey;
+    private Hs256TokenVerifier verifier;
+
+    @BeforeEach
+    void setUp() {
+        secretKey = Keys.hmacShaKeyFor(SECRET);
+        verifier = new Hs256TokenVerifier(key -> new HmacKey(SECRET), Clock.fixed(Instant.ofEpochMilli(NOW), ZoneOffset.UTC));
+    }
+
+    private String token(String email, long expMillis) {
+        return Jwts.builder()
+                .setSubject(email)
+                .claim("email", email)
+                .setIssuedAt(new Date(NOW - 1000))
+                .setExpiration(new Date(expMillis))
+                .setId("3q2-7wAAQBCAAAAAAAAAAA")
+                .signWith(secretKey, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    private static String encode(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String signed(String headerJson, String claimsJson) throws Exception {
+        String signingInput = encode(headerJson) + "." + encode(claimsJson);
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SECRET, "HmacSHA256"));
+        byte[] signature = mac.doFinal(signingInput.getBytes(StandardCharsets.US_ASCII));
+        return signingInput + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+    }
+
+    @Nested
+    @DisplayName("Valid tokens")
+    class ValidTokens {
+
+        @Test
+        @DisplayName("Should return all claims of a valid token")
+        void testValidToken() {
+            TokenVerification result = verifier.verify(token("user@example.com", NOW + 3600_000));
+
+            assertTrue(result.isValid());
+            assertEquals("user@example.com", result.getSubject());
+            assertEquals("user@example.com", result.getEmail());
+            assertEquals(new Date(NOW - 1000), result.getIssuedAt());
+            assertEquals(new Date(NOW + 3600_000), result.getExpiration());
+            assertEquals("3q2-7wAAQBCAAAAAAAAAAA", result.getTokenId());
+        }
+
+        @Test
+        @DisplayName("Should decode escaped and non-ASCII claim values")
+        void testEscapedClaims() {
+            String email = "j\u00f6rg\"o'brien\\@example.com";
+
+            assertEquals(email, verifier.verify(token(email, NOW + 3600_000)).getEmail());
+        }
+
+        @Test
+        @DisplayName("Should ignore unknown and nested claims")
+        void testUnknownClaims() {
+            Map<String, Object> extra = new HashMap<>();
+            extra.put("city", "Santiago");
+            extra.put("roles", new String[]{"admin", "user"});
+            String token = Jwts.builder()
+                    .setSubject("user@example.com")
+                    .addClaims(extra)
+                    .setExpiration(new Date(NOW + 3600_000))
+                    .signWith(secretKey, SignatureAlgorithm.HS256)
+                    .compact();
+
+            TokenVerification result = verifier.verify(token);
+            assertTrue(result.isValid());
+            assertNull(result.getEmail());
+        }
+
+        @Test
+        @DisplayName("Single-secret verifier should accept tokens with any kid")
+        void testSingleSecret() {
+            String token = Jwts.builder()
+                    .setHeaderParam("kid", "k7")
+                    .setSubject("user@example.com")
+                    .signWith(secretKey, SignatureAlgorithm.HS256)
+                    .compact();
+
+            assertTrue(new Hs256TokenVerifier(SECRET).verify(token).isValid());
+        }
+    }
+
+    @Nested
+    @DisplayName("Rejected tokens")
+    class RejectedTokens {
+
+        @Test
+        @DisplayName("Should report expired tokens")
+        void testExpired() {
+            assertEquals(TokenVerification.Status.EXPIRED, verifier.verify(token("user@example.com", NOW - 1000)).getStatus());
+        }
+
+        @Test
+        @DisplayName("Should reject tokens that are not yet valid")
+        void testNotBefore() {
+            String token = Jwts.builder()
+                    .setSubject("user@example.com")
+                    .setNotBefore(new Date(NOW + 60_000))
+                    .signWith(secretKey, SignatureAlgorithm.HS256)
+                    .compact();
+
+            assertEquals(TokenVerification.Status.MALFORMED, verifier.verify(token).getStatus());
+        }
+
+        @Test
+        @DisplayName("Should report tokens signed with another key")
+        void testBadSignature() {
+            String token = Jwts.builder()
+                    .setSubject("user@example.com")
+                    .signWith(Keys.hmacShaKeyFor(OTHER_SECRET), SignatureAlgorithm.HS256)
+                    .compact();
+
+            assertEquals(TokenVerification.Status.BAD_SIGNATURE, verifier.verify(token).getStatus());
+        }
+
+        @Test
+        @DisplayName("Should report tampered payloads as bad signatures")
+        void testTamperedPayload() {
+            String token = token("user@example.com", NOW + 3600_000);
+            String[] parts = token.split("\\.");
+            String forged = parts[0] + "." + encode("{\"sub\":\"admin@example.com\",\"email\":\"admin@example.com\"}")
+                    + "." + parts[2];
+
+            assertEquals(TokenVerification.Status.BAD_SIGNATURE, verifier.verify(forged).getStatus());
+        }
+
+        @Test
+        @DisplayName("Should reject unsigned tokens and other algorithms")
+        void testAlgorithms() {
+            String payload = encode("{\"sub\":\"user@example.com\"}");
+            String token = token("user@example.com", NOW + 3600_000);
+            String signature = token.substring(token.lastIndexOf('.') + 1);
+
+            assertEquals(TokenVerification.Status.MALFORMED,
+                    verifier.verify(encode("{\"alg\":\"none\"}") + "." + payload + ".").getStatus());
+            assertEquals(TokenVerification.Status.MALFORMED,
+                    verifier.verify(encode("{\"alg\":\"none\"}") + "." + payload + "." + signature).getStatus());
+            assertEquals(TokenVerification.Status.MALFORMED,
+                    verifier.verify(encode("{\"alg\":\"HS512\"}") + "." + payload + "." + signature).getStatus());
+        }
+
+        @Test
+        @DisplayName("Should reject structurally malformed tokens")
+        void testMalformed() throws Exception {
+            assertEquals(TokenVerification.Status.MALFORMED, verifier.verify(null).getStatus());
+            assertEquals(TokenVerification.Status.MALFORMED, verifier.verify("").getStatus());
+            assertEquals(TokenVerification.Status.MALFORMED, verifier.verify("...").getStatus());
+            assertEquals(TokenVerification.Status.MALFORMED, verifier.verify("not.a.token").getStatus());
+            assertEquals(TokenVerification.Status.MALFORMED, verifier.verify("a.b.c.d").getStatus());
+            assertEquals(TokenVerification.Status.MALFORMED,
+                    verifier.verify("eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9.invalid").getStatus());
+            assertEquals(TokenVerification.Status.MALFORMED,
+                    verifier.verify(signed("{\"alg\":\"HS256\"}", "{\"exp\":\"soon\"}")).getStatus());
+        }
+
+        @Test
+        @DisplayName("Should reject deeply nested JSON without parsing unsigned payloads")
+        void testDeeplyNestedJson() throws Exception {
+            String deep = "{\"sub\":\"user@example.com\",\"x\":" + "[".repeat(100_000) + "]".repeat(100_000) + "}";
+            String nested = "{\"a\":" + "[".repeat(JsonClaimsReader.MAX_DEPTH) + "]".repeat(JsonClaimsReader.MAX_DEPTH) + "}";
+            String header = encode("{\"alg\":\"HS256\"}");
+
+            assertEquals(TokenVerification.Status.BAD_SIGNATURE,
+                    verifier.verify(header + "." + encode(deep) + ".AAAA").getStatus());
+            assertEquals(TokenVerification.Status.MALFORMED,
+                    verifier.verify(encode(deep) + "." + encode("{}") + ".AAAA").getStatus());
+            assertEquals(TokenVerification.Status.MALFORMED,
+                    verifier.verify(signed("{\"alg\":\"HS256\"}", deep)).getStatus());
+            assertEquals(TokenVerification.Status.MALFORMED,
+                    verifier.verify(signed("{\"alg\":\"HS256\"}", nested)).getStatus());
+        }
+    }
+
+    @Nested
+    @DisplayName("Key resolution and token types")
+    class KeysAndTypes {
+
+        @Test
+        @DisplayName("Should resolve the key named by the kid header")
+        void testKidResolution() {
+            Map<String, HmacKey> keys = new HashMap<>();
+            keys.put("k1", new HmacKey(SECRET));
+            keys.put("k2", new HmacKey(OTHER_SECRET));
+            Hs256TokenVerifier rotating = new Hs256TokenVerifier(keys::get);
+
+            String k2Token = Jwts.builder()
+                    .setHeaderParam("kid", "k2")
+                    .setSubject("user@example.com")
+                    .signWith(Keys.hmacShaKeyFor(OTHER_SECRET), SignatureAlgorithm.HS256)
+                    .compact();
+            String unknownKid = Jwts.builder()
+                    .setHeaderParam("kid", "k9")
+                    .setSubject("user@example.com")
+                    .signWith(secretKey, SignatureAlgorithm.HS256)
+                    .compact();
+
+            assertTrue(rotating.verify(k2Token).isValid());
+            assertEquals(TokenVerification.Status.BAD_SIGNATURE, rotating.verify(unknownKid).getStatus());
+        }
+
+        @Test
+        @DisplayName("Should only accept the expected token type")
+        void testTokenType() {
+            String refresh = Jwts.builder()
+                    .setSubject("user@example.com")
+                    .claim("typ", "refresh")
+                    .signWith(secretKey, SignatureAlgorithm.HS256)
+                    .compact();
+            String access = token("user@example.com", NOW + 3600_000);
+
+            assertEquals(TokenVerification.Status.MALFORMED, verifier.verify(refresh).getStatus());
+            assertTrue(verifier.verify(refresh, "refresh").isValid());
+            assertEquals(TokenVerification.Status.MALFORMED, verifier.verify(access, "refresh").getStatus());
+        }
+
+        @Test
+        @DisplayName("Should refuse keys shorter than 256 bits")
+        void testWeakKey() {
+            assertThrows(IllegalArgumentException.class, () -> new HmacKey(new byte[31]));
+            assertThrows(IllegalArgumentException.class, () -> new Hs256TokenVerifier((byte[]) null));
+        }
+    }
+}
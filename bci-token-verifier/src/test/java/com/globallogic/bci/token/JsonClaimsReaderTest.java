@@ -0,0 +1,75 @@
+package com.globallogic.bci.token;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for JsonClaimsReader
+ */
+@DisplayName("JsonClaimsReader Tests")
+class JsonClaimsReaderTest {
+
+    @Test
+    @DisplayName("Should read top-level members of every JSON type")
+    void testMemberTypes() {
+        Map<String, Object> members = JsonClaimsReader.readObject(
+                " { \"s\" : \"text\", \"i\": 1700000000, \"n\": -5, \"d\": 1.5e3, \"t\": true, \"f\": false,"
+                        + " \"z\": null, \"o\": {\"a\": [1, {\"b\": []}]}, \"a\": [] } ");
+
+        assertEquals("text", members.get("s"));
+        assertEquals(1700000000L, members.get("i"));
+        assertEquals(-5L, members.get("n"));
+        assertEquals(1500.0, members.get("d"));
+        assertEquals(Boolean.TRUE, members.get("t"));
+        assertEquals(Boolean.FALSE, members.get("f"));
+        assertTrue(members.containsKey("z"));
+        assertNull(members.get("z"));
+        assertSame(JsonClaimsReader.NESTED, members.get("o"));
+        assertSame(JsonClaimsReader.NESTED, members.get("a"));
+    }
+
+    @Test
+    @DisplayName("Should decode string escapes")
+    void testEscapes() {
+        Map<String, Object> members = JsonClaimsReader.readObject(
+                "{\"e\":\"a\\\"b\\\\c\\/d\\n\\t\\u00e9\\u0041\"}");
+
+        assertEquals("a\"b\\c/d\n\t\u00e9A", members.get("e"));
+    }
+
+    @Test
+    @DisplayName("Should accept an empty object")
+    void testEmptyObject() {
+        assertTrue(JsonClaimsReader.readObject("{}").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should cap nesting depth")
+    void testNestingDepth() {
+        int inner = JsonClaimsReader.MAX_DEPTH - 1;
+        String deepest = "{\"a\":" + "[".repeat(inner) + "]".repeat(inner) + "}";
+        String tooDeep = "{\"a\":" + "[".repeat(inner + 1) + "]".repeat(inner + 1) + "}";
+        String hostile = "{\"a\":" + "[".repeat(100_000);
+
+        assertSame(JsonClaimsReader.NESTED, JsonClaimsReader.readObject(deepest).get("a"));
+        assertThrows(IllegalArgumentException.class, () -> JsonClaimsReader.readObject(tooDeep));
+        assertThrows(IllegalArgumentException.class, () -> JsonClaimsReader.readObject(hostile));
+    }
+
+    @Test
+    @DisplayName("Should reject malformed JSON")
+    void testMalformed() {
+        String[] inputs = {
+                "", "[]", "{", "{\"a\"}", "{\"a\":}", "{\"a\":1,}", "{\"a\":1} x", "{a:1}",
+                "{\"a\":\"unterminated}", "{\"a\":tru}", "{\"a\":\"\\x\"}", "{\"a\":\"\\u12\"}", "{\"a\":-}",
+                "{\"a\":[1,]}", "{\"a\":\"line\nbreak\"}"
+        };
+        for (String input : inputs) {
+            assertThrows(IllegalArgumentException.class, () -> JsonClaimsReader.readObject(input), input);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.globallogic.bci.util;
+
+import com.globallogic.bci.token.TokenVerification;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.crypto.SecretKey;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the original two-call login verification path against the
+ * single-pass {@link JwtTokenProvider#verify(String)}.
+ *
+ * The legacy path is reproduced inline: it builds a new parser in
+ * validateToken and again in getEmailFromToken, so every login paid for two
+ * HMAC checks and two JSON decodes.
+ *
+ * Run with: ./gradlew jmh -PjmhIncludes=JwtVerificationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "mySecretKeyForJWTTokenGenerationInBCI12345";
+
+    private JwtTokenProvider provider;
+    private SecretKey secretKey;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        provider = new JwtTokenProvider(SECRET);
+        secretKey = Keys.hmacShaKeyFor(SECRET.getBytes());
+        token = provider.generateToken("benchmark.user@example.com");
+    }
+
+    @Benchmark
+    public void legacyValidateThenExtract(Blackhole blackhole) {
+        Jwts.parserBuilder()
+                .setSigningKey(secretKey)
+                .build()
+                .parseClaimsJws(token);
+        Object email = Jwts.parserBuilder()
+                .setSigningKey(secretKey)
+                .build()
+                .parseClaimsJws(token)
+                .getBody()
+                .get("email");
+        blackhole.consume(email);
+    }
+
+    @Benchmark
+    public TokenVerification singlePassVerify() {
+        return provider.verify(token);
+    }
+}
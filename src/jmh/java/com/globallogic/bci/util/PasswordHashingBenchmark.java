@@ -0,0 +1,68 @@
+package com.globallogic.bci.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the password hashing engines at 1, 4 and N (available
+ * processors) threads.
+ *
+ * Throughput mode reports hashes per second, SampleTime mode the latency
+ * distribution including p99; the gc profiler (enabled in build.gradle)
+ * reports bytes allocated per hash. Peak heap under load is measured by
+ * {@link PasswordHashingConcurrencyBenchmark}.
+ *
+ * BCrypt runs at the default cost 10; the other engines use the parameters
+ * documented in {@link PasswordHashingEngine}.
+ *
+ * Run with: ./gradlew jmh -PjmhIncludes=PasswordHashingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+public class PasswordHashingBenchmark {
+
+    private static final String PASSWORD = "Pass123word";
+
+    @Param({"bcrypt", "pbkdf2", "scrypt", "argon2"})
+    public String engine;
+
+    private PasswordEncoder encoder;
+
+    @Setup
+    public void setUp() {
+        encoder = PasswordHashingEngine.fromId(engine).createEncoder(PasswordEncryptor.DEFAULT_STRENGTH);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String hash1Thread() {
+        return encoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String hash4Threads() {
+        return encoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public String hashMaxThreads() {
+        return encoder.encode(PASSWORD);
+    }
+}
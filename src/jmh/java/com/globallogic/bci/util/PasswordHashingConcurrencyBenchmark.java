@@ -0,0 +1,124 @@
+package com.globallogic.bci.util;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test of the password hashing engines at 1, 4 and N (available
+ * processors) threads, reporting hashes per second, p99 latency and peak heap.
+ *
+ * Every thread hashes in a loop for a fixed duration after a warm-up. Peak
+ * heap is the sum of the heap pools' peak usage, reset before each run, so it
+ * includes the working memory of every concurrent hash: that is where the
+ * memory-hard engines (scrypt, argon2) differ from bcrypt and pbkdf2.
+ *
+ * Run with: ./gradlew passwordHashingBenchmark
+ */
+public final class PasswordHashingConcurrencyBenchmark {
+
+    private static final String PASSWORD = "Pass123word";
+    private static final long WARMUP_MILLIS = 2_000;
+    private static final long MEASURE_MILLIS = 10_000;
+
+    private PasswordHashingConcurrencyBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int cores = Runtime.getRuntime().availableProcessors();
+        int[] threadCounts = cores > 4 ? new int[]{1, 4, cores} : new int[]{1, 4};
+
+        System.out.printf("%-8s %8s %12s %12s %14s%n", "engine", "threads", "hashes/s", "p99 (ms)", "peak heap (MB)");
+        for (PasswordHashingEngine engine : PasswordHashingEngine.values()) {
+            PasswordEncoder encoder = engine.createEncoder(PasswordEncryptor.DEFAULT_STRENGTH);
+            for (int threads : threadCounts) {
+                run(encoder, threads, WARMUP_MILLIS);
+                System.gc();
+                resetPeakHeap();
+                long[] latencies = run(encoder, threads, MEASURE_MILLIS);
+                System.out.printf("%-8s %8d %12.1f %12.2f %14.1f%n",
+                        engine.getId(),
+                        threads,
+                        latencies.length * 1000.0 / MEASURE_MILLIS,
+                        percentile(latencies, 0.99) / 1_000_000.0,
+                        peakHeap() / (1024.0 * 1024.0));
+            }
+        }
+    }
+
+    /**
+     * Hash on the given number of threads for the given duration.
+     *
+     * @return Latency of every completed hash in nanoseconds, sorted
+     */
+    private static long[] run(PasswordEncoder encoder, int threads, long durationMillis) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<long[]>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(durationMillis);
+                long[] latencies = new long[64];
+                int count = 0;
+                while (System.nanoTime() < deadline) {
+                    long begin = System.nanoTime();
+                    encoder.encode(PASSWORD);
+                    if (count == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, count * 2);
+                    }
+                    latencies[count++] = System.nanoTime() - begin;
+                }
+                return Arrays.copyOf(latencies, count);
+            }));
+        }
+        start.countDown();
+
+        long[] all = new long[0];
+        for (Future<long[]> result : results) {
+            long[] latencies = result.get();
+            int offset = all.length;
+            all = Arrays.copyOf(all, offset + latencies.length);
+            System.arraycopy(latencies, 0, all, offset, latencies.length);
+        }
+        executor.shutdown();
+        Arrays.sort(all);
+        return all;
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)];
+    }
+
+    private static void resetPeakHeap() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    private static long peakHeap() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+}
@@ -0,0 +1,64 @@
+package com.globallogic.bci.util;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares token minting through the generic JJWT builder against
+ * {@link Hs256TokenMinter}.
+ *
+ * The gc profiler (enabled in build.gradle) reports gc.alloc.rate.norm,
+ * i.e. bytes allocated per minted token, next to the average time.
+ *
+ * Run with: ./gradlew jmh -PjmhIncludes=TokenMintingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(4)
+public class TokenMintingBenchmark {
+
+    private static final String SECRET = "mySecretKeyForJWTTokenGenerationInBCI12345";
+    private static final String EMAIL = "benchmark.user@example.com";
+    private static final long TTL_MILLIS = 86400000L;
+
+    private SecretKey secretKey;
+    private Hs256TokenMinter minter;
+
+    @Setup
+    public void setUp() {
+        secretKey = Keys.hmacShaKeyFor(SECRET.getBytes());
+        minter = new Hs256TokenMinter(secretKey.getEncoded());
+    }
+
+    @Benchmark
+    public String jjwtBuilder() {
+        Date now = new Date();
+        return Jwts.builder()
+                .setSubject(EMAIL)
+                .claim("email", EMAIL)
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + TTL_MILLIS))
+                .signWith(secretKey, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    @Benchmark
+    public String hs256Minter() {
+        long now = System.currentTimeMillis();
+        return minter.mint(EMAIL, EMAIL, now / 1000, (now + TTL_MILLIS) / 1000);
+    }
+}
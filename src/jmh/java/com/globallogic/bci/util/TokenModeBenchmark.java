@@ -0,0 +1,72 @@
+package com.globallogic.bci.util;
+
+import com.globallogic.bci.token.TokenVerification;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares verify latency of opaque reference tokens against HS256 JWTs.
+ *
+ * SampleTime mode reports the latency distribution (p50/p99/p99.9), not just
+ * the mean: opaque verification is one mapped-memory probe, JWT verification
+ * is a Base64 decode, an HMAC and a JSON parse.
+ *
+ * Run with: ./gradlew jmh -PjmhIncludes=TokenModeBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TokenModeBenchmark {
+
+    private static final String SECRET = "mySecretKeyForJWTTokenGenerationInBCI12345";
+    private static final int SESSIONS = 10000;
+
+    private Path storeFile;
+    private JwtTokenProvider jwtProvider;
+    private OpaqueTokenProvider opaqueProvider;
+    private String jwt;
+    private String opaqueToken;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        jwtProvider = new JwtTokenProvider(SECRET);
+        jwt = jwtProvider.generateToken("benchmark.user@example.com");
+
+        storeFile = Files.createTempFile("sessions", ".db");
+        opaqueProvider = new OpaqueTokenProvider(new MappedSessionStore(storeFile, SESSIONS * 2), Clock.systemUTC());
+        // Half-full table, so lookups include realistic probe chains
+        for (int i = 0; i < SESSIONS; i++) {
+            opaqueProvider.generateToken("user" + i + "@example.com");
+        }
+        opaqueToken = opaqueProvider.generateToken("benchmark.user@example.com");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        opaqueProvider.close();
+        Files.deleteIfExists(storeFile);
+    }
+
+    @Benchmark
+    public TokenVerification jwtVerify() {
+        return jwtProvider.verify(jwt);
+    }
+
+    @Benchmark
+    public TokenVerification opaqueVerify() {
+        return opaqueProvider.verify(opaqueToken);
+    }
+}
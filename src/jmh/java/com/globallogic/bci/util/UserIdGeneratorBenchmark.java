@@ -0,0 +1,56 @@
+package com.globallogic.bci.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the user id generators at 1 and N (available processors) threads.
+ *
+ * UUID.randomUUID() draws from one shared SecureRandom, so its throughput
+ * flattens as threads are added; UUIDv7 draws from ThreadLocalRandom and
+ * scales with the thread count. The insert cost of the resulting keys is
+ * measured by {@link UserIdInsertBenchmark}.
+ *
+ * Run with: ./gradlew jmh -PjmhIncludes=UserIdGeneratorBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 5)
+public class UserIdGeneratorBenchmark {
+
+    @Param({"uuidv7", "random"})
+    public String generator;
+
+    private UserIdGenerator idGenerator;
+
+    @Setup
+    public void setUp() {
+        idGenerator = UserIdGenerator.fromId(generator);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public UUID generate1Thread() {
+        return idGenerator.generate();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public UUID generateMaxThreads() {
+        return idGenerator.generate();
+    }
+}
@@ -0,0 +1,113 @@
+package com.globallogic.bci.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Insert benchmark of the two user primary key schemes in an H2 file
+ * database, reporting rows per second as the table grows and the size on disk.
+ *
+ * Schemes:
+ * - random-varchar: UUID.randomUUID().toString() in a VARCHAR(36) key, the
+ *   previous scheme; every insert lands on a random leaf of the key index
+ * - uuidv7-binary: UserIdGenerator.UUID_V7 in a BINARY(16) key, the default;
+ *   inserts append to the right edge of the key index
+ *
+ * Rows are shaped like users (id, canonical email, created) and inserted in
+ * committed JDBC batches. Throughput is printed for every tenth of the rows,
+ * so the slowdown of random keys once the index outgrows the cache shows.
+ *
+ * Run with: ./gradlew userIdInsertBenchmark -Prows=10000000
+ */
+public final class UserIdInsertBenchmark {
+
+    private static final long DEFAULT_ROWS = 10_000_000L;
+    private static final int BATCH_SIZE = 1_000;
+    private static final int REPORTS = 10;
+
+    private UserIdInsertBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        long rows = args.length > 0 ? Long.parseLong(args[0]) : DEFAULT_ROWS;
+
+        System.out.printf("%-15s %12s %12s %12s%n", "scheme", "rows", "rows/s", "disk (MB)");
+        run("random-varchar", "VARCHAR(36)", rows);
+        run("uuidv7-binary", "BINARY(16)", rows);
+    }
+
+    private static void run(String scheme, String keyType, long rows) throws SQLException, IOException {
+        Path directory = Files.createTempDirectory("user-id-insert-");
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:" + directory.resolve("users"), "sa", "")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE users (id " + keyType + " PRIMARY KEY, "
+                        + "email_canonical VARCHAR(255) NOT NULL, created TIMESTAMP NOT NULL)");
+            }
+            connection.setAutoCommit(false);
+
+            boolean binary = keyType.startsWith("BINARY");
+            long reportEvery = Math.max(BATCH_SIZE, rows / REPORTS);
+            long totalStart = System.nanoTime();
+            long start = totalStart;
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO users (id, email_canonical, created) VALUES (?, ?, ?)")) {
+                for (long row = 1; row <= rows; row++) {
+                    if (binary) {
+                        insert.setBytes(1, toBytes(UserIdGenerator.UUID_V7.generate()));
+                    } else {
+                        insert.setString(1, UUID.randomUUID().toString());
+                    }
+                    insert.setString(2, "user" + row + "@example.com");
+                    insert.setTimestamp(3, new Timestamp(System.currentTimeMillis()));
+                    insert.addBatch();
+                    if (row % BATCH_SIZE == 0 || row == rows) {
+                        insert.executeBatch();
+                        connection.commit();
+                    }
+                    if (row % reportEvery == 0) {
+                        long now = System.nanoTime();
+                        System.out.printf("%-15s %12d %12.0f%n", scheme, row, reportEvery * 1e9 / (now - start));
+                        start = now;
+                    }
+                }
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CHECKPOINT SYNC");
+            }
+            System.out.printf("%-15s %12d %12.0f %12.1f%n", scheme, rows,
+                    rows * 1e9 / (System.nanoTime() - totalStart), size(directory) / (1024.0 * 1024.0));
+        } finally {
+            delete(directory);
+        }
+    }
+
+    private static byte[] toBytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    private static long size(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            return files.filter(Files::isRegularFile).mapToLong(file -> file.toFile().length()).sum();
+        }
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.globallogic.bci.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the compiled single-pass validation rules against the original
+ * regex path (String.matches plus three counting streams for passwords).
+ *
+ * The gc profiler (enabled in build.gradle) shows the regex path allocating a
+ * Pattern and Matcher per call; the compiled rules allocate nothing.
+ *
+ * Run with: ./gradlew jmh -PjmhIncludes=ValidationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ValidationBenchmark {
+
+    @Param({"john.doe+filter@sub.domain.co.uk", "user@example"})
+    public String email;
+
+    @Param({"Password12", "password1"})
+    public String password;
+
+    private final ValidationUtil validationUtil = new ValidationUtil();
+
+    @Benchmark
+    public boolean regexEmail() {
+        return email.matches(ValidationUtil.EMAIL_REGEX);
+    }
+
+    @Benchmark
+    public boolean compiledEmail() {
+        return validationUtil.isValidEmail(email);
+    }
+
+    @Benchmark
+    public boolean regexPassword() {
+        return password.matches(ValidationUtil.PASSWORD_REGEX)
+                && password.chars().filter(Character::isUpperCase).count() == 1
+                && password.chars().filter(Character::isDigit).count() >= 2
+                && password.chars().filter(Character::isLowerCase).count() >= 1;
+    }
+
+    @Benchmark
+    public boolean compiledPassword() {
+        return validationUtil.isValidPassword(password);
+    }
+}
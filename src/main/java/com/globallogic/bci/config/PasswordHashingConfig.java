@@ -0,0 +1,114 @@
+package com.globallogic.bci.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Configuration of the dedicated password hashing and verification executors.
+ *
+ * BCrypt is CPU-bound and takes tens of milliseconds per hash, so it runs on
+ * fixed pools sized to the core count instead of on servlet threads. The
+ * queues are bounded: when one is full new work is rejected immediately
+ * (mapped to 503 Service Unavailable) rather than piling up behind a burst.
+ * Sign-up hashing and login verification use separate pools, so a
+ * credential-stuffing burst against POST /login cannot block registrations.
+ *
+ * Metrics (Micrometer, see /actuator/metrics), with prefix
+ * password.hashing or password.verification:
+ * - {prefix}.queue.depth: tasks waiting for a thread
+ * - {prefix}.active: threads currently working
+ * - {prefix}.pool.size: threads in the pool
+ * - {prefix}.completed: tasks finished
+ * - {prefix}.rejected: tasks rejected because the queue was full
+ *
+ * Configuration (application.properties):
+ * - password.hashing.threads / password.verification.threads:
+ *   pool size (0 = number of available processors)
+ * - password.hashing.queue-capacity / password.verification.queue-capacity:
+ *   maximum queued tasks
+ */
+@Configuration
+public class PasswordHashingConfig {
+
+    /**
+     * Create the bounded hashing executor used by sign-up and register its metrics.
+     *
+     * @param threads Pool size, or 0 for one thread per available processor
+     * @param queueCapacity Maximum number of queued hashing tasks
+     * @param meterRegistry Registry for the pool metrics
+     * @return The hashing executor
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor passwordHashingExecutor(@Value("${password.hashing.threads:0}") int threads,
+                                                      @Value("${password.hashing.queue-capacity:100}") int queueCapacity,
+                                                      MeterRegistry meterRegistry) {
+        return boundedExecutor("password.hashing", "password-hash-", threads, queueCapacity, meterRegistry);
+    }
+
+    /**
+     * Create the bounded verification executor used by credential login and register its metrics.
+     *
+     * @param threads Pool size, or 0 for one thread per available processor
+     * @param queueCapacity Maximum number of queued verification tasks
+     * @param meterRegistry Registry for the pool metrics
+     * @return The verification executor
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor passwordVerificationExecutor(@Value("${password.verification.threads:0}") int threads,
+                                                           @Value("${password.verification.queue-capacity:50}") int queueCapacity,
+                                                           MeterRegistry meterRegistry) {
+        return boundedExecutor("password.verification", "password-verify-", threads, queueCapacity, meterRegistry);
+    }
+
+    private static ThreadPoolExecutor boundedExecutor(String metricPrefix, String threadPrefix, int threads,
+                                                      int queueCapacity, MeterRegistry meterRegistry) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        Counter rejected = Counter.builder(metricPrefix + ".rejected")
+                .description("Tasks rejected because the queue was full")
+                .register(meterRegistry);
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                threadFactory(threadPrefix),
+                (task, pool) -> {
+                    rejected.increment();
+                    throw new RejectedExecutionException("Queue of " + metricPrefix + " is full");
+                });
+
+        Gauge.builder(metricPrefix + ".queue.depth", executor, pool -> pool.getQueue().size())
+                .description("Tasks waiting for a thread")
+                .register(meterRegistry);
+        Gauge.builder(metricPrefix + ".active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Threads currently working")
+                .register(meterRegistry);
+        Gauge.builder(metricPrefix + ".pool.size", executor, ThreadPoolExecutor::getPoolSize)
+                .description("Threads in the pool")
+                .register(meterRegistry);
+        FunctionCounter.builder(metricPrefix + ".completed", executor, ThreadPoolExecutor::getCompletedTaskCount)
+                .description("Tasks completed")
+                .register(meterRegistry);
+        return executor;
+    }
+
+    private static ThreadFactory threadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -22,11 +22,11 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
         http
             .authorizeRequests()
                 .antMatchers("/h2-console", "/h2-console/**").permitAll()
-                .antMatchers("/sign-up", "/login").permitAll()
+                .antMatchers("/sign-up", "/login", "/tokens/**").permitAll()
                 .anyRequest().permitAll()
             .and()
             .csrf()
-                .ignoringAntMatchers("/h2-console/**", "/sign-up", "/login")
+                .ignoringAntMatchers("/h2-console/**", "/sign-up", "/login", "/tokens/**")
             .and()
             .headers()
                 .frameOptions().disable();
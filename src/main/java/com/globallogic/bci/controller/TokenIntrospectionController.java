@@ -0,0 +1,52 @@
+package com.globallogic.bci.controller;
+
+import com.globallogic.bci.service.TokenIntrospectionService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * REST controller for bulk token introspection.
+ * Read-only: verifies tokens without touching user data.
+ */
+@RestController
+public class TokenIntrospectionController {
+
+    private final TokenIntrospectionService tokenIntrospectionService;
+
+    public TokenIntrospectionController(TokenIntrospectionService tokenIntrospectionService) {
+        this.tokenIntrospectionService = tokenIntrospectionService;
+    }
+
+    /**
+     * Verify a batch of tokens.
+     * Endpoint: POST /tokens/introspect
+     * Body: {"tokens": ["...", "..."]}, at most token.introspection.max-batch-size tokens
+     * Returns a JSON array with validity, subject and expiry per token, in
+     * request order, streamed as tokens are verified.
+     *
+     * The body is read incrementally (see TokenIntrospectionService#readBatch)
+     * rather than bound to a DTO, so an oversized batch is rejected at its
+     * first extra token instead of after the whole list is in memory.
+     *
+     * @param body The request body
+     * @return ResponseEntity streaming the introspection results
+     * @throws IOException if reading the request body fails
+     * @status 200 OK with one result per token
+     * @status 400 Bad Request if the body is malformed, or the batch is empty or too large
+     */
+    @PostMapping(value = "/tokens/introspect", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> introspect(InputStream body) throws IOException {
+        List<String> tokens = tokenIntrospectionService.readBatch(body);
+        StreamingResponseBody response = out -> tokenIntrospectionService.introspect(tokens, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(response);
+    }
+}
@@ -1,12 +1,16 @@
 package com.globallogic.bci.controller;
 
+import com.globallogic.bci.dto.LoginRequest;
 import com.globallogic.bci.dto.SignUpRequest;
+import com.globallogic.bci.dto.TokenRefreshResponse;
 import com.globallogic.bci.dto.UserResponse;
 import com.globallogic.bci.service.UserService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * REST controller for user management endpoints.
  * Handles user registration and authentication requests.
@@ -26,17 +30,20 @@ public class UserController {
      * Validates email format and password strength.
      * Creates user with optional name and phones.
      * Returns user details with JWT token.
+     * The request is completed asynchronously once the password has been
+     * hashed, releasing the servlet thread in the meantime.
      *
      * @param signUpRequest The user registration request containing email, password, and optional name/phones
-     * @return ResponseEntity with user details and token
+     * @return Future completed with the ResponseEntity with user details and token
      * @status 201 Created on successful registration
      * @status 400 Bad Request if email or password format is invalid
      * @status 422 Unprocessable Entity if user already exists
+     * @status 503 Service Unavailable if the password hashing queue is full
      */
     @PostMapping("/sign-up")
-    public ResponseEntity<UserResponse> signUp(@RequestBody SignUpRequest signUpRequest) {
-        UserResponse userResponse = userService.signUp(signUpRequest);
-        return new ResponseEntity<>(userResponse, HttpStatus.CREATED);
+    public CompletableFuture<ResponseEntity<UserResponse>> signUp(@RequestBody SignUpRequest signUpRequest) {
+        return userService.signUp(signUpRequest)
+                .thenApply(userResponse -> new ResponseEntity<>(userResponse, HttpStatus.CREATED));
     }
 
     /**
@@ -54,14 +61,77 @@ public class UserController {
      */
     @GetMapping("/login")
     public ResponseEntity<UserResponse> login(@RequestHeader("Authorization") String authorizationHeader) {
-        // Extract token from "Bearer <token>" format
+        UserResponse userResponse = userService.login(extractBearerToken(authorizationHeader));
+        return new ResponseEntity<>(userResponse, HttpStatus.OK);
+    }
+
+    /**
+     * Authenticate user with email and password.
+     * Endpoint: POST /login
+     * The password is verified on a bounded verification pool; the request
+     * completes asynchronously once verification is done.
+     * Updates last login timestamp.
+     * Returns user details with new JWT token and refresh token.
+     *
+     * @param loginRequest The login request containing email and password
+     * @return Future completed with the ResponseEntity with user details and tokens
+     * @status 200 OK on successful authentication
+     * @status 400 Bad Request if email or password is missing
+     * @status 401 Unauthorized if email or password is wrong
+     * @status 503 Service Unavailable if the password verification queue is full
+     */
+    @PostMapping("/login")
+    public CompletableFuture<ResponseEntity<UserResponse>> loginWithCredentials(@RequestBody LoginRequest loginRequest) {
+        return userService.login(loginRequest)
+                .thenApply(userResponse -> new ResponseEntity<>(userResponse, HttpStatus.OK));
+    }
+
+    /**
+     * Revoke the presented token before its expiration.
+     * Endpoint: POST /tokens/revoke
+     * Requires JWT token in Authorization header.
+     *
+     * @param authorizationHeader The Authorization header containing JWT token (format: "Bearer <token>")
+     * @return Empty ResponseEntity
+     * @status 204 No Content when the token has been revoked
+     * @status 401 Unauthorized if token is invalid or expired
+     */
+    @PostMapping("/tokens/revoke")
+    public ResponseEntity<Void> revokeToken(@RequestHeader("Authorization") String authorizationHeader) {
+        userService.revokeToken(extractBearerToken(authorizationHeader));
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Exchange a refresh token for a new access token and refresh token.
+     * Endpoint: POST /tokens/refresh
+     * Requires the refresh token in Authorization header.
+     * The presented refresh token cannot be used again.
+     *
+     * @param authorizationHeader The Authorization header containing the refresh token (format: "Bearer <token>")
+     * @return ResponseEntity with the new tokens
+     * @status 200 OK on successful refresh
+     * @status 401 Unauthorized if the refresh token is invalid, expired or already used
+     */
+    @PostMapping("/tokens/refresh")
+    public ResponseEntity<TokenRefreshResponse> refreshToken(@RequestHeader("Authorization") String authorizationHeader) {
+        TokenRefreshResponse response = userService.refresh(extractBearerToken(authorizationHeader));
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    /**
+     * Extract token from "Bearer <token>" format.
+     *
+     * @param authorizationHeader The raw Authorization header
+     * @return The token
+     * @throws IllegalArgumentException if the header holds no token
+     */
+    private String extractBearerToken(String authorizationHeader) {
         String token = authorizationHeader != null ? authorizationHeader.replaceFirst("^Bearer\\s+", "") : null;
 
         if (token == null || token.isEmpty()) {
             throw new IllegalArgumentException("Authorization header is required with format: Bearer <token>");
         }
-
-        UserResponse userResponse = userService.login(token);
-        return new ResponseEntity<>(userResponse, HttpStatus.OK);
+        return token;
     }
 }
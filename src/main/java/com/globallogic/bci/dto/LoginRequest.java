@@ -0,0 +1,34 @@
+package com.globallogic.bci.dto;
+
+/**
+ * Data Transfer Object for credential login request.
+ * Contains the user's email and plain text password.
+ */
+public class LoginRequest {
+    private String email;
+    private String password;
+
+    public LoginRequest() {
+    }
+
+    public LoginRequest(String email, String password) {
+        this.email = email;
+        this.password = password;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+}
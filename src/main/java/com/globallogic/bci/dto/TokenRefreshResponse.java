@@ -0,0 +1,34 @@
+package com.globallogic.bci.dto;
+
+/**
+ * Data Transfer Object for token refresh response.
+ * Contains a new access token and the refresh token replacing the one presented.
+ */
+public class TokenRefreshResponse {
+    private String token;
+    private String refreshToken;
+
+    public TokenRefreshResponse() {
+    }
+
+    public TokenRefreshResponse(String token, String refreshToken) {
+        this.token = token;
+        this.refreshToken = refreshToken;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public void setToken(String token) {
+        this.token = token;
+    }
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+}
@@ -1,5 +1,7 @@
 package com.globallogic.bci.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.util.List;
 
 /**
@@ -11,6 +13,8 @@ public class UserResponse {
     private String created;
     private String lastLogin;
     private String token;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String refreshToken;
     private Boolean isActive;
     private String name;
     private String email;
@@ -66,6 +70,14 @@ public class UserResponse {
         this.token = token;
     }
 
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
     public Boolean getIsActive() {
         return isActive;
     }
@@ -1,5 +1,10 @@
 package com.globallogic.bci.entity;
 
+import com.globallogic.bci.util.EmailCanonicalizer;
+import com.globallogic.bci.util.UserIdGenerator;
+import org.hibernate.annotations.Type;
+import org.springframework.data.domain.Persistable;
+
 import javax.persistence.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -16,7 +21,7 @@ import java.util.UUID;
  * Database Table: users
  *
  * Java 11 Features:
- * - UUID.randomUUID().toString() for distributed primary key generation
+ * - java.util.UUID primary keys, time-ordered by default (see UserIdGenerator)
  * - LocalDateTime for temporal data (Java 8+ feature, maintained in Java 11)
  * - Functional stream operations for collection handling
  *
@@ -24,7 +29,10 @@ import java.util.UUID;
  * - One-to-Many with Phone entities (cascade delete, orphan removal enabled)
  *
  * Constraints:
- * - Email: unique, not null, max 100 characters
+ * - Email: unique (uk_users_email), not null, max 100 characters
+ * - EmailCanonical: unique (uk_users_email_canonical), canonical form of email used for lookups
+ * - A duplicate sign-up is detected by these constraints on INSERT; see
+ *   UserService.signUp
  * - Password: not null, encrypted with BCrypt
  * - Created: timestamp of account creation (immutable)
  * - LastLogin: timestamp of last authentication
@@ -35,20 +43,39 @@ import java.util.UUID;
  * @since Java 11
  */
 @Entity
-@Table(name = "users")
-public class User {
+@Table(name = "users", uniqueConstraints = {
+        @UniqueConstraint(name = User.EMAIL_UNIQUE_CONSTRAINT, columnNames = "email"),
+        @UniqueConstraint(name = User.EMAIL_CANONICAL_UNIQUE_CONSTRAINT, columnNames = "email_canonical")
+})
+public class User implements Persistable<UUID> {
+
+    /**
+     * Name of the unique constraint on email.
+     */
+    public static final String EMAIL_UNIQUE_CONSTRAINT = "uk_users_email";
+
+    /**
+     * Name of the unique constraint on email_canonical.
+     */
+    public static final String EMAIL_CANONICAL_UNIQUE_CONSTRAINT = "uk_users_email_canonical";
 
     /**
      * Primary key: UUID (Universally Unique Identifier).
-     * Format: xxxxxxxx-xxxx-xxxx-xxxx-xxxxxxxxxxxx
-     * Generated automatically in constructor via UUID.randomUUID()
+     * Stored as BINARY(16), rendered by the API in the canonical
+     * xxxxxxxx-xxxx-xxxx-xxxx-xxxxxxxxxxxx form.
+     * Assigned by UserService with the configured UserIdGenerator, or with a
+     * time-ordered UUIDv7 on insert if none was set.
      * Advantages:
      * - Distributed ID generation (no database dependency)
      * - Suitable for microservices architecture
      * - Prevents ID collisions across systems
+     * - Time-ordered ids append to the primary key index instead of
+     *   splitting pages all over it
      */
     @Id
-    private String id;
+    @Type(type = "uuid-binary")
+    @Column(columnDefinition = "BINARY(16)")
+    private UUID id;
 
     @Column(nullable = true)
     private String name;
@@ -58,13 +85,23 @@ public class User {
      * Used for login authentication via Basic Auth.
      * Maximum length: 100 characters.
      */
-    @Column(nullable = false, unique = true, length = 100)
+    @Column(nullable = false, length = 100)
     private String email;
 
     /**
-     * User's password - stored as BCrypt hash.
+     * Canonical form of the email (see EmailCanonicalizer), kept in sync by
+     * setEmail(). Every lookup by email goes through this column's unique
+     * index, so addresses differing only in case map to one account.
+     * Nullable only for rows created before the column existed, until
+     * EmailCanonicalBackfill has filled them in.
+     */
+    @Column(name = "email_canonical", nullable = true, length = 255)
+    private String emailCanonical;
+
+    /**
+     * User's password - stored as a hash prefixed with its engine id, e.g. {bcrypt}.
      * Never stored in plaintext.
-     * BCrypt hash length: 60 characters.
+     * Hash length: 68 characters for BCrypt, about 100 for scrypt and Argon2.
      */
     @Column(nullable = false, length = 255)
     private String password;
@@ -101,17 +138,48 @@ public class User {
     @Column(nullable = false)
     private Boolean isActive = true;
 
+    /**
+     * Whether this user has not been inserted yet.
+     * The id is assigned in the constructor, so Spring Data cannot tell new
+     * users from stored ones by a null id; without this flag save() would
+     * merge, i.e. SELECT the id before every INSERT.
+     */
+    @Transient
+    private boolean isNew = true;
+
     public User() {
-        this.id = UUID.randomUUID().toString();
     }
 
     public User(String name, String email, String password) {
-        this.id = UUID.randomUUID().toString();
         this.name = name;
-        this.email = email;
+        setEmail(email);
         this.password = password;
     }
 
+    /**
+     * Assign a time-ordered id to a user inserted without one.
+     */
+    @PrePersist
+    void assignDefaultId() {
+        if (id == null) {
+            id = UserIdGenerator.UUID_V7.generate();
+        }
+    }
+
+    /**
+     * Mark the user as stored once it has been inserted or loaded.
+     */
+    @PostPersist
+    @PostLoad
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
     /**
      * Add a phone to this user's phone list.
      *
@@ -123,11 +191,12 @@ public class User {
     }
 
     // Getters and Setters
-    public String getId() {
+    @Override
+    public UUID getId() {
         return id;
     }
 
-    public void setId(String id) {
+    public void setId(UUID id) {
         this.id = id;
     }
 
@@ -145,6 +214,15 @@ public class User {
 
     public void setEmail(String email) {
         this.email = email;
+        this.emailCanonical = EmailCanonicalizer.canonicalize(email);
+    }
+
+    public String getEmailCanonical() {
+        return emailCanonical;
+    }
+
+    public void setEmailCanonical(String emailCanonical) {
+        this.emailCanonical = emailCanonical;
     }
 
     public String getPassword() {
@@ -1,11 +1,29 @@
 package com.globallogic.bci.exception;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Exception thrown when a bad request is made (invalid input data).
- * Used for validation errors on user input.
+ * Used for validation errors on user input; carries every violation found,
+ * each reported as its own error detail.
  */
 public class BadRequestException extends RuntimeException {
+
+    private final List<String> messages;
+
     public BadRequestException(String message) {
         super(message);
+        this.messages = Collections.singletonList(message);
+    }
+
+    public BadRequestException(List<String> messages) {
+        super(String.join("; ", messages));
+        this.messages = Collections.unmodifiableList(new ArrayList<>(messages));
+    }
+
+    public List<String> getMessages() {
+        return messages;
     }
 }
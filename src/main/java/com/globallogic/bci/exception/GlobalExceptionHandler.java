@@ -9,7 +9,10 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Global exception handler for REST controllers.
@@ -70,14 +73,26 @@ public class GlobalExceptionHandler {
 
     /**
      * Handle BadRequestException for validation errors.
-     * Returns 400 Bad Request status.
+     * Returns 400 Bad Request status with one error detail per violation.
      *
      * @param exception The exception thrown
      * @return ResponseEntity with error details
      */
     @ExceptionHandler(BadRequestException.class)
     public ResponseEntity<ErrorResponse> handleBadRequestException(BadRequestException exception) {
-        return buildErrorResponse(exception.getMessage(), HttpStatus.BAD_REQUEST.value(), HttpStatus.BAD_REQUEST);
+        return buildErrorResponse(exception.getMessages(), HttpStatus.BAD_REQUEST.value(), HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handle RejectedExecutionException when a bounded worker pool is saturated.
+     * Returns 503 Service Unavailable status.
+     *
+     * @param exception The exception thrown
+     * @return ResponseEntity with error details
+     */
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ErrorResponse> handleRejectedExecutionException(RejectedExecutionException exception) {
+        return buildErrorResponse("Service is busy, please retry later", HttpStatus.SERVICE_UNAVAILABLE.value(), HttpStatus.SERVICE_UNAVAILABLE);
     }
 
     /**
@@ -101,15 +116,25 @@ public class GlobalExceptionHandler {
      * @return ResponseEntity with error response
      */
     private ResponseEntity<ErrorResponse> buildErrorResponse(String message, int code, HttpStatus status) {
-        ErrorDetail errorDetail = new ErrorDetail(
-                LocalDateTime.now().format(dateFormatter),
-                code,
-                message
-        );
+        return buildErrorResponse(Collections.singletonList(message), code, status);
+    }
+
+    /**
+     * Build error response with one error detail per message, sharing one timestamp.
+     *
+     * @param messages The error messages
+     * @param code The HTTP status code
+     * @param status The HTTP status
+     * @return ResponseEntity with error response
+     */
+    private ResponseEntity<ErrorResponse> buildErrorResponse(List<String> messages, int code, HttpStatus status) {
+        String timestamp = LocalDateTime.now().format(dateFormatter);
+        List<ErrorDetail> errorDetails = new ArrayList<>(messages.size());
+        for (String message : messages) {
+            errorDetails.add(new ErrorDetail(timestamp, code, message));
+        }
 
-        ErrorResponse errorResponse = new ErrorResponse(
-                Collections.singletonList(errorDetail)
-        );
+        ErrorResponse errorResponse = new ErrorResponse(errorDetails);
 
         return new ResponseEntity<>(errorResponse, status);
     }
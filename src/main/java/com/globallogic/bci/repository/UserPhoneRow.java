@@ -0,0 +1,84 @@
+package com.globallogic.bci.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One row of a user joined with one of its phones, read by a JPQL
+ * constructor expression (see UserRepository.findLoginRowsByEmailCanonical).
+ *
+ * A user with n phones yields n rows repeating the user columns; a user
+ * without phones yields one row whose phone columns are null. Rows are plain
+ * values, not managed entities: nothing is tracked, dirty-checked or lazily
+ * loaded after the query.
+ */
+public class UserPhoneRow {
+
+    private final UUID id;
+    private final String name;
+    private final String email;
+    private final String password;
+    private final LocalDateTime created;
+    private final Boolean isActive;
+    private final Long phoneNumber;
+    private final Integer phoneCitycode;
+    private final String phoneContrycode;
+
+    public UserPhoneRow(UUID id, String name, String email, String password, LocalDateTime created, Boolean isActive,
+                        Long phoneNumber, Integer phoneCitycode, String phoneContrycode) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.password = password;
+        this.created = created;
+        this.isActive = isActive;
+        this.phoneNumber = phoneNumber;
+        this.phoneCitycode = phoneCitycode;
+        this.phoneContrycode = phoneContrycode;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public LocalDateTime getCreated() {
+        return created;
+    }
+
+    public Boolean getIsActive() {
+        return isActive;
+    }
+
+    /**
+     * Whether this row carries a phone; false for the single row of a user without phones.
+     *
+     * @return true if the phone columns are set
+     */
+    public boolean hasPhone() {
+        return phoneNumber != null;
+    }
+
+    public Long getPhoneNumber() {
+        return phoneNumber;
+    }
+
+    public Integer getPhoneCitycode() {
+        return phoneCitycode;
+    }
+
+    public String getPhoneContrycode() {
+        return phoneContrycode;
+    }
+}
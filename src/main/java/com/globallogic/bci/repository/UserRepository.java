@@ -1,31 +1,126 @@
 package com.globallogic.bci.repository;
 
 import com.globallogic.bci.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 /**
  * Repository interface for User entity.
  * Provides database access operations for user management.
  */
 @Repository
-public interface UserRepository extends JpaRepository<User, String> {
+public interface UserRepository extends JpaRepository<User, UUID> {
 
     /**
-     * Find a user by email address.
+     * Find a user by canonical email address (see EmailCanonicalizer).
+     * Uses the unique index on email_canonical.
      *
-     * @param email The email address to search for
+     * @param emailCanonical The canonical email address to search for
      * @return An Optional containing the user if found
      */
-    Optional<User> findByEmail(String email);
+    Optional<User> findByEmailCanonical(String emailCanonical);
 
     /**
-     * Check if a user with the given email already exists.
+     * Check if a user with the given canonical email address already exists.
      *
-     * @param email The email address to check
+     * @param emailCanonical The canonical email address to check
      * @return true if a user with this email exists, false otherwise
      */
-    boolean existsByEmail(String email);
+    boolean existsByEmailCanonical(String emailCanonical);
+
+    /**
+     * Read a user and its phones in one SQL query, as flat rows (one per
+     * phone, or a single row without phone for a user without phones).
+     * A constructor projection: no entity is managed, so nothing is
+     * dirty-checked or lazily loaded afterwards.
+     *
+     * @param emailCanonical The canonical email address to search for
+     * @return The rows, in phone order; empty if no user has this email
+     */
+    @Query("select new com.globallogic.bci.repository.UserPhoneRow("
+            + "u.id, u.name, u.email, u.password, u.created, u.isActive, p.number, p.citycode, p.contrycode) "
+            + "from User u left join u.phones p where u.emailCanonical = :emailCanonical order by p.id")
+    List<UserPhoneRow> findLoginRowsByEmailCanonical(@Param("emailCanonical") String emailCanonical);
+
+    /**
+     * Set the last login time of a user with a single UPDATE, without loading
+     * (and merging) the user and its phones.
+     *
+     * @param emailCanonical The canonical email address of the user
+     * @param lastLogin The login time
+     * @return Number of users updated: 1, or 0 if no user has this email
+     */
+    @Modifying
+    @Transactional
+    @Query("update User u set u.lastLogin = :lastLogin where u.emailCanonical = :emailCanonical")
+    int updateLastLogin(@Param("emailCanonical") String emailCanonical, @Param("lastLogin") LocalDateTime lastLogin);
+
+    /**
+     * Replace the password hash of a user (an upgraded hash, see
+     * PasswordEncryptor) and set its last login time, with a single UPDATE.
+     *
+     * @param emailCanonical The canonical email address of the user
+     * @param password The new password hash
+     * @param lastLogin The login time
+     * @return Number of users updated: 1, or 0 if no user has this email
+     */
+    @Modifying
+    @Transactional
+    @Query("update User u set u.password = :password, u.lastLogin = :lastLogin where u.emailCanonical = :emailCanonical")
+    int updatePasswordAndLastLogin(@Param("emailCanonical") String emailCanonical, @Param("password") String password,
+                                   @Param("lastLogin") LocalDateTime lastLogin);
+
+    /**
+     * Find the first batch of users without a canonical email, in id order.
+     * Continue with findByEmailCanonicalIsNullAndIdGreaterThanOrderByIdAsc.
+     *
+     * @param pageable Batch size (page 0)
+     * @return Up to the batch size users, ordered by id
+     */
+    List<User> findByEmailCanonicalIsNullOrderByIdAsc(Pageable pageable);
+
+    /**
+     * Find the next batch of users without a canonical email, in id order.
+     * Keyset pagination: pass the last id of the previous batch, so rows that
+     * cannot be backfilled are not read again. The id comparison and the
+     * ordering both use the database's BINARY(16) order, so batches follow
+     * each other whatever that order is.
+     *
+     * @param id Id after which to continue
+     * @param pageable Batch size (page 0)
+     * @return Up to the batch size users, ordered by id
+     */
+    List<User> findByEmailCanonicalIsNullAndIdGreaterThanOrderByIdAsc(UUID id, Pageable pageable);
+
+    /**
+     * Find which of the given canonical emails already belong to a user,
+     * in one query.
+     *
+     * @param emailCanonicals Canonical emails to look for
+     * @return The canonical emails that are taken
+     */
+    @Query("select u.emailCanonical from User u where u.emailCanonical in :emailCanonicals")
+    List<String> findEmailCanonicalsIn(@Param("emailCanonicals") Collection<String> emailCanonicals);
+
+    /**
+     * Read the next batch of canonical emails in index order, without loading users.
+     * Keyset pagination: pass the last email of the previous batch ("" for the first batch).
+     *
+     * @param after Canonical email after which to continue
+     * @param pageable Batch size (page 0)
+     * @return Up to the batch size canonical emails, ordered
+     */
+    @Query("select u.emailCanonical from User u where u.emailCanonical > :after order by u.emailCanonical")
+    List<String> findEmailCanonicalsAfter(@Param("after") String after, Pageable pageable);
 }
@@ -0,0 +1,129 @@
+package com.globallogic.bci.service;
+
+import com.globallogic.bci.entity.User;
+import com.globallogic.bci.repository.UserRepository;
+import com.globallogic.bci.util.EmailCanonicalizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Startup migration filling users.email_canonical for rows created before
+ * the column existed.
+ *
+ * Rows are read in batches in id order (keyset pagination), so a large table
+ * is never loaded at once and the migration can be interrupted and resumed at
+ * the next start. Each batch costs three statements: the page, one IN query
+ * for the canonical emails already taken, and one JDBC batch of
+ * UPDATE users SET email_canonical = ? WHERE id = ?. Once every row has a
+ * canonical email the migration is a single empty query.
+ *
+ * Keyset order: ids are BINARY(16), compared by the database (unsigned,
+ * byte by byte, in H2 and MySQL; see EmailCanonicalBackfillTest). The first
+ * page has no lower bound and later pages continue after the last id read,
+ * so the scan relies only on ORDER BY id and id > ? agreeing, never on a
+ * start value sorting first.
+ *
+ * Two legacy accounts whose emails differ only in case share a canonical
+ * email; the first one (by id) gets it, the others are left without one and
+ * logged for manual merging, since the unique index cannot hold both.
+ *
+ * Configuration (application.properties):
+ * - migration.email-canonical.batch-size: rows per batch (0 disables the migration)
+ */
+@Component
+@Order(EmailCanonicalBackfill.ORDER)
+public class EmailCanonicalBackfill implements ApplicationRunner {
+
+    /**
+     * Startup order: before anything that reads canonical emails.
+     */
+    static final int ORDER = 1;
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailCanonicalBackfill.class);
+
+    private static final String UPDATE_SQL = "UPDATE users SET email_canonical = ? WHERE id = ?";
+
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    /**
+     * Constructor with dependency injection.
+     *
+     * @param userRepository Repository the batches are read from
+     * @param jdbcTemplate Template the batched updates are sent through
+     * @param batchSize Rows per batch, or 0 to disable the migration
+     */
+    public EmailCanonicalBackfill(UserRepository userRepository,
+                                  JdbcTemplate jdbcTemplate,
+                                  @Value("${migration.email-canonical.batch-size:500}") int batchSize) {
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (batchSize > 0) {
+            backfill();
+        }
+    }
+
+    /**
+     * Fill the canonical email of every user that has none.
+     *
+     * @return Number of users updated
+     */
+    public long backfill() {
+        long updated = 0;
+        long conflicts = 0;
+        Pageable page = PageRequest.of(0, batchSize);
+        List<User> batch = userRepository.findByEmailCanonicalIsNullOrderByIdAsc(page);
+        while (!batch.isEmpty()) {
+            List<String> canonicals = new ArrayList<>(batch.size());
+            for (User user : batch) {
+                canonicals.add(EmailCanonicalizer.canonicalize(user.getEmail()));
+            }
+            // Taken by earlier batches or by current users, then by earlier rows of this batch
+            Set<String> claimed = new HashSet<>(userRepository.findEmailCanonicalsIn(new HashSet<>(canonicals)));
+            List<Object[]> changed = new ArrayList<>(batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                User user = batch.get(i);
+                String canonical = canonicals.get(i);
+                if (!claimed.add(canonical)) {
+                    logger.warn("User {} not backfilled: canonical email {} belongs to another user", user.getId(), canonical);
+                    conflicts++;
+                    continue;
+                }
+                changed.add(new Object[]{canonical, LastLoginWriter.toBytes(user.getId())});
+            }
+            if (!changed.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPDATE_SQL, changed);
+                updated += changed.size();
+            }
+            if (batch.size() < batchSize) {
+                break;
+            }
+            batch = userRepository.findByEmailCanonicalIsNullAndIdGreaterThanOrderByIdAsc(
+                    batch.get(batch.size() - 1).getId(), page);
+        }
+
+        if (updated > 0 || conflicts > 0) {
+            logger.info("Canonical email backfill: {} users updated, {} conflicts", updated, conflicts);
+        }
+        return updated;
+    }
+}
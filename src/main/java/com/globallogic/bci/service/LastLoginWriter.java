@@ -0,0 +1,253 @@
+package com.globallogic.bci.service;
+
+import com.globallogic.bci.repository.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Writes users.last_login on login, either immediately or write-behind.
+ *
+ * Immediate (default): one UPDATE per login, before the response.
+ *
+ * Write-behind: the login time is recorded in a concurrent map keyed by user
+ * id and the response returns at once. Repeated logins of one user between
+ * flushes coalesce into the latest time. A daemon thread flushes the map in
+ * one JDBC batch every flush interval, or as soon as max-pending users are
+ * waiting. The UPDATE never moves last_login backwards, so a late flush
+ * cannot overwrite a newer login written by another instance. Pending
+ * updates are flushed on graceful shutdown; a crash loses at most one
+ * interval of login times, which only affects the reported lastLogin.
+ *
+ * Configuration (application.properties):
+ * - users.last-login.write-behind.enabled: true for write-behind
+ * - users.last-login.write-behind.flush-interval-millis: time between flushes
+ * - users.last-login.write-behind.max-pending: pending users triggering an early flush
+ *
+ * Metrics (Micrometer, see /actuator/metrics):
+ * - users.last.login.pending: users whose login time is not written yet
+ */
+@Service
+public class LastLoginWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(LastLoginWriter.class);
+
+    private static final String UPDATE_SQL =
+            "UPDATE users SET last_login = ? WHERE id = ? AND (last_login IS NULL OR last_login < ?)";
+
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxPending;
+    private final Map<UUID, LocalDateTime> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    /**
+     * Thread flushing pending updates, or null in immediate mode.
+     */
+    private final ScheduledExecutorService flusher;
+
+    /**
+     * Create a writer updating last_login immediately.
+     *
+     * @param userRepository Repository the updates are made through
+     */
+    public LastLoginWriter(UserRepository userRepository) {
+        this.userRepository = userRepository;
+        this.jdbcTemplate = null;
+        this.maxPending = 0;
+        this.flusher = null;
+    }
+
+    /**
+     * Create a write-behind writer.
+     *
+     * @param jdbcTemplate Template the batched updates are sent through
+     * @param flushIntervalMillis Milliseconds between flushes
+     * @param maxPending Pending users triggering an early flush
+     */
+    LastLoginWriter(JdbcTemplate jdbcTemplate, long flushIntervalMillis, int maxPending) {
+        this.userRepository = null;
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxPending = maxPending;
+        this.flusher = startFlusher(flushIntervalMillis);
+    }
+
+    /**
+     * Constructor with dependency injection.
+     *
+     * @param userRepository Repository for immediate updates
+     * @param jdbcTemplate Template for write-behind batches
+     * @param writeBehind true to write login times behind
+     * @param flushIntervalMillis Milliseconds between write-behind flushes
+     * @param maxPending Pending users triggering an early flush
+     * @param meterRegistry Registry for the pending gauge
+     */
+    @Autowired
+    public LastLoginWriter(UserRepository userRepository,
+                           JdbcTemplate jdbcTemplate,
+                           @Value("${users.last-login.write-behind.enabled:false}") boolean writeBehind,
+                           @Value("${users.last-login.write-behind.flush-interval-millis:1000}") long flushIntervalMillis,
+                           @Value("${users.last-login.write-behind.max-pending:1000}") int maxPending,
+                           MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxPending = maxPending;
+        if (writeBehind) {
+            this.flusher = startFlusher(flushIntervalMillis);
+            logger.info("Last login write-behind: flush every {} ms or at {} pending users", flushIntervalMillis, maxPending);
+        } else {
+            this.flusher = null;
+        }
+        Gauge.builder("users.last.login.pending", pending, Map::size)
+                .description("Users whose last login time is not written yet")
+                .register(meterRegistry);
+    }
+
+    private ScheduledExecutorService startFlusher(long flushIntervalMillis) {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "last-login-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        return executor;
+    }
+
+    /**
+     * Whether login times are written behind; if so, {@link #write} does not
+     * check that the user still exists.
+     *
+     * @return true in write-behind mode
+     */
+    public boolean isWriteBehind() {
+        return flusher != null;
+    }
+
+    /**
+     * Set a user's last login time in the database.
+     *
+     * @param userId The id of the logged-in user (write-behind key)
+     * @param emailCanonical The canonical email of the user (immediate update key)
+     * @param lastLogin The login time
+     * @return Number of users updated (1, or 0 if no user has this email);
+     *         always 1 in write-behind mode, where the update is only queued
+     */
+    public int write(UUID userId, String emailCanonical, LocalDateTime lastLogin) {
+        if (flusher == null) {
+            return userRepository.updateLastLogin(emailCanonical, lastLogin);
+        }
+        pending.merge(userId, lastLogin, (queued, latest) -> latest.isAfter(queued) ? latest : queued);
+        if (pending.size() >= maxPending && flushRequested.compareAndSet(false, true)) {
+            try {
+                flusher.execute(this::flushQuietly);
+            } catch (RejectedExecutionException e) {
+                // Shutting down: close() flushes what is pending
+            }
+        }
+        return 1;
+    }
+
+    /**
+     * Write every pending login time in one JDBC batch.
+     *
+     * @return Number of users written
+     */
+    public synchronized int flush() {
+        flushRequested.set(false);
+        List<Object[]> batch = new ArrayList<>(pending.size());
+        for (Map.Entry<UUID, LocalDateTime> entry : pending.entrySet()) {
+            // A newer login arriving meanwhile stays queued for the next flush
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                Timestamp lastLogin = Timestamp.valueOf(entry.getValue());
+                batch.add(new Object[]{lastLogin, toBytes(entry.getKey()), lastLogin});
+            }
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, batch);
+        } catch (RuntimeException e) {
+            // Requeue, keeping any newer login recorded meanwhile
+            for (Object[] row : batch) {
+                pending.merge(fromBytes((byte[]) row[1]), ((Timestamp) row[0]).toLocalDateTime(),
+                        (queued, failed) -> queued.isAfter(failed) ? queued : failed);
+            }
+            throw e;
+        }
+        return batch.size();
+    }
+
+    /**
+     * Get the number of users whose login time is not written yet.
+     *
+     * @return The pending count
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            logger.warn("Last login flush failed, {} users pending: {}", pending.size(), e.toString());
+        }
+    }
+
+    /**
+     * Stop the flush thread and write the pending login times on shutdown.
+     */
+    @PreDestroy
+    public void close() {
+        if (flusher == null) {
+            return;
+        }
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        int written = flush();
+        if (written > 0) {
+            logger.info("Last login write-behind drained {} users on shutdown", written);
+        }
+    }
+
+    /**
+     * Binary form of a user id, as stored in users.id (BINARY(16)).
+     * Also binds the ids of the EmailCanonicalBackfill batches.
+     */
+    static byte[] toBytes(UUID id) {
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+
+    private static UUID fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+}
@@ -0,0 +1,157 @@
+package com.globallogic.bci.service;
+
+import com.globallogic.bci.repository.UserRepository;
+import com.globallogic.bci.util.BloomFilter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Bloom filter of registered canonical emails, used to skip the duplicate
+ * lookup on sign-up.
+ *
+ * Almost every sign-up uses a new email, so "is this email taken?" is almost
+ * always "no". The filter answers that in a few hash probes: "definitely
+ * not present" skips the database lookup, "maybe present" falls through to
+ * it. The unique constraints on users stay the authority either way (see
+ * UserService.signUp): a stale or incomplete filter can only cost a lookup
+ * or a wasted password hash, never a duplicate account. For that reason the
+ * filter is not used on login, where "definitely not present" would be
+ * wrong for users registered by another instance.
+ *
+ * Lifecycle:
+ * - Built at startup, after the canonical email backfill, by reading the
+ *   canonical emails in keyset batches over their unique index
+ * - Updated by UserService after every successful insert
+ * - Until the initial load completes, every email is "maybe present"
+ *
+ * Sizing (application.properties):
+ * - users.email-filter.expected-users: users the filter is sized for
+ *   (50M by default, about 60 MB at 1%)
+ * - users.email-filter.false-positive-rate: target false-positive rate
+ * - users.email-filter.load-batch-size: emails read per query at startup
+ *
+ * Metrics (Micrometer, see /actuator/metrics):
+ * - users.email.filter.fill.ratio: fraction of bits set; the false-positive
+ *   rate is roughly fillRatio^k, so a ratio approaching 0.5 means the filter
+ *   needs a larger expected-users
+ */
+@Service
+@Order(EmailCanonicalBackfill.ORDER + 1)
+public class RegisteredEmailFilter implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(RegisteredEmailFilter.class);
+
+    private final BloomFilter filter;
+    private final UserRepository userRepository;
+    private final int loadBatchSize;
+    private volatile boolean loaded;
+
+    /**
+     * Create an empty, already loaded filter (no users registered yet).
+     *
+     * @param expectedUsers Number of users the filter is sized for
+     * @param falsePositiveRate Target false-positive probability (0 < p < 1)
+     */
+    public RegisteredEmailFilter(long expectedUsers, double falsePositiveRate) {
+        this.filter = new BloomFilter(expectedUsers, falsePositiveRate);
+        this.userRepository = null;
+        this.loadBatchSize = 0;
+        this.loaded = true;
+    }
+
+    /**
+     * Constructor with dependency injection; the filter is filled at startup.
+     *
+     * @param userRepository Repository the registered emails are read from
+     * @param expectedUsers Number of users the filter is sized for
+     * @param falsePositiveRate Target false-positive probability (0 < p < 1)
+     * @param loadBatchSize Emails read per query at startup
+     * @param meterRegistry Registry for the fill ratio gauge
+     */
+    @Autowired
+    public RegisteredEmailFilter(UserRepository userRepository,
+                                 @Value("${users.email-filter.expected-users:50000000}") long expectedUsers,
+                                 @Value("${users.email-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                                 @Value("${users.email-filter.load-batch-size:10000}") int loadBatchSize,
+                                 MeterRegistry meterRegistry) {
+        this.filter = new BloomFilter(expectedUsers, falsePositiveRate);
+        this.userRepository = userRepository;
+        this.loadBatchSize = loadBatchSize;
+        Gauge.builder("users.email.filter.fill.ratio", filter, BloomFilter::getFillRatio)
+                .description("Fraction of bits set in the registered email filter")
+                .register(meterRegistry);
+        logger.info("Registered email filter: {} MB, {} hashes, sized for {} users at {}",
+                filter.getBitSize() / 8 / 1024 / 1024, filter.getHashCount(), expectedUsers, falsePositiveRate);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        load();
+    }
+
+    /**
+     * Add every registered canonical email to the filter.
+     *
+     * @return Number of emails read
+     */
+    public long load() {
+        long start = System.currentTimeMillis();
+        long count = 0;
+        String last = "";
+        List<String> batch;
+        do {
+            batch = userRepository.findEmailCanonicalsAfter(last, PageRequest.of(0, loadBatchSize));
+            for (String emailCanonical : batch) {
+                filter.put(emailCanonical);
+            }
+            count += batch.size();
+            if (!batch.isEmpty()) {
+                last = batch.get(batch.size() - 1);
+            }
+        } while (batch.size() == loadBatchSize);
+        loaded = true;
+        logger.info("Registered email filter loaded {} emails in {} ms, fill ratio {}",
+                count, System.currentTimeMillis() - start, String.format("%.4f", filter.getFillRatio()));
+        return count;
+    }
+
+    /**
+     * Record a newly registered email.
+     *
+     * @param emailCanonical The canonical email of the inserted user
+     */
+    public void add(String emailCanonical) {
+        filter.put(emailCanonical);
+    }
+
+    /**
+     * Test whether an email may be registered.
+     *
+     * @param emailCanonical The canonical email
+     * @return false if the email is definitely not registered, true if it may be
+     *         (always true until the initial load has completed)
+     */
+    public boolean mightContain(String emailCanonical) {
+        return !loaded || filter.mightContain(emailCanonical);
+    }
+
+    /**
+     * Fraction of bits set in the filter.
+     *
+     * @return A value between 0 and 1
+     */
+    public double getFillRatio() {
+        return filter.getFillRatio();
+    }
+}
@@ -0,0 +1,178 @@
+package com.globallogic.bci.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.globallogic.bci.exception.BadRequestException;
+import com.globallogic.bci.util.TokenProvider;
+import com.globallogic.bci.token.TokenVerification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Service for read-only bulk token introspection.
+ *
+ * Verifies a batch of tokens for callers such as the API gateway, without
+ * touching the user repository, updating lastLogin or minting new tokens.
+ *
+ * Input: {"tokens": ["...", "..."]}, read incrementally from the request body
+ * with a streaming JsonParser. At most token.introspection.max-batch-size
+ * tokens are accepted (default 10000): the request is rejected as soon as one
+ * more token is read, without reading or binding the rest of the body, so a
+ * request holds at most max-batch-size token strings in memory.
+ *
+ * Processing:
+ * - Tokens are verified in fixed-size chunks; each chunk is spread across
+ *   cores with a parallel stream (order is preserved)
+ * - Each chunk is written to the output as soon as it is verified and then
+ *   dropped, so only one chunk of results is ever held in memory
+ *
+ * Output: a JSON array with one entry per input token, in input order:
+ * - {"active":true,"sub":"...","exp":1700000000} for a usable token
+ * - {"active":false,"reason":"EXPIRED"} otherwise; reason is a
+ *   {@link TokenVerification.Status} name or REVOKED
+ */
+@Service
+public class TokenIntrospectionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenIntrospectionService.class);
+
+    /**
+     * Tokens verified per parallel chunk.
+     */
+    static final int CHUNK_SIZE = 256;
+
+    private static final String REVOKED = "REVOKED";
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory()
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+
+    private final TokenProvider tokenProvider;
+    private final TokenRevocationService tokenRevocationService;
+    private final int maxBatchSize;
+
+    public TokenIntrospectionService(TokenProvider tokenProvider,
+                                     TokenRevocationService tokenRevocationService,
+                                     @Value("${token.introspection.max-batch-size:10000}") int maxBatchSize) {
+        this.tokenProvider = tokenProvider;
+        this.tokenRevocationService = tokenRevocationService;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Read the tokens of an introspection request body, {"tokens": [...]}.
+     * Other fields are skipped. Reading stops with an error at the first
+     * token past the maximum batch size.
+     *
+     * @param body The request body
+     * @return The tokens, in request order (null elements are kept, and reported MALFORMED)
+     * @throws BadRequestException if the body is not such an object, or the batch is empty or too large
+     * @throws IOException if reading the body fails
+     */
+    public List<String> readBatch(InputStream body) throws IOException {
+        List<String> tokens = null;
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new BadRequestException("Request body must be a JSON object with a tokens array");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if (!"tokens".equals(field)) {
+                    parser.skipChildren();
+                } else if (value == JsonToken.START_ARRAY) {
+                    tokens = readTokens(parser);
+                } else if (value != JsonToken.VALUE_NULL) {
+                    throw new BadRequestException("tokens must be an array of strings");
+                }
+            }
+        } catch (JsonProcessingException e) {
+            throw new BadRequestException("Malformed JSON request body");
+        }
+        validateBatch(tokens);
+        return tokens;
+    }
+
+    private List<String> readTokens(JsonParser parser) throws IOException {
+        List<String> tokens = new ArrayList<>();
+        for (JsonToken element = parser.nextToken(); element != JsonToken.END_ARRAY; element = parser.nextToken()) {
+            if (element != JsonToken.VALUE_STRING && element != JsonToken.VALUE_NULL) {
+                throw new BadRequestException("tokens must be an array of strings");
+            }
+            if (tokens.size() == maxBatchSize) {
+                throw new BadRequestException("At most " + maxBatchSize + " tokens can be introspected per request");
+            }
+            tokens.add(element == JsonToken.VALUE_STRING ? parser.getText() : null);
+        }
+        return tokens;
+    }
+
+    /**
+     * Check a batch before any output is written, so invalid requests get a
+     * regular 400 error response instead of a truncated stream.
+     *
+     * @param tokens The tokens to introspect
+     * @throws BadRequestException if the batch is missing, empty or too large
+     */
+    public void validateBatch(List<String> tokens) {
+        if (tokens == null || tokens.isEmpty()) {
+            throw new BadRequestException("At least one token is required");
+        }
+        if (tokens.size() > maxBatchSize) {
+            throw new BadRequestException("At most " + maxBatchSize + " tokens can be introspected per request");
+        }
+    }
+
+    /**
+     * Verify the tokens and stream the results as a JSON array.
+     *
+     * @param tokens The tokens to introspect (see {@link #validateBatch(List)})
+     * @param out The stream to write the JSON array to (left open)
+     * @throws IOException if writing to the stream fails
+     */
+    public void introspect(List<String> tokens, OutputStream out) throws IOException {
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(out)) {
+            generator.writeStartArray();
+            for (int from = 0; from < tokens.size(); from += CHUNK_SIZE) {
+                List<TokenVerification> chunk = tokens.subList(from, Math.min(from + CHUNK_SIZE, tokens.size()))
+                        .parallelStream()
+                        .map(tokenProvider::verify)
+                        .collect(Collectors.toList());
+                for (TokenVerification verification : chunk) {
+                    writeResult(generator, verification);
+                }
+                generator.flush();
+            }
+            generator.writeEndArray();
+        }
+        logger.debug("Introspected {} tokens", tokens.size());
+    }
+
+    private void writeResult(JsonGenerator generator, TokenVerification verification) throws IOException {
+        generator.writeStartObject();
+        if (!verification.isValid()) {
+            generator.writeBooleanField("active", false);
+            generator.writeStringField("reason", verification.getStatus().name());
+        } else if (tokenRevocationService.isRevoked(verification.getTokenId())) {
+            generator.writeBooleanField("active", false);
+            generator.writeStringField("reason", REVOKED);
+        } else {
+            generator.writeBooleanField("active", true);
+            generator.writeStringField("sub", verification.getSubject());
+            generator.writeNumberField("exp", verification.getExpiration().getTime() / 1000);
+        }
+        generator.writeEndObject();
+    }
+}
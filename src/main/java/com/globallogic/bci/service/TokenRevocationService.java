@@ -0,0 +1,172 @@
+package com.globallogic.bci.service;
+
+import com.globallogic.bci.util.BloomFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service for revoking tokens before their natural expiration.
+ *
+ * Tokens are identified by their jti claim. The common question on the login
+ * path, "is this token revoked?", is almost always "no", so it is answered by
+ * a Bloom filter first: a few hash probes, no lock and no DB read. Only a
+ * "maybe" falls through to the exact set.
+ *
+ * Memory stays flat as revocations pile up:
+ * - The exact set maps jti to token expiration; entries are purged once the
+ *   token would have expired anyway.
+ * - Bloom filters cannot delete, so they are kept in two generations rotated
+ *   daily. A new generation starts with every id still in the exact set, so
+ *   revocations of long-lived tokens (14-day refresh tokens) survive any
+ *   number of rotations; only expired ids are left behind. The oldest
+ *   generation is then discarded.
+ *
+ * Single-use tokens (refresh tokens) are consumed with {@link #consume}, which
+ * marks the id used in one atomic step so a token cannot be spent twice by
+ * concurrent requests.
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    /**
+     * Bloom filter generation length (24 hours).
+     */
+    private static final long GENERATION_MILLIS = 86400000L;
+
+    /**
+     * How often expired entries are purged from the exact set.
+     */
+    private static final long PURGE_INTERVAL_MILLIS = 3600000L;
+
+    private final long expectedRevocations;
+    private final double falsePositiveRate;
+    private final Clock clock;
+    private final Map<String, Long> revokedUntil = new ConcurrentHashMap<>();
+
+    private volatile BloomFilter currentGeneration;
+    private volatile BloomFilter previousGeneration;
+    private volatile long nextRotationMillis;
+    private volatile long nextPurgeMillis;
+
+    @Autowired
+    public TokenRevocationService(@Value("${jwt.revocation.expected-revocations:100000}") long expectedRevocations,
+                                  @Value("${jwt.revocation.false-positive-rate:0.001}") double falsePositiveRate) {
+        this(expectedRevocations, falsePositiveRate, Clock.systemUTC());
+    }
+
+    TokenRevocationService(long expectedRevocations, double falsePositiveRate, Clock clock) {
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.clock = clock;
+        this.currentGeneration = new BloomFilter(expectedRevocations, falsePositiveRate);
+        this.previousGeneration = new BloomFilter(expectedRevocations, falsePositiveRate);
+        this.nextRotationMillis = clock.millis() + GENERATION_MILLIS;
+        this.nextPurgeMillis = clock.millis() + PURGE_INTERVAL_MILLIS;
+    }
+
+    /**
+     * Revoke a token until its expiration.
+     *
+     * @param tokenId The jti claim of the token
+     * @param expirationMillis The token expiration (epoch milliseconds)
+     */
+    public void revoke(String tokenId, long expirationMillis) {
+        if (tokenId == null) {
+            throw new IllegalArgumentException("Token has no id and cannot be revoked");
+        }
+        long now = clock.millis();
+        purgeAndRotateIfDue(now);
+        if (expirationMillis <= now) {
+            return;
+        }
+        revokedUntil.put(tokenId, expirationMillis);
+        currentGeneration.put(tokenId);
+        logger.debug("Token revoked until {}", expirationMillis);
+    }
+
+    /**
+     * Consume a single-use token: revoke it until its expiration unless it
+     * already was. Exactly one of any number of concurrent calls with the same
+     * id succeeds.
+     *
+     * @param tokenId The jti claim of the token
+     * @param expirationMillis The token expiration (epoch milliseconds)
+     * @return true if this call consumed the token, false if it was already revoked or has expired
+     */
+    public boolean consume(String tokenId, long expirationMillis) {
+        if (tokenId == null) {
+            throw new IllegalArgumentException("Token has no id and cannot be consumed");
+        }
+        long now = clock.millis();
+        purgeAndRotateIfDue(now);
+        if (expirationMillis <= now) {
+            return false;
+        }
+        Long previous = revokedUntil.putIfAbsent(tokenId, expirationMillis);
+        if (previous != null
+                && (previous > now || !revokedUntil.replace(tokenId, previous, expirationMillis))) {
+            return false;
+        }
+        currentGeneration.put(tokenId);
+        return true;
+    }
+
+    /**
+     * Check whether a token has been revoked.
+     *
+     * @param tokenId The jti claim of the token (null for tokens issued without one)
+     * @return true if the token was revoked and has not expired yet
+     */
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null) {
+            return false;
+        }
+        long now = clock.millis();
+        purgeAndRotateIfDue(now);
+        if (!currentGeneration.mightContain(tokenId) && !previousGeneration.mightContain(tokenId)) {
+            return false;
+        }
+        Long until = revokedUntil.get(tokenId);
+        return until != null && until > now;
+    }
+
+    /**
+     * Number of revoked tokens that have not expired yet (approximate until the next purge).
+     *
+     * @return The exact-set size
+     */
+    public int getRevokedCount() {
+        return revokedUntil.size();
+    }
+
+    private void purgeAndRotateIfDue(long now) {
+        if (now < nextPurgeMillis) {
+            return;
+        }
+        synchronized (this) {
+            if (now < nextPurgeMillis) {
+                return;
+            }
+            revokedUntil.values().removeIf(until -> until <= now);
+            nextPurgeMillis = now + PURGE_INTERVAL_MILLIS;
+            if (now >= nextRotationMillis) {
+                // Ids revoked later still reach the exact set and are carried over at the next rotation
+                BloomFilter nextGeneration = new BloomFilter(expectedRevocations, falsePositiveRate);
+                revokedUntil.keySet().forEach(nextGeneration::put);
+                previousGeneration = currentGeneration;
+                currentGeneration = nextGeneration;
+                nextRotationMillis = now + GENERATION_MILLIS;
+                logger.debug("Revocation filter rotated; {} revoked tokens still live", revokedUntil.size());
+            }
+        }
+    }
+}
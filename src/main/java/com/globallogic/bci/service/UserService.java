@@ -1,7 +1,9 @@
 package com.globallogic.bci.service;
 
+import com.globallogic.bci.dto.LoginRequest;
 import com.globallogic.bci.dto.PhoneDto;
 import com.globallogic.bci.dto.SignUpRequest;
+import com.globallogic.bci.dto.TokenRefreshResponse;
 import com.globallogic.bci.dto.UserResponse;
 import com.globallogic.bci.entity.Phone;
 import com.globallogic.bci.entity.User;
@@ -9,18 +11,35 @@ import com.globallogic.bci.exception.BadRequestException;
 import com.globallogic.bci.exception.InvalidCredentialsException;
 import com.globallogic.bci.exception.UserAlreadyExistsException;
 import com.globallogic.bci.exception.UserNotFoundException;
+import com.globallogic.bci.repository.UserPhoneRow;
 import com.globallogic.bci.repository.UserRepository;
-import com.globallogic.bci.util.JwtTokenProvider;
+import com.globallogic.bci.util.EmailCanonicalizer;
 import com.globallogic.bci.util.PasswordEncryptor;
+import com.globallogic.bci.util.RefreshTokenProvider;
+import com.globallogic.bci.util.TokenProvider;
+import com.globallogic.bci.token.TokenVerification;
+import com.globallogic.bci.util.UserIdGenerator;
 import com.globallogic.bci.util.ValidationUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -31,54 +50,179 @@ import java.util.stream.Collectors;
 public class UserService {
 
     private static final Logger logger = LoggerFactory.getLogger(UserService.class);
+
+    /**
+     * Latency timer of credential logins, tagged with the outcome.
+     */
+    static final String LOGIN_TIMER = "password.login";
+
+    /**
+     * Password hashed to compare against when the email is unknown, so unknown
+     * and existing accounts take the same verification time.
+     */
+    private static final String UNKNOWN_USER_PASSWORD = "Unknown123user";
+
+    /**
+     * Length of the phone country code column.
+     */
+    private static final int MAX_COUNTRY_CODE_LENGTH = 5;
+
     private final UserRepository userRepository;
-    private final JwtTokenProvider jwtTokenProvider;
+    private final TokenProvider tokenProvider;
     private final PasswordEncryptor passwordEncryptor;
     private final ValidationUtil validationUtil;
+    private final RegisteredEmailFilter registeredEmailFilter;
+    private final LastLoginWriter lastLoginWriter;
+    private final TokenRevocationService tokenRevocationService;
+    private final RefreshTokenProvider refreshTokenProvider;
+    private final long reissueThresholdMillis;
+    private final UserIdGenerator idGenerator;
+    private final Executor verificationExecutor;
+    private final Timer loginSuccessTimer;
+    private final Timer loginBadPasswordTimer;
+    private final Timer loginUnknownUserTimer;
+    private final Timer loginRejectedTimer;
+    private volatile String unknownUserHash;
     private final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("MMM dd, yyyy hh:mm:ss a");
 
     public UserService(UserRepository userRepository,
-                       JwtTokenProvider jwtTokenProvider,
+                       TokenProvider tokenProvider,
                        PasswordEncryptor passwordEncryptor,
-                       ValidationUtil validationUtil) {
+                       ValidationUtil validationUtil,
+                       RegisteredEmailFilter registeredEmailFilter,
+                       LastLoginWriter lastLoginWriter,
+                       TokenRevocationService tokenRevocationService,
+                       RefreshTokenProvider refreshTokenProvider,
+                       @Value("${token.reissue-threshold-seconds:3600}") long reissueThresholdSeconds,
+                       @Value("${users.id-generator:uuidv7}") String idGeneratorId,
+                       @Qualifier("passwordVerificationExecutor") Executor verificationExecutor,
+                       MeterRegistry meterRegistry) {
         this.userRepository = userRepository;
-        this.jwtTokenProvider = jwtTokenProvider;
+        this.tokenProvider = tokenProvider;
         this.passwordEncryptor = passwordEncryptor;
         this.validationUtil = validationUtil;
+        this.registeredEmailFilter = registeredEmailFilter;
+        this.lastLoginWriter = lastLoginWriter;
+        this.tokenRevocationService = tokenRevocationService;
+        this.refreshTokenProvider = refreshTokenProvider;
+        this.reissueThresholdMillis = reissueThresholdSeconds * 1000L;
+        this.idGenerator = UserIdGenerator.fromId(idGeneratorId);
+        this.verificationExecutor = verificationExecutor;
+        this.loginSuccessTimer = loginTimer(meterRegistry, "success");
+        this.loginBadPasswordTimer = loginTimer(meterRegistry, "bad_password");
+        this.loginUnknownUserTimer = loginTimer(meterRegistry, "unknown_user");
+        this.loginRejectedTimer = loginTimer(meterRegistry, "rejected");
+    }
+
+    private static Timer loginTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder(LOGIN_TIMER)
+                .description("Credential login latency")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 
     /**
      * Register a new user with the provided information.
      * Validates email format and password strength.
      * Encrypts password before storing.
-     * Generates JWT token for the new user.
+     * Generates JWT token and refresh token for the new user.
+     *
+     * Validation runs on the calling thread, so its exceptions are thrown
+     * directly. Validation checks every field before failing, so a single 400
+     * response lists all violations. BCrypt hashing runs on the dedicated
+     * password hashing executor; saving the user and issuing its tokens
+     * continue on that thread once the hash is ready.
+     *
+     * Duplicates are detected by the insert itself: a violation of the unique
+     * constraints on email or canonical email (addresses differing only in
+     * case are duplicates) is reported as UserAlreadyExistsException. One
+     * statement per sign-up, and of two concurrent sign-ups for the same email
+     * exactly one succeeds. Only when the RegisteredEmailFilter says the email
+     * may be registered is it looked up first, and an existing email is then
+     * rejected on the calling thread without hashing the password.
      *
      * @param signUpRequest The user registration request containing email, password, and optional name/phones
-     * @return UserResponse containing user details and JWT token
-     * @throws UserAlreadyExistsException if user with email already exists
-     * @throws IllegalArgumentException if email or password format is invalid
+     * @return Future completed with the UserResponse containing user details, JWT token and refresh token,
+     *         or completed exceptionally with UserAlreadyExistsException if user with email already exists
+     * @throws BadRequestException with every violation if email, password or a phone is invalid
+     * @throws UserAlreadyExistsException if the filter and the lookup find the email already registered
+     * @throws java.util.concurrent.RejectedExecutionException if the password hashing queue is full
      */
-    public UserResponse signUp(SignUpRequest signUpRequest) {
-        // Validate email format
-        if (!validationUtil.isValidEmail(signUpRequest.getEmail())) {
-            throw new BadRequestException("Invalid email format. Email must match pattern: example@domain.com");
+    public CompletableFuture<UserResponse> signUp(SignUpRequest signUpRequest) {
+        List<String> violations = validateSignUp(signUpRequest);
+        if (!violations.isEmpty()) {
+            throw new BadRequestException(violations);
         }
 
-        // Validate password format
-        if (!validationUtil.isValidPassword(signUpRequest.getPassword())) {
-            throw new BadRequestException("Invalid password format. Password must be 8-12 characters with exactly one uppercase letter and at least two digits");
+        // Only a "maybe registered" from the filter pays for a lookup; it then
+        // saves hashing the password of an obvious duplicate
+        String emailCanonical = EmailCanonicalizer.canonicalize(signUpRequest.getEmail());
+        if (registeredEmailFilter.mightContain(emailCanonical)
+                && userRepository.existsByEmailCanonical(emailCanonical)) {
+            throw new UserAlreadyExistsException("User with email " + signUpRequest.getEmail() + " already exists");
         }
 
-        // Check if user already exists
-        if (userRepository.existsByEmail(signUpRequest.getEmail())) {
-            throw new UserAlreadyExistsException("User with email " + signUpRequest.getEmail() + " already exists");
+        return passwordEncryptor.encryptPasswordAsync(signUpRequest.getPassword())
+                .thenApply(encryptedPassword -> createUser(signUpRequest, encryptedPassword));
+    }
+
+    /**
+     * Check email, password and every phone of a registration request.
+     *
+     * @param signUpRequest The user registration request
+     * @return Every violation found, in field order; empty if the request is valid
+     */
+    private List<String> validateSignUp(SignUpRequest signUpRequest) {
+        List<String> violations = new ArrayList<>();
+        if (!validationUtil.isValidEmail(signUpRequest.getEmail())) {
+            violations.add("Invalid email format. Email must match pattern: example@domain.com");
+        } else if (validationUtil.isDisposableEmail(signUpRequest.getEmail())) {
+            violations.add("Disposable email addresses are not accepted. Please use a permanent email address");
+        }
+        if (!validationUtil.isValidPassword(signUpRequest.getPassword())) {
+            violations.add("Invalid password format. Password must be 8-12 characters with exactly one uppercase letter and at least two digits");
+        } else if (validationUtil.isBreachedPassword(signUpRequest.getPassword())) {
+            violations.add("Password has appeared in a data breach. Please choose a different password");
+        }
+        if (signUpRequest.getPhones() != null) {
+            int index = 0;
+            for (PhoneDto phoneDto : signUpRequest.getPhones()) {
+                String phone = "phones[" + index++ + "]";
+                if (phoneDto == null) {
+                    violations.add(phone + " must not be null");
+                    continue;
+                }
+                if (phoneDto.getNumber() == null || phoneDto.getNumber() <= 0) {
+                    violations.add(phone + ".number must be a positive number");
+                }
+                if (phoneDto.getCitycode() == null || phoneDto.getCitycode() < 0) {
+                    violations.add(phone + ".citycode must be a non-negative number");
+                }
+                String countryCode = phoneDto.getContrycode();
+                if (countryCode == null || countryCode.isBlank() || countryCode.length() > MAX_COUNTRY_CODE_LENGTH) {
+                    violations.add(phone + ".contrycode must be 1-" + MAX_COUNTRY_CODE_LENGTH + " characters");
+                }
+            }
         }
+        return violations;
+    }
 
+    /**
+     * Save a new user whose password has already been hashed and issue its tokens.
+     *
+     * @param signUpRequest The validated registration request
+     * @param encryptedPassword The BCrypt hash of the requested password
+     * @return UserResponse containing user details, JWT token and refresh token
+     * @throws UserAlreadyExistsException if the email or canonical email is already taken
+     */
+    private UserResponse createUser(SignUpRequest signUpRequest, String encryptedPassword) {
         // Create and save new user
         User user = new User();
+        user.setId(idGenerator.generate());
         user.setEmail(signUpRequest.getEmail());
         user.setName(signUpRequest.getName());
-        user.setPassword(passwordEncryptor.encryptPassword(signUpRequest.getPassword()));
+        user.setPassword(encryptedPassword);
         user.setCreated(LocalDateTime.now());
         user.setLastLogin(LocalDateTime.now());
         user.setIsActive(true);
@@ -95,53 +239,244 @@ public class UserService {
             }
         }
 
-        user = userRepository.save(user);
+        // Insert and flush now, so a duplicate email fails here rather than at commit
+        try {
+            user = userRepository.saveAndFlush(user);
+            registeredEmailFilter.add(user.getEmailCanonical());
+        } catch (DataIntegrityViolationException e) {
+            if (isDuplicateEmail(e)) {
+                throw new UserAlreadyExistsException("User with email " + signUpRequest.getEmail() + " already exists");
+            }
+            throw e;
+        }
 
         // Generate token
-        String token = jwtTokenProvider.generateToken(user.getEmail());
+        String token = tokenProvider.generateToken(user.getEmail());
 
         // Convert to response
-        return mapUserToResponse(user, token);
+        UserResponse response = mapUserToResponse(user, token);
+        response.setRefreshToken(refreshTokenProvider.generateToken(user.getEmail()));
+        return response;
+    }
+
+    /**
+     * Check whether an integrity violation is caused by the unique constraint
+     * on email or canonical email. Databases name the violated constraint in
+     * the message, e.g. "PUBLIC.UK_USERS_EMAIL_CANONICAL_INDEX_4" on H2.
+     *
+     * @param exception The integrity violation raised by an insert
+     * @return true if the email is already taken
+     */
+    static boolean isDuplicateEmail(DataIntegrityViolationException exception) {
+        String message = String.valueOf(exception.getMostSpecificCause().getMessage()).toLowerCase(Locale.ROOT);
+        return message.contains(User.EMAIL_UNIQUE_CONSTRAINT) || message.contains(User.EMAIL_CANONICAL_UNIQUE_CONSTRAINT);
     }
 
     /**
      * Authenticate user and retrieve updated profile with new token.
      * Validates JWT token and updates last login timestamp.
-     * Generates a new token for the user.
+     * The user and its phones are read in one query as plain rows (no
+     * managed entity) and mapped straight to the response; the timestamp is
+     * then written with a single UPDATE: two statements, no merge. With last
+     * login write-behind (see LastLoginWriter) only the query runs.
+     * A new token is only issued when the presented one expires within
+     * token.reissue-threshold-seconds; otherwise the presented token is
+     * returned as is, which skips signing on most logins.
      *
      * @param token The JWT token provided by the user
-     * @return UserResponse containing updated user details and new JWT token
+     * @return UserResponse containing updated user details and a usable JWT token
      * @throws UserNotFoundException if user associated with token is not found
      * @throws InvalidCredentialsException if token is invalid
      */
     public UserResponse login(String token) {
         logger.debug("Login attempt with token: {}", token);
         
-        // Validate token
-        if (!jwtTokenProvider.validateToken(token)) {
-            logger.warn("Token validation failed for login attempt");
+        // Verify token once: signature, expiration and claims in a single parse
+        TokenVerification verification = tokenProvider.verify(token);
+        if (!verification.isValid()) {
+            logger.warn("Token validation failed for login attempt: {}", verification.getStatus());
             throw new InvalidCredentialsException("Invalid or expired token");
         }
 
-        // Get email from token
-        String email = jwtTokenProvider.getEmailFromToken(token);
+        if (tokenRevocationService.isRevoked(verification.getTokenId())) {
+            logger.warn("Revoked token presented for login");
+            throw new InvalidCredentialsException("Token has been revoked");
+        }
+
+        String email = verification.getEmail();
         logger.debug("Extracted email from token: {}", email);
 
-        // Find user by email
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UserNotFoundException("User not found for email: " + email));
+        // Find user and phones by email, in one query
+        String emailCanonical = EmailCanonicalizer.canonicalize(email);
+        List<UserPhoneRow> rows = userRepository.findLoginRowsByEmailCanonical(emailCanonical);
+        if (rows.isEmpty()) {
+            throw new UserNotFoundException("User not found for email: " + email);
+        }
+        UserPhoneRow user = rows.get(0);
 
         logger.debug("User found: {}", user.getEmail());
 
         // Update last login
-        user.setLastLogin(LocalDateTime.now());
-        user = userRepository.save(user);
+        LocalDateTime lastLogin = LocalDateTime.now();
+        lastLoginWriter.write(user.getId(), emailCanonical, lastLogin);
 
-        // Generate new token
-        String newToken = jwtTokenProvider.generateToken(user.getEmail());
+        // Re-issue only when the presented token is close to expiring
+        String responseToken = needsReissue(verification) ? tokenProvider.generateToken(user.getEmail()) : token;
 
         // Convert to response
-        return mapUserToResponse(user, newToken);
+        return mapRowsToResponse(rows, lastLogin, responseToken);
+    }
+
+    /**
+     * Authenticate a user with email and password.
+     *
+     * The user and its phones are read on the calling thread in one query as
+     * plain rows (see UserPhoneRow), so the response is built without a
+     * persistence context on the verification thread. The password is verified
+     * on the bounded password verification executor, so a burst of login
+     * attempts queues there instead of occupying servlet threads, and is
+     * rejected immediately once the queue is full. Unknown emails are
+     * verified against a dummy hash so they take as long as wrong passwords.
+     * The last login timestamp is written with a single UPDATE, or queued
+     * by LastLoginWriter in write-behind mode; a matching hash with an
+     * outdated engine or cost is upgraded on the way and written together
+     * with the last login in a single UPDATE.
+     *
+     * Latency is recorded in the password.login timer, tagged with outcome
+     * success, bad_password, unknown_user or rejected.
+     *
+     * @param loginRequest The user's email and password
+     * @return Future completed with the UserResponse containing user details, JWT token and refresh token,
+     *         or completed exceptionally with InvalidCredentialsException
+     * @throws BadRequestException if email or password is missing
+     * @throws RejectedExecutionException if the password verification queue is full
+     */
+    public CompletableFuture<UserResponse> login(LoginRequest loginRequest) {
+        if (loginRequest.getEmail() == null || loginRequest.getPassword() == null) {
+            throw new BadRequestException("Email and password are required");
+        }
+        long start = System.nanoTime();
+        String emailCanonical = EmailCanonicalizer.canonicalize(loginRequest.getEmail());
+        List<UserPhoneRow> rows = userRepository.findLoginRowsByEmailCanonical(emailCanonical);
+        UserPhoneRow user = rows.isEmpty() ? null : rows.get(0);
+        AtomicReference<String> upgradedHash = new AtomicReference<>();
+
+        CompletableFuture<Boolean> verification;
+        try {
+            verification = CompletableFuture.supplyAsync(
+                    () -> verifyCredentials(user, loginRequest.getPassword(), upgradedHash::set), verificationExecutor);
+        } catch (RejectedExecutionException e) {
+            recordLogin(loginRejectedTimer, start);
+            logger.warn("Password verification queue is full, rejecting login");
+            throw e;
+        }
+
+        return verification.thenApply(verified -> {
+            if (!verified) {
+                recordLogin(user != null ? loginBadPasswordTimer : loginUnknownUserTimer, start);
+                throw new InvalidCredentialsException("Invalid email or password");
+            }
+            LocalDateTime lastLogin = LocalDateTime.now();
+            String newHash = upgradedHash.get();
+            if (newHash == null) {
+                lastLoginWriter.write(user.getId(), emailCanonical, lastLogin);
+            } else {
+                // Upgraded hash: write it together with the last login
+                userRepository.updatePasswordAndLastLogin(emailCanonical, newHash, lastLogin);
+            }
+
+            UserResponse response = mapRowsToResponse(rows, lastLogin, tokenProvider.generateToken(user.getEmail()));
+            if (newHash != null) {
+                response.setPassword(newHash);
+            }
+            response.setRefreshToken(refreshTokenProvider.generateToken(user.getEmail()));
+            recordLogin(loginSuccessTimer, start);
+            return response;
+        });
+    }
+
+    /**
+     * Verify a password against the user's stored hash.
+     * Runs on the password verification executor.
+     *
+     * @param user The user row, or null if the email is unknown
+     * @param password The presented plain text password
+     * @param onRehash Receives the upgraded hash if the stored one is outdated
+     * @return true if the password matches
+     */
+    private boolean verifyCredentials(UserPhoneRow user, String password, Consumer<String> onRehash) {
+        if (user == null) {
+            passwordEncryptor.verifyPassword(password, unknownUserHash());
+            return false;
+        }
+        return passwordEncryptor.verifyPassword(password, user.getPassword(), onRehash);
+    }
+
+    private String unknownUserHash() {
+        String hash = unknownUserHash;
+        if (hash == null) {
+            hash = passwordEncryptor.encryptPassword(UNKNOWN_USER_PASSWORD);
+            unknownUserHash = hash;
+        }
+        return hash;
+    }
+
+    private static void recordLogin(Timer timer, long start) {
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Exchange a refresh token for a new access token.
+     * The presented refresh token is revoked and replaced (rotation), so each
+     * refresh token can be used only once.
+     *
+     * @param refreshToken The refresh token provided by the user
+     * @return A new access token and refresh token
+     * @throws InvalidCredentialsException if the refresh token is invalid, expired or already used
+     */
+    public TokenRefreshResponse refresh(String refreshToken) {
+        TokenVerification verification = refreshTokenProvider.verify(refreshToken);
+        if (!verification.isValid()) {
+            logger.warn("Refresh token validation failed: {}", verification.getStatus());
+            throw new InvalidCredentialsException("Invalid or expired refresh token");
+        }
+        if (verification.getTokenId() == null
+                || !tokenRevocationService.consume(verification.getTokenId(), verification.getExpiration().getTime())) {
+            logger.warn("Revoked refresh token presented");
+            throw new InvalidCredentialsException("Refresh token has been revoked");
+        }
+
+        String email = verification.getEmail();
+        return new TokenRefreshResponse(tokenProvider.generateToken(email), refreshTokenProvider.generateToken(email));
+    }
+
+    /**
+     * Revoke a token so it can no longer be used to log in.
+     * The revocation lasts until the token's own expiration.
+     *
+     * @param token The JWT token to revoke
+     * @throws InvalidCredentialsException if token is invalid, expired or has no id
+     */
+    public void revokeToken(String token) {
+        TokenVerification verification = tokenProvider.verify(token);
+        if (!verification.isValid() || verification.getTokenId() == null) {
+            throw new InvalidCredentialsException("Invalid or expired token");
+        }
+        tokenRevocationService.revoke(verification.getTokenId(), verification.getExpiration().getTime());
+        logger.debug("Token revoked for email: {}", verification.getEmail());
+    }
+
+    /**
+     * Check whether a verified token is too close to expiring to hand back.
+     *
+     * @param verification A valid token verification
+     * @return true if a new token must be issued
+     */
+    private boolean needsReissue(TokenVerification verification) {
+        if (verification.getExpiration() == null) {
+            return true;
+        }
+        return verification.getExpiration().getTime() - System.currentTimeMillis() < reissueThresholdMillis;
     }
 
     /**
@@ -165,7 +500,7 @@ public class UserService {
         }
 
         UserResponse response = new UserResponse();
-        response.setId(user.getId());
+        response.setId(user.getId() != null ? user.getId().toString() : null);
         response.setCreated(user.getCreated().format(dateFormatter));
         response.setLastLogin(user.getLastLogin() != null ? user.getLastLogin().format(dateFormatter) : null);
         response.setToken(token);
@@ -177,4 +512,33 @@ public class UserService {
         
         return response;
     }
+
+    /**
+     * Map the rows of a user and its phones to UserResponse DTO.
+     *
+     * @param rows The user's rows, one per phone (see UserPhoneRow)
+     * @param lastLogin The login time just written
+     * @param token The JWT token to include in response
+     * @return UserResponse with formatted user data
+     */
+    private UserResponse mapRowsToResponse(List<UserPhoneRow> rows, LocalDateTime lastLogin, String token) {
+        List<PhoneDto> phoneDtos = rows.stream()
+                .filter(UserPhoneRow::hasPhone)
+                .map(row -> new PhoneDto(row.getPhoneNumber(), row.getPhoneCitycode(), row.getPhoneContrycode()))
+                .collect(Collectors.toList());
+
+        UserPhoneRow user = rows.get(0);
+        UserResponse response = new UserResponse();
+        response.setId(user.getId().toString());
+        response.setCreated(user.getCreated().format(dateFormatter));
+        response.setLastLogin(lastLogin.format(dateFormatter));
+        response.setToken(token);
+        response.setIsActive(user.getIsActive());
+        response.setName(user.getName());
+        response.setEmail(user.getEmail());
+        response.setPassword(user.getPassword());
+        response.setPhones(phoneDtos);
+
+        return response;
+    }
 }
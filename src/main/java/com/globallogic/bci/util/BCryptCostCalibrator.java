@@ -0,0 +1,107 @@
+package com.globallogic.bci.util;
+
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import java.util.Arrays;
+import java.util.function.IntToLongFunction;
+
+/**
+ * BCrypt Cost Calibrator - Picks the Strongest Cost Within a Latency Target
+ *
+ * Each BCrypt cost step doubles the hashing time, so the right cost depends on
+ * the hardware the service runs on. The calibrator times real hashes starting
+ * at the minimum cost and stops at the highest cost whose measured time fits
+ * the target. It never times a cost predicted to be over the target, which
+ * keeps calibration under roughly twice the target per sample.
+ *
+ * Each cost is timed {@link #SAMPLES} times and the median is used, after one
+ * warm-up hash so the first measurement is not inflated by JIT compilation.
+ *
+ * @author GlobalLogic Development Team
+ * @version 1.0.0
+ * @since Java 11
+ */
+final class BCryptCostCalibrator {
+
+    /**
+     * Lowest and highest cost accepted by BCrypt.
+     */
+    static final int MIN_COST = 4;
+    static final int MAX_COST = 31;
+
+    /**
+     * Number of timed hashes per cost.
+     */
+    static final int SAMPLES = 3;
+
+    private static final String SAMPLE_PASSWORD = "Calibrate12";
+
+    /**
+     * Hash timer: cost in, elapsed nanoseconds out.
+     */
+    private final IntToLongFunction hashTimer;
+
+    /**
+     * Calibrator timing real BCrypt hashes.
+     */
+    BCryptCostCalibrator() {
+        this(BCryptCostCalibrator::timeHash);
+    }
+
+    /**
+     * Calibrator with a custom hash timer (used by tests).
+     *
+     * @param hashTimer Returns the nanoseconds one hash takes at the given cost
+     */
+    BCryptCostCalibrator(IntToLongFunction hashTimer) {
+        this.hashTimer = hashTimer;
+    }
+
+    /**
+     * Find the strongest cost whose median hashing time fits the target.
+     *
+     * @param targetMillis Hashing latency target in milliseconds
+     * @param minCost Lowest cost to return, even if it exceeds the target
+     * @param maxCost Highest cost to return
+     * @return The calibrated cost, between minCost and maxCost
+     * @throws IllegalArgumentException if the cost range is invalid
+     */
+    int calibrate(long targetMillis, int minCost, int maxCost) {
+        if (minCost < MIN_COST || maxCost > MAX_COST || minCost > maxCost) {
+            throw new IllegalArgumentException(
+                    "BCrypt cost range must be within " + MIN_COST + ".." + MAX_COST + ": " + minCost + ".." + maxCost);
+        }
+        long targetNanos = targetMillis * 1_000_000L;
+        hashTimer.applyAsLong(minCost);
+
+        int cost = minCost;
+        while (cost < maxCost) {
+            long nanos = medianNanos(cost);
+            if (nanos > targetNanos) {
+                return Math.max(minCost, cost - 1);
+            }
+            // The next cost takes about twice as long; don't spend time measuring it
+            if (nanos * 2 > targetNanos) {
+                return cost;
+            }
+            cost++;
+        }
+        return medianNanos(maxCost) > targetNanos ? Math.max(minCost, maxCost - 1) : maxCost;
+    }
+
+    private long medianNanos(int cost) {
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            samples[i] = hashTimer.applyAsLong(cost);
+        }
+        Arrays.sort(samples);
+        return samples[SAMPLES / 2];
+    }
+
+    private static long timeHash(int cost) {
+        String salt = BCrypt.gensalt(cost);
+        long start = System.nanoTime();
+        BCrypt.hashpw(SAMPLE_PASSWORD, salt);
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,145 @@
+package com.globallogic.bci.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bloom Filter - Compact, Thread-Safe Probabilistic Set of Strings
+ *
+ * Answers "definitely not present" or "maybe present" for a string key using
+ * a fixed bit array sized from the expected number of insertions and the
+ * target false-positive rate. Memory use is fixed at construction time and
+ * does not grow with insertions.
+ *
+ * Sizing (standard formulas):
+ * - bits   m = ceil(-n * ln(p) / (ln 2)^2)
+ * - hashes k = max(1, round(m / n * ln 2))
+ * - Example: 1M keys at 1% -> ~1.2 MB, 7 probes
+ *
+ * Hashing:
+ * - One 64-bit FNV-1a pass over the characters, finalized with the
+ *   MurmurHash3 fmix64 mixer, derives two hashes h1 and h2
+ * - Probe i uses bit (h1 + i * h2) mod m (Kirsch-Mitzenmacher); no
+ *   allocation per lookup
+ *
+ * Thread Safety:
+ * - Bits live in an AtomicLongArray and are set with compare-and-set, so
+ *   concurrent put() and mightContain() calls need no lock
+ *
+ * @author GlobalLogic Development Team
+ * @version 1.0.0
+ * @since Java 11
+ */
+public class BloomFilter {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final AtomicLongArray bits;
+    private final long bitSize;
+    private final int hashCount;
+    private final LongAdder setBits = new LongAdder();
+
+    /**
+     * Create a filter for the expected number of keys and false-positive rate.
+     *
+     * @param expectedInsertions Number of keys the filter is sized for
+     * @param falsePositiveRate Target false-positive probability (0 < p < 1)
+     * @throws IllegalArgumentException if the arguments are out of range
+     */
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("Expected insertions must be positive");
+        }
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("False-positive rate must be between 0 and 1");
+        }
+        long m = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        long words = (m + 63) / 64;
+        if (words > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Bloom filter too large for " + expectedInsertions + " insertions");
+        }
+        this.bits = new AtomicLongArray((int) words);
+        this.bitSize = words * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitSize / expectedInsertions * Math.log(2)));
+    }
+
+    /**
+     * Add a key to the filter.
+     *
+     * @param key The key to add
+     */
+    public void put(CharSequence key) {
+        long h1 = hash(key);
+        long h2 = fmix64(h1 ^ FNV_PRIME) | 1L;
+        for (int i = 0; i < hashCount; i++) {
+            setBit(Long.remainderUnsigned(h1 + i * h2, bitSize));
+        }
+    }
+
+    /**
+     * Test whether a key may have been added.
+     *
+     * @param key The key to test
+     * @return false if the key was definitely never added, true if it may have been
+     */
+    public boolean mightContain(CharSequence key) {
+        long h1 = hash(key);
+        long h2 = fmix64(h1 ^ FNV_PRIME) | 1L;
+        for (int i = 0; i < hashCount; i++) {
+            long index = Long.remainderUnsigned(h1 + i * h2, bitSize);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Fraction of bits set; the false-positive rate is roughly fillRatio^k.
+     *
+     * @return A value between 0 and 1
+     */
+    public double getFillRatio() {
+        return (double) setBits.sum() / bitSize;
+    }
+
+    public long getBitSize() {
+        return bitSize;
+    }
+
+    public int getHashCount() {
+        return hashCount;
+    }
+
+    private void setBit(long index) {
+        int word = (int) (index >>> 6);
+        long mask = 1L << index;
+        long current;
+        do {
+            current = bits.get(word);
+            if ((current & mask) != 0) {
+                return;
+            }
+        } while (!bits.compareAndSet(word, current, current | mask));
+        setBits.increment();
+    }
+
+    private static long hash(CharSequence key) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0, length = key.length(); i < length; i++) {
+            hash ^= key.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return fmix64(hash);
+    }
+
+    private static long fmix64(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,111 @@
+package com.globallogic.bci.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Breached Password Checker - Offline Lookup of Known-Breached Passwords
+ *
+ * Hashes a password with SHA-1 and looks it up in a local
+ * {@link BreachedPasswordFile}: no network access, and a lookup only touches
+ * the prefix index and a handful of record pages.
+ *
+ * Configuration (application.properties):
+ * - validation.breached-passwords.path: file produced by
+ *   BreachedPasswordFileConverter; empty disables the check
+ *
+ * @author GlobalLogic Development Team
+ * @version 1.0.0
+ * @since Java 11
+ */
+@Component
+public class BreachedPasswordChecker {
+
+    private static final Logger logger = LoggerFactory.getLogger(BreachedPasswordChecker.class);
+
+    private static final ThreadLocal<MessageDigest> SHA1 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 is not available", e);
+        }
+    });
+
+    /**
+     * The breached password file, or null if the check is disabled.
+     */
+    private final BreachedPasswordFile file;
+
+    /**
+     * Constructor with configuration injection.
+     *
+     * @param path Breached password file, or empty to disable the check
+     * @throws IOException if the configured file cannot be opened
+     */
+    @Autowired
+    public BreachedPasswordChecker(@Value("${validation.breached-passwords.path:}") String path) throws IOException {
+        this(path.isBlank() ? null : new BreachedPasswordFile(Paths.get(path)));
+        if (file == null) {
+            logger.info("Breached password check disabled (validation.breached-passwords.path is empty)");
+        } else {
+            logger.info("Breached password check: {} hashes in {}", file.getRecordCount(), path);
+        }
+    }
+
+    BreachedPasswordChecker(BreachedPasswordFile file) {
+        this.file = file;
+    }
+
+    /**
+     * Create a checker that reports no password as breached.
+     *
+     * @return A disabled checker
+     */
+    public static BreachedPasswordChecker disabled() {
+        return new BreachedPasswordChecker((BreachedPasswordFile) null);
+    }
+
+    /**
+     * Check whether the check is backed by a breached password file.
+     *
+     * @return true if passwords are checked
+     */
+    public boolean isEnabled() {
+        return file != null;
+    }
+
+    /**
+     * Check whether a password appears in the breached password file.
+     *
+     * @param password The plain text password
+     * @return true if the password is known to be breached; false if not, or if the check is disabled
+     */
+    public boolean isBreached(String password) {
+        if (file == null || password == null) {
+            return false;
+        }
+        return file.contains(SHA1.get().digest(password.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Close the breached password file on shutdown.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @PreDestroy
+    public void close() throws IOException {
+        if (file != null) {
+            file.close();
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.globallogic.bci.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Memory-Mapped Breached Password File - Sorted SHA-1 Suffixes with a Prefix Index
+ *
+ * Read side of the offline breached-password check. The file holds the SHA-1
+ * hashes of known-breached passwords (as published by Have I Been Pwned),
+ * converted by {@link BreachedPasswordFileConverter} into fixed-width binary
+ * records, so a lookup is a direct index read plus a binary search over a
+ * small slice of the file. Only the pages touched by the search are faulted
+ * in; the file is never read as a whole.
+ *
+ * File Layout (big-endian):
+ * - Header (16 bytes): magic, version, record count (long)
+ * - Prefix index (65537 ints): entry p is the number of records whose hash
+ *   starts with a 16-bit prefix below p, so the records of prefix p are
+ *   [index[p], index[p + 1])
+ * - Records (18 bytes each): the remaining 18 bytes of each hash, sorted
+ *
+ * With the full HIBP corpus (about 900 million hashes) a prefix holds about
+ * 14,000 records, so a lookup is one index read and 14 record comparisons.
+ *
+ * Files larger than 2 GB are mapped in segments of {@link #RECORDS_PER_SEGMENT}
+ * records. Instances are immutable and safe for concurrent lookups.
+ *
+ * @author GlobalLogic Development Team
+ * @version 1.0.0
+ * @since Java 11
+ */
+public class BreachedPasswordFile implements Closeable {
+
+    static final int MAGIC = 0x42505746; // "BPWF"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 16;
+    static final int PREFIX_COUNT = 1 << 16;
+    static final int INDEX_SIZE = (PREFIX_COUNT + 1) * Integer.BYTES;
+    static final int RECORDS_OFFSET = HEADER_SIZE + INDEX_SIZE;
+
+    /**
+     * SHA-1 digest length and the bytes stored per record after removing the 2-byte prefix.
+     */
+    static final int HASH_SIZE = 20;
+    static final int RECORD_SIZE = HASH_SIZE - 2;
+
+    /**
+     * Records per mapped segment (just under 1 GB).
+     */
+    static final int RECORDS_PER_SEGMENT = (1 << 30) / RECORD_SIZE;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer index;
+    private final MappedByteBuffer[] segments;
+    private final long recordCount;
+
+    /**
+     * Map an existing breached password file.
+     *
+     * @param path File written by {@link BreachedPasswordFileConverter}
+     * @throws IOException if the file cannot be read
+     * @throws IllegalStateException if the file is not a breached password file or is truncated
+     */
+    public BreachedPasswordFile(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size < RECORDS_OFFSET) {
+                throw new IllegalStateException("Breached password file " + path + " is truncated");
+            }
+            this.index = channel.map(FileChannel.MapMode.READ_ONLY, 0, RECORDS_OFFSET);
+            if (index.getInt(0) != MAGIC || index.getInt(4) != VERSION) {
+                throw new IllegalStateException("Breached password file " + path + " has an incompatible format");
+            }
+            this.recordCount = index.getLong(8);
+            if (size != RECORDS_OFFSET + recordCount * RECORD_SIZE
+                    || index.getInt(HEADER_SIZE + PREFIX_COUNT * Integer.BYTES) != (int) recordCount) {
+                throw new IllegalStateException("Breached password file " + path + " is truncated");
+            }
+
+            int segmentCount = (int) ((recordCount + RECORDS_PER_SEGMENT - 1) / RECORDS_PER_SEGMENT);
+            this.segments = new MappedByteBuffer[segmentCount];
+            for (int i = 0; i < segmentCount; i++) {
+                long first = (long) i * RECORDS_PER_SEGMENT;
+                long records = Math.min(RECORDS_PER_SEGMENT, recordCount - first);
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+                        RECORDS_OFFSET + first * RECORD_SIZE, records * RECORD_SIZE);
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Check whether a SHA-1 hash is in the file.
+     *
+     * @param sha1 The 20-byte SHA-1 digest
+     * @return true if the hash is listed
+     * @throws IllegalArgumentException if the digest is not 20 bytes
+     */
+    public boolean contains(byte[] sha1) {
+        if (sha1.length != HASH_SIZE) {
+            throw new IllegalArgumentException("SHA-1 digest must be " + HASH_SIZE + " bytes");
+        }
+        int prefix = ((sha1[0] & 0xFF) << 8) | (sha1[1] & 0xFF);
+        // Record indices fit in an int: the index entries are ints
+        int low = index.getInt(HEADER_SIZE + prefix * Integer.BYTES);
+        int high = index.getInt(HEADER_SIZE + (prefix + 1) * Integer.BYTES) - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int comparison = compareRecord(middle, sha1);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get the number of hashes in the file.
+     *
+     * @return The record count
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Close the file channel. The mappings are released when garbage collected.
+     *
+     * @throws IOException if the channel cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Compare a record with bytes 2-19 of a hash, as unsigned bytes.
+     */
+    private int compareRecord(int record, byte[] sha1) {
+        ByteBuffer segment = segments[record / RECORDS_PER_SEGMENT];
+        int offset = (record % RECORDS_PER_SEGMENT) * RECORD_SIZE;
+        for (int i = 0; i < RECORD_SIZE; i++) {
+            int difference = (segment.get(offset + i) & 0xFF) - (sha1[i + 2] & 0xFF);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,135 @@
+package com.globallogic.bci.util;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Breached Password File Converter - HIBP Text Dump to Binary Lookup File
+ *
+ * Converts the Have I Been Pwned "SHA-1, ordered by hash" download (lines of
+ * 40 hex characters, optionally followed by ":count") into the binary format
+ * read by {@link BreachedPasswordFile}. The dump is streamed once: records are
+ * appended as they are read while the per-prefix counts are accumulated, and
+ * the header and prefix index are written last.
+ *
+ * The input must be sorted by hash (the HIBP ordered-by-hash download is);
+ * duplicate lines are skipped, out-of-order lines are rejected.
+ *
+ * Usage:
+ * <pre>
+ * ./gradlew convertBreachedPasswords -Pinput=pwned-passwords-sha1-ordered-by-hash-v8.txt -Poutput=data/breached-passwords.bin
+ * </pre>
+ *
+ * @author GlobalLogic Development Team
+ * @version 1.0.0
+ * @since Java 11
+ */
+public final class BreachedPasswordFileConverter {
+
+    private BreachedPasswordFileConverter() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: BreachedPasswordFileConverter <hibp-sha1-ordered-by-hash.txt> <output.bin>");
+            System.exit(2);
+        }
+        long records = convert(Paths.get(args[0]), Paths.get(args[1]));
+        System.out.println("Wrote " + records + " hashes to " + args[1]);
+    }
+
+    /**
+     * Convert a sorted text dump of SHA-1 hashes into a breached password file.
+     *
+     * @param input Text file with one hex SHA-1 hash per line, optionally followed by ":count"
+     * @param output Binary file to write (replaced if it exists)
+     * @return The number of hashes written
+     * @throws IOException if a file cannot be read or written
+     * @throws IllegalArgumentException if a line is malformed or out of order
+     */
+    public static long convert(Path input, Path output) throws IOException {
+        int[] prefixCounts = new int[BreachedPasswordFile.PREFIX_COUNT];
+        long records = 0;
+
+        try (BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.US_ASCII);
+             FileChannel channel = FileChannel.open(output, StandardOpenOption.CREATE,
+                     StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            channel.position(BreachedPasswordFile.RECORDS_OFFSET);
+            OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 20);
+
+            byte[] hash = new byte[BreachedPasswordFile.HASH_SIZE];
+            byte[] previous = null;
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                parseHash(line, hash, lineNumber);
+                if (previous != null) {
+                    int comparison = Arrays.compareUnsigned(previous, hash);
+                    if (comparison == 0) {
+                        continue;
+                    }
+                    if (comparison > 0) {
+                        throw new IllegalArgumentException("Line " + lineNumber + " is not sorted by hash");
+                    }
+                } else {
+                    previous = new byte[BreachedPasswordFile.HASH_SIZE];
+                }
+                if (records == Integer.MAX_VALUE) {
+                    throw new IllegalArgumentException("Too many hashes (at most " + Integer.MAX_VALUE + ")");
+                }
+                prefixCounts[((hash[0] & 0xFF) << 8) | (hash[1] & 0xFF)]++;
+                out.write(hash, 2, BreachedPasswordFile.RECORD_SIZE);
+                System.arraycopy(hash, 0, previous, 0, hash.length);
+                records++;
+            }
+            out.flush();
+
+            ByteBuffer header = ByteBuffer.allocate(BreachedPasswordFile.RECORDS_OFFSET);
+            header.putInt(BreachedPasswordFile.MAGIC);
+            header.putInt(BreachedPasswordFile.VERSION);
+            header.putLong(records);
+            int cumulative = 0;
+            for (int count : prefixCounts) {
+                header.putInt(cumulative);
+                cumulative += count;
+            }
+            header.putInt(cumulative);
+            header.flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+        }
+        return records;
+    }
+
+    private static void parseHash(String line, byte[] hash, long lineNumber) {
+        int end = line.indexOf(':');
+        String hex = (end < 0 ? line : line.substring(0, end)).trim();
+        if (hex.length() != BreachedPasswordFile.HASH_SIZE * 2) {
+            throw new IllegalArgumentException("Line " + lineNumber + " is not a SHA-1 hash");
+        }
+        for (int i = 0; i < hash.length; i++) {
+            int high = Character.digit(hex.charAt(2 * i), 16);
+            int low = Character.digit(hex.charAt(2 * i + 1), 16);
+            if (high < 0 || low < 0) {
+                throw new IllegalArgumentException("Line " + lineNumber + " is not a SHA-1 hash");
+            }
+            hash[i] = (byte) ((high << 4) | low);
+        }
+    }
+}
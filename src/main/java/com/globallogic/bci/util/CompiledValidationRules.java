@@ -0,0 +1,175 @@
+package com.globallogic.bci.util;
+
+/**
+ * Compiled Validation Rules - Single-Pass Email and Password Scanner
+ *
+ * Replaces the regular expressions documented in {@link ValidationUtil} with
+ * hand-compiled scanners: a 128-entry ASCII character-class table plus the
+ * configured thresholds. Each check reads the string once, left to right,
+ * and allocates nothing; any non-ASCII character is rejected on sight,
+ * exactly as the regex character classes reject it.
+ *
+ * Email (equivalent to ^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\.[a-zA-Z]{2,}$):
+ * - Local part: one or more of [a-zA-Z0-9._%+-], up to the single '@'
+ * - Domain: [a-zA-Z0-9.-] only, at least one character before its last dot
+ * - TLD: the characters after the last dot are letters, at least
+ *   emailMinTldLength of them
+ *
+ * Password (equivalent to the password regex plus the character counts):
+ * - Length between passwordMinLength and passwordMaxLength
+ * - ASCII letters and digits only
+ * - Uppercase count between passwordMinUppercase and passwordMaxUppercase,
+ *   at least passwordMinLowercase lowercase letters and passwordMinDigits digits
+ *
+ * Instances are immutable and thread-safe.
+ *
+ * @author GlobalLogic Development Team
+ * @version 1.0.0
+ * @since Java 11
+ */
+final class CompiledValidationRules {
+
+    private static final byte EMAIL_LOCAL = 1;
+    private static final byte EMAIL_DOMAIN = 1 << 1;
+    private static final byte LETTER = 1 << 2;
+    private static final byte UPPERCASE = 1 << 3;
+    private static final byte LOWERCASE = 1 << 4;
+    private static final byte DIGIT = 1 << 5;
+
+    /**
+     * Character classes of the ASCII range; characters >= 128 belong to none.
+     */
+    private static final byte[] CLASSES = new byte[128];
+
+    static {
+        for (char c = 'A'; c <= 'Z'; c++) {
+            CLASSES[c] = EMAIL_LOCAL | EMAIL_DOMAIN | LETTER | UPPERCASE;
+        }
+        for (char c = 'a'; c <= 'z'; c++) {
+            CLASSES[c] = EMAIL_LOCAL | EMAIL_DOMAIN | LETTER | LOWERCASE;
+        }
+        for (char c = '0'; c <= '9'; c++) {
+            CLASSES[c] = EMAIL_LOCAL | EMAIL_DOMAIN | DIGIT;
+        }
+        CLASSES['.'] = EMAIL_LOCAL | EMAIL_DOMAIN;
+        CLASSES['-'] = EMAIL_LOCAL | EMAIL_DOMAIN;
+        CLASSES['_'] = EMAIL_LOCAL;
+        CLASSES['%'] = EMAIL_LOCAL;
+        CLASSES['+'] = EMAIL_LOCAL;
+    }
+
+    private final int emailMinTldLength;
+    private final int passwordMinLength;
+    private final int passwordMaxLength;
+    private final int passwordMinUppercase;
+    private final int passwordMaxUppercase;
+    private final int passwordMinLowercase;
+    private final int passwordMinDigits;
+
+    /**
+     * Compile the rules.
+     *
+     * @param emailMinTldLength Minimum number of letters after the last dot of the domain
+     * @param passwordMinLength Minimum password length
+     * @param passwordMaxLength Maximum password length
+     * @param passwordMinUppercase Minimum number of uppercase letters
+     * @param passwordMaxUppercase Maximum number of uppercase letters
+     * @param passwordMinLowercase Minimum number of lowercase letters
+     * @param passwordMinDigits Minimum number of digits
+     * @throws IllegalArgumentException if a minimum is negative or exceeds its maximum
+     */
+    CompiledValidationRules(int emailMinTldLength,
+                            int passwordMinLength, int passwordMaxLength,
+                            int passwordMinUppercase, int passwordMaxUppercase,
+                            int passwordMinLowercase, int passwordMinDigits) {
+        if (emailMinTldLength < 1 || passwordMinLength < 1 || passwordMinLength > passwordMaxLength
+                || passwordMinUppercase < 0 || passwordMinUppercase > passwordMaxUppercase
+                || passwordMinLowercase < 0 || passwordMinDigits < 0) {
+            throw new IllegalArgumentException("Inconsistent validation rules");
+        }
+        this.emailMinTldLength = emailMinTldLength;
+        this.passwordMinLength = passwordMinLength;
+        this.passwordMaxLength = passwordMaxLength;
+        this.passwordMinUppercase = passwordMinUppercase;
+        this.passwordMaxUppercase = passwordMaxUppercase;
+        this.passwordMinLowercase = passwordMinLowercase;
+        this.passwordMinDigits = passwordMinDigits;
+    }
+
+    /**
+     * Check an email address in a single pass.
+     *
+     * @param email The email address (not null)
+     * @return true if the address is valid
+     */
+    boolean isValidEmail(String email) {
+        int length = email.length();
+        int at = -1;
+        int lastDot = -1;
+        int tldLetters = 0;
+        boolean tldAllLetters = false;
+        for (int i = 0; i < length; i++) {
+            char c = email.charAt(i);
+            if (c >= 128) {
+                return false;
+            }
+            byte classes = CLASSES[c];
+            if (at < 0) {
+                if (c == '@') {
+                    if (i == 0) {
+                        return false;
+                    }
+                    at = i;
+                } else if ((classes & EMAIL_LOCAL) == 0) {
+                    return false;
+                }
+            } else if ((classes & EMAIL_DOMAIN) == 0) {
+                return false;
+            } else if (c == '.') {
+                lastDot = i;
+                tldLetters = 0;
+                tldAllLetters = true;
+            } else if ((classes & LETTER) != 0) {
+                tldLetters++;
+            } else {
+                tldAllLetters = false;
+            }
+        }
+        // At least one domain character before the last dot, then the TLD
+        return lastDot > at + 1 && tldAllLetters && tldLetters >= emailMinTldLength;
+    }
+
+    /**
+     * Check a password in a single pass.
+     *
+     * @param password The password (not null)
+     * @return true if the password meets every rule
+     */
+    boolean isValidPassword(String password) {
+        int length = password.length();
+        if (length < passwordMinLength || length > passwordMaxLength) {
+            return false;
+        }
+        int uppercase = 0;
+        int lowercase = 0;
+        int digits = 0;
+        for (int i = 0; i < length; i++) {
+            char c = password.charAt(i);
+            if (c >= 128) {
+                return false;
+            }
+            byte classes = CLASSES[c];
+            if ((classes & UPPERCASE) != 0) {
+                uppercase++;
+            } else if ((classes & LOWERCASE) != 0) {
+                lowercase++;
+            } else if ((classes & DIGIT) != 0) {
+                digits++;
+            } else {
+                return false;
+            }
+        }
+        return uppercase >= passwordMinUppercase && uppercase <= passwordMaxUppercase
+                && lowercase >= passwordMinLowercase && digits >= passwordMinDigits;
+    }
+}
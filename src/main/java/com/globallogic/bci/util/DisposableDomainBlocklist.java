@@ -0,0 +1,181 @@
+package com.globallogic.bci.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Disposable Domain Blocklist - Hot-Reloaded Check for Throwaway Email Domains
+ *
+ * Rejects sign-ups from disposable email providers listed in a local file
+ * (one domain per line, # for comments, e.g. the disposable-email-domains
+ * project list). Subdomains of a listed domain are rejected as well.
+ *
+ * The list is held in a {@link DisposableDomainIndex}: constant-time,
+ * allocation-free lookups and a small fraction of the heap of a
+ * HashSet<String>. A daemon thread checks the file's modification time and
+ * swaps in a freshly built index when it changes, so the list can be
+ * updated without a restart. Lookups never wait for a reload; a file that
+ * fails to load keeps the previous list in place.
+ *
+ * Configuration (application.properties):
+ * - validation.disposable-domains.path: domain list; empty disables the check
+ * - validation.disposable-domains.reload-interval-seconds: how often the
+ *   file's modification time is checked (0 = never reload)
+ *
+ * @author GlobalLogic Development Team
+ * @version 1.0.0
+ * @since Java 11
+ */
+@Component
+public class DisposableDomainBlocklist {
+
+    private static final Logger logger = LoggerFactory.getLogger(DisposableDomainBlocklist.class);
+
+    /**
+     * The domain list, or null if the check is disabled.
+     */
+    private final Path path;
+
+    /**
+     * Thread polling the domain list for changes, or null if reloading is off.
+     */
+    private final ScheduledExecutorService reloader;
+
+    /**
+     * Current index, replaced as a whole on reload.
+     */
+    private volatile DisposableDomainIndex index;
+
+    /**
+     * Modification time of the file the current index was loaded from.
+     */
+    private volatile FileTime loadedModifiedTime;
+
+    /**
+     * Constructor with configuration injection.
+     *
+     * @param path Domain list, or empty to disable the check
+     * @param reloadIntervalSeconds Seconds between modification checks, or 0 to never reload
+     * @throws IOException if the configured list cannot be read
+     */
+    @Autowired
+    public DisposableDomainBlocklist(@Value("${validation.disposable-domains.path:}") String path,
+                                     @Value("${validation.disposable-domains.reload-interval-seconds:30}") long reloadIntervalSeconds)
+            throws IOException {
+        this(path.isBlank() ? null : Paths.get(path));
+        if (this.path == null) {
+            logger.info("Disposable domain check disabled (validation.disposable-domains.path is empty)");
+            return;
+        }
+        logger.info("Disposable domain check: {} domains in {}", size(), path);
+        if (reloadIntervalSeconds > 0) {
+            reloader.scheduleWithFixedDelay(this::reloadQuietly,
+                    reloadIntervalSeconds, reloadIntervalSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Constructor loading the list once; reloads happen only through
+     * {@link #reloadIfModified()}.
+     *
+     * @param path Domain list, or null to disable the check
+     * @throws IOException if the list cannot be read
+     */
+    DisposableDomainBlocklist(Path path) throws IOException {
+        this.path = path;
+        this.index = DisposableDomainIndex.empty();
+        this.reloader = path == null ? null : Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "disposable-domains-reload");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (path != null) {
+            reloadIfModified();
+        }
+    }
+
+    /**
+     * Create a blocklist that accepts every domain.
+     *
+     * @return A disabled blocklist
+     */
+    public static DisposableDomainBlocklist disabled() {
+        try {
+            return new DisposableDomainBlocklist((Path) null);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Check whether the email's domain, or a parent domain, is a disposable domain.
+     *
+     * @param email The email address
+     * @return true if the domain is listed; false if not, or if the check is disabled
+     */
+    public boolean isDisposable(String email) {
+        return email != null && index.containsDomainOf(email);
+    }
+
+    /**
+     * Get the number of listed domains.
+     *
+     * @return The domain count (0 if disabled)
+     */
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Reload the list if its modification time differs from the loaded one.
+     *
+     * @return true if the list was reloaded
+     * @throws IOException if the file cannot be read; the current list is kept
+     */
+    boolean reloadIfModified() throws IOException {
+        if (path == null) {
+            return false;
+        }
+        FileTime modifiedTime = Files.getLastModifiedTime(path);
+        if (modifiedTime.equals(loadedModifiedTime)) {
+            return false;
+        }
+        index = DisposableDomainIndex.load(path);
+        loadedModifiedTime = modifiedTime;
+        return true;
+    }
+
+    private void reloadQuietly() {
+        try {
+            if (reloadIfModified()) {
+                logger.info("Disposable domain list reloaded: {} domains", size());
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Disposable domain list {} could not be reloaded, keeping {} domains: {}",
+                    path, size(), e.toString());
+        }
+    }
+
+    /**
+     * Stop watching the domain list on shutdown.
+     */
+    @PreDestroy
+    public void close() {
+        if (reloader != null) {
+            reloader.shutdownNow();
+        }
+    }
+}
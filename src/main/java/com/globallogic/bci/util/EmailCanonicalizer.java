@@ -0,0 +1,62 @@
+package com.globallogic.bci.util;
+
+import java.net.IDN;
+import java.util.Locale;
+
+/**
+ * Email Canonicalizer - Normalized Lookup Key for Email Addresses
+ *
+ * Maps every spelling of an address to one canonical form, stored in the
+ * indexed users.email_canonical column and used for every user lookup, so
+ * that "Juan@Example.COM" and "juan@example.com" are the same account
+ * without a lower() in SQL defeating the index.
+ *
+ * Canonical Form:
+ * - Surrounding whitespace removed
+ * - Local part lower-cased (Locale.ROOT, independent of the server locale)
+ * - Domain lower-cased, converted to its ASCII (punycode) form and stripped
+ *   of a trailing dot, so an internationalized domain and its "xn--" form match
+ *
+ * Provider-specific rules (Gmail dots, "+tag" suffixes) are deliberately not
+ * applied: those addresses are distinct mailboxes for other providers.
+ *
+ * @author GlobalLogic Development Team
+ * @version 1.0.0
+ * @since Java 11
+ */
+public final class EmailCanonicalizer {
+
+    private EmailCanonicalizer() {
+    }
+
+    /**
+     * Compute the canonical form of an email address.
+     *
+     * @param email The email address as entered
+     * @return The canonical address, or null if email is null
+     */
+    public static String canonicalize(String email) {
+        if (email == null) {
+            return null;
+        }
+        String address = email.strip();
+        int at = address.lastIndexOf('@');
+        if (at < 0) {
+            return address.toLowerCase(Locale.ROOT);
+        }
+        String localPart = address.substring(0, at).toLowerCase(Locale.ROOT);
+        return localPart + "@" + canonicalizeDomain(address.substring(at + 1));
+    }
+
+    private static String canonicalizeDomain(String domain) {
+        String ascii;
+        try {
+            ascii = IDN.toASCII(domain, IDN.ALLOW_UNASSIGNED);
+        } catch (IllegalArgumentException e) {
+            // Not a valid IDN; keep the name as entered
+            ascii = domain;
+        }
+        ascii = ascii.toLowerCase(Locale.ROOT);
+        return ascii.endsWith(".") ? ascii.substring(0, ascii.length() - 1) : ascii;
+    }
+}
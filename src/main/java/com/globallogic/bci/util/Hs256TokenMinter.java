@@ -0,0 +1,350 @@
+package com.globallogic.bci.util;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+
+/**
+ * HS256 Token Minter - Allocation-Lean JWT Signing for a Fixed Claim Set
+ *
+ * Specialized replacement for the generic JJWT builder on the token issuing
+ * path (every sign-up and every login). The generic builder creates a claims
+ * map, serializes it with Jackson, obtains a fresh {@link Mac} and goes through
+ * several intermediate Base64 strings for every token. This minter knows the
+ * claim set in advance and writes the token straight into per-thread buffers.
+ *
+ * Output Format (byte-compatible with JJWT 0.11.5 + Jackson):
+ * - Header: {"alg":"HS256"}, or {"kid":...,"alg":"HS256"} when a key id is
+ *   given (encoded once at construction time)
+ * - Payload: {"sub":...,"email":...,"iat":...,"exp":...,"jti":...,"typ":...}
+ *   in that order (jti and typ omitted when null)
+ * - Signature: HMAC-SHA256 over "header.payload"
+ * - All segments Base64url without padding
+ *
+ * JSON strings are escaped exactly as Jackson's default generator does:
+ * quote, backslash and control characters are escaped (short forms for
+ * backspace, tab, newline, form feed and carriage return, upper-case
+ * four-digit hex otherwise) and everything else is written as UTF-8.
+ *
+ * Per-Thread State:
+ * - An initialized Mac (Mac instances are not thread-safe)
+ * - A JSON scratch buffer and a token output buffer, grown on demand
+ * The only per-token allocation is the returned String.
+ *
+ * @author GlobalLogic Development Team
+ * @version 1.0.0
+ * @since Java 11
+ */
+public class Hs256TokenMinter {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final int SIGNATURE_LENGTH = 32;
+
+    private static final byte[] BASE64URL = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_"
+            .getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] SUB_PREFIX = ascii("{\"sub\":");
+    private static final byte[] EMAIL_PREFIX = ascii(",\"email\":");
+    private static final byte[] IAT_PREFIX = ascii(",\"iat\":");
+    private static final byte[] EXP_PREFIX = ascii(",\"exp\":");
+    private static final byte[] JTI_PREFIX = ascii(",\"jti\":");
+    private static final byte[] TYP_PREFIX = ascii(",\"typ\":");
+
+    private final SecretKeySpec keySpec;
+    private final byte[] encodedHeader;
+    private final ThreadLocal<Scratch> scratch;
+
+    /**
+     * Create a minter for the given HMAC key without a key id header.
+     *
+     * @param keyBytes Raw HMAC secret (same bytes used by the JJWT SecretKey)
+     * @throws IllegalArgumentException if the key cannot initialize HmacSHA256
+     */
+    public Hs256TokenMinter(byte[] keyBytes) {
+        this(keyBytes, null);
+    }
+
+    /**
+     * Create a minter for the given HMAC key that stamps a kid header.
+     *
+     * @param keyBytes Raw HMAC secret (same bytes used by the JJWT SecretKey)
+     * @param keyId Value of the kid header, or null to omit it
+     * @throws IllegalArgumentException if the key cannot initialize HmacSHA256
+     */
+    public Hs256TokenMinter(byte[] keyBytes, String keyId) {
+        this.keySpec = new SecretKeySpec(keyBytes, HMAC_ALGORITHM);
+        byte[] header;
+        if (keyId == null) {
+            header = ascii("{\"alg\":\"HS256\"}");
+        } else {
+            byte[] buffer = new byte[32 + 6 * keyId.length()];
+            int length = put(ascii("{\"kid\":"), buffer, 0);
+            length = putJsonString(keyId, buffer, length);
+            length = put(ascii(",\"alg\":\"HS256\"}"), buffer, length);
+            header = Arrays.copyOf(buffer, length);
+        }
+        this.encodedHeader = new byte[base64Length(header.length)];
+        base64Url(header, 0, header.length, encodedHeader, 0);
+        this.scratch = ThreadLocal.withInitial(() -> new Scratch(newMac()));
+        newMac(); // fail fast on an unusable key
+    }
+
+    /**
+     * Mint a signed token for the fixed claim set without a token id.
+     *
+     * @param subject Value of the sub claim
+     * @param email Value of the email claim
+     * @param issuedAtSeconds Value of the iat claim (epoch seconds)
+     * @param expirationSeconds Value of the exp claim (epoch seconds)
+     * @return The compact JWS string
+     * @throws IllegalArgumentException if subject or email is null
+     */
+    public String mint(String subject, String email, long issuedAtSeconds, long expirationSeconds) {
+        return mint(subject, email, issuedAtSeconds, expirationSeconds, null);
+    }
+
+    /**
+     * Mint a signed token for the fixed claim set.
+     *
+     * @param subject Value of the sub claim
+     * @param email Value of the email claim
+     * @param issuedAtSeconds Value of the iat claim (epoch seconds)
+     * @param expirationSeconds Value of the exp claim (epoch seconds)
+     * @param tokenId Value of the jti claim, or null to omit it
+     * @return The compact JWS string
+     * @throws IllegalArgumentException if subject or email is null
+     */
+    public String mint(String subject, String email, long issuedAtSeconds, long expirationSeconds, String tokenId) {
+        return mint(subject, email, issuedAtSeconds, expirationSeconds, tokenId, null);
+    }
+
+    /**
+     * Mint a signed token for the fixed claim set with a token type.
+     *
+     * @param subject Value of the sub claim
+     * @param email Value of the email claim
+     * @param issuedAtSeconds Value of the iat claim (epoch seconds)
+     * @param expirationSeconds Value of the exp claim (epoch seconds)
+     * @param tokenId Value of the jti claim, or null to omit it
+     * @param type Value of the typ claim, or null to omit it
+     * @return The compact JWS string
+     * @throws IllegalArgumentException if subject or email is null
+     */
+    public String mint(String subject, String email, long issuedAtSeconds, long expirationSeconds, String tokenId,
+                       String type) {
+        if (subject == null || email == null) {
+            throw new IllegalArgumentException("Token subject and email must not be null");
+        }
+        Scratch s = scratch.get();
+        int tokenIdLength = tokenId == null ? 0 : tokenId.length();
+        int typeLength = type == null ? 0 : type.length();
+
+        // 1. Payload JSON into the scratch buffer
+        byte[] json = s.json(128 + 6 * (subject.length() + email.length() + tokenIdLength + typeLength));
+        int jsonLength = 0;
+        jsonLength = put(SUB_PREFIX, json, jsonLength);
+        jsonLength = putJsonString(subject, json, jsonLength);
+        jsonLength = put(EMAIL_PREFIX, json, jsonLength);
+        jsonLength = putJsonString(email, json, jsonLength);
+        jsonLength = put(IAT_PREFIX, json, jsonLength);
+        jsonLength = putLong(issuedAtSeconds, json, jsonLength);
+        jsonLength = put(EXP_PREFIX, json, jsonLength);
+        jsonLength = putLong(expirationSeconds, json, jsonLength);
+        if (tokenId != null) {
+            jsonLength = put(JTI_PREFIX, json, jsonLength);
+            jsonLength = putJsonString(tokenId, json, jsonLength);
+        }
+        if (type != null) {
+            jsonLength = put(TYP_PREFIX, json, jsonLength);
+            jsonLength = putJsonString(type, json, jsonLength);
+        }
+        json[jsonLength++] = '}';
+
+        // 2. header.payload into the output buffer
+        byte[] out = s.out(encodedHeader.length + 1 + base64Length(jsonLength) + 1 + base64Length(SIGNATURE_LENGTH));
+        int length = put(encodedHeader, out, 0);
+        out[length++] = '.';
+        length = base64Url(json, 0, jsonLength, out, length);
+
+        // 3. Sign the signing input in place and append the signature
+        Mac mac = s.mac;
+        mac.update(out, 0, length);
+        try {
+            mac.doFinal(s.signature, 0);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC signing failed", e);
+        }
+        out[length++] = '.';
+        length = base64Url(s.signature, 0, SIGNATURE_LENGTH, out, length);
+
+        return new String(out, 0, length, StandardCharsets.ISO_8859_1);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(keySpec);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException("Cannot initialize " + HMAC_ALGORITHM + " with the configured key", e);
+        }
+    }
+
+    private static int put(byte[] src, byte[] dst, int offset) {
+        System.arraycopy(src, 0, dst, offset, src.length);
+        return offset + src.length;
+    }
+
+    private static int putLong(long value, byte[] dst, int offset) {
+        if (value == 0) {
+            dst[offset] = '0';
+            return offset + 1;
+        }
+        if (value < 0) {
+            dst[offset++] = '-';
+            if (value == Long.MIN_VALUE) {
+                byte[] min = ascii("9223372036854775808");
+                return put(min, dst, offset);
+            }
+            value = -value;
+        }
+        int digits = 0;
+        for (long v = value; v != 0; v /= 10) {
+            digits++;
+        }
+        int end = offset + digits;
+        for (int i = end - 1; i >= offset; i--) {
+            dst[i] = (byte) ('0' + (value % 10));
+            value /= 10;
+        }
+        return end;
+    }
+
+    private static int putJsonString(String value, byte[] dst, int offset) {
+        dst[offset++] = '"';
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                if (c >= 0x20 && c != '"' && c != '\\') {
+                    dst[offset++] = (byte) c;
+                } else {
+                    offset = putEscape(c, dst, offset);
+                }
+            } else if (c < 0x800) {
+                dst[offset++] = (byte) (0xC0 | (c >> 6));
+                dst[offset++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, value.charAt(++i));
+                dst[offset++] = (byte) (0xF0 | (cp >> 18));
+                dst[offset++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                dst[offset++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                dst[offset++] = (byte) (0x80 | (cp & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                throw new IllegalArgumentException("Unpaired surrogate in token claim");
+            } else {
+                dst[offset++] = (byte) (0xE0 | (c >> 12));
+                dst[offset++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                dst[offset++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        dst[offset++] = '"';
+        return offset;
+    }
+
+    private static int putEscape(char c, byte[] dst, int offset) {
+        dst[offset++] = '\\';
+        switch (c) {
+            case '"':
+            case '\\':
+                dst[offset++] = (byte) c;
+                return offset;
+            case '\b':
+                dst[offset++] = 'b';
+                return offset;
+            case '\t':
+                dst[offset++] = 't';
+                return offset;
+            case '\n':
+                dst[offset++] = 'n';
+                return offset;
+            case '\f':
+                dst[offset++] = 'f';
+                return offset;
+            case '\r':
+                dst[offset++] = 'r';
+                return offset;
+            default:
+                dst[offset++] = 'u';
+                dst[offset++] = '0';
+                dst[offset++] = '0';
+                dst[offset++] = HEX[c >> 4];
+                dst[offset++] = HEX[c & 0xF];
+                return offset;
+        }
+    }
+
+    static int base64Length(int byteLength) {
+        return (byteLength / 3) * 4 + ((byteLength % 3) * 4 + 2) / 3;
+    }
+
+    static int base64Url(byte[] src, int srcOffset, int srcLength, byte[] dst, int dstOffset) {
+        int i = srcOffset;
+        int end = srcOffset + srcLength;
+        int fullGroupsEnd = end - (srcLength % 3);
+        while (i < fullGroupsEnd) {
+            int bits = (src[i++] & 0xFF) << 16 | (src[i++] & 0xFF) << 8 | (src[i++] & 0xFF);
+            dst[dstOffset++] = BASE64URL[(bits >>> 18) & 0x3F];
+            dst[dstOffset++] = BASE64URL[(bits >>> 12) & 0x3F];
+            dst[dstOffset++] = BASE64URL[(bits >>> 6) & 0x3F];
+            dst[dstOffset++] = BASE64URL[bits & 0x3F];
+        }
+        int remaining = end - i;
+        if (remaining == 1) {
+            int bits = (src[i] & 0xFF) << 16;
+            dst[dstOffset++] = BASE64URL[(bits >>> 18) & 0x3F];
+            dst[dstOffset++] = BASE64URL[(bits >>> 12) & 0x3F];
+        } else if (remaining == 2) {
+            int bits = (src[i] & 0xFF) << 16 | (src[i + 1] & 0xFF) << 8;
+            dst[dstOffset++] = BASE64URL[(bits >>> 18) & 0x3F];
+            dst[dstOffset++] = BASE64URL[(bits >>> 12) & 0x3F];
+            dst[dstOffset++] = BASE64URL[(bits >>> 6) & 0x3F];
+        }
+        return dstOffset;
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Per-thread reusable state: Mac plus growable byte buffers.
+     */
+    private static final class Scratch {
+        private final Mac mac;
+        private final byte[] signature = new byte[SIGNATURE_LENGTH];
+        private byte[] json = new byte[256];
+        private byte[] out = new byte[512];
+
+        private Scratch(Mac mac) {
+            this.mac = mac;
+        }
+
+        private byte[] json(int capacity) {
+            if (json.length < capacity) {
+                json = new byte[capacity];
+            }
+            return json;
+        }
+
+        private byte[] out(int capacity) {
+            if (out.length < capacity) {
+                out = new byte[capacity];
+            }
+            return out;
+        }
+    }
+}
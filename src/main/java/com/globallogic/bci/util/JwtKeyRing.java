@@ -0,0 +1,252 @@
+package com.globallogic.bci.util;
+
+import com.globallogic.bci.token.HmacKey;
+import com.globallogic.bci.token.KeyResolver;
+import io.jsonwebtoken.security.Keys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JWT Key Ring - kid-Indexed Signing Keys for Zero-Downtime Secret Rotation
+ *
+ * Holds the current signing key plus any retired keys that must still verify
+ * tokens issued before a rotation. Every token is signed with the current key
+ * and carries its key id in the {@code kid} header, so verification resolves
+ * the right key with a single map lookup instead of trying keys in turn.
+ *
+ * Rotation Procedure:
+ * 1. Move the old secret to jwt.retired-keys as "oldKid:oldSecret@retiredAt",
+ *    retiredAt being the ISO-8601 instant of the rotation
+ *    (e.g. "k1:oldSecret@2024-05-01T10:00:00Z")
+ * 2. Set jwt.secret to the new secret and jwt.kid to a new key id
+ * 3. Restart; existing sessions keep verifying with the retired key
+ * 4. The retired key stops verifying jwt.retired-key-ttl-seconds after
+ *    retiredAt (default: one token lifetime), by which time every token it
+ *    signed has expired anyway. The deadline is part of the configuration,
+ *    so later restarts or new instances do not extend it
+ *
+ * Configuration (application.properties):
+ * - jwt.secret: current signing secret
+ * - jwt.kid: key id stamped on new tokens (default "k1")
+ * - jwt.retired-keys: comma-separated "kid:secret@retiredAt" entries (default none)
+ * - jwt.retired-key-ttl-seconds: how long retired keys keep verifying after retiredAt
+ *
+ * Each entry carries its own {@link Hs256TokenMinter} and {@link HmacKey},
+ * i.e. per-thread precomputed HmacSHA256 instances for signing and
+ * verifying, so rotation adds no per-token cost.
+ * Tokens without a kid header (issued before key ids existed) verify
+ * against the current key.
+ *
+ * @author GlobalLogic Development Team
+ * @version 1.0.0
+ * @since Java 11
+ */
+@Component
+public class JwtKeyRing implements KeyResolver {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtKeyRing.class);
+
+    /**
+     * Key id used when jwt.kid is not configured.
+     */
+    public static final String DEFAULT_KEY_ID = "k1";
+
+    private static final long DEFAULT_RETIRED_KEY_TTL_SECONDS = 86400;
+
+    private final KeyEntry currentKey;
+    private final Map<String, KeyEntry> keysById = new ConcurrentHashMap<>();
+    private final Clock clock;
+
+    /**
+     * Constructor with configuration injection.
+     *
+     * @param secret Current signing secret (minimum 32 characters for HS256)
+     * @param keyId Key id of the current secret
+     * @param retiredKeys Retired keys as "kid:secret@retiredAt" entries
+     * @param retiredKeyTtlSeconds How long retired keys keep verifying after retiredAt
+     * @throws IllegalArgumentException if a secret is too short or an entry is malformed
+     */
+    @Autowired
+    public JwtKeyRing(@Value("${jwt.secret:mySecretKeyForJWTTokenGenerationInBCI12345}") String secret,
+                      @Value("${jwt.kid:" + DEFAULT_KEY_ID + "}") String keyId,
+                      @Value("${jwt.retired-keys:}") String[] retiredKeys,
+                      @Value("${jwt.retired-key-ttl-seconds:" + DEFAULT_RETIRED_KEY_TTL_SECONDS + "}") long retiredKeyTtlSeconds) {
+        this(secret, keyId, retiredKeys, retiredKeyTtlSeconds, Clock.systemUTC());
+    }
+
+    JwtKeyRing(String secret, String keyId, String[] retiredKeys, long retiredKeyTtlSeconds, Clock clock) {
+        this.clock = clock;
+        this.currentKey = new KeyEntry(keyId, secret, Long.MAX_VALUE);
+        keysById.put(keyId, currentKey);
+
+        for (String retired : retiredKeys) {
+            if (retired == null || retired.isBlank()) {
+                continue;
+            }
+            // The secret may itself contain ':' or '@', so split at the first ':' and the last '@'
+            int separator = retired.indexOf(':');
+            int at = retired.lastIndexOf('@');
+            if (separator <= 0 || at <= separator + 1 || at == retired.length() - 1) {
+                throw new IllegalArgumentException("jwt.retired-keys entries must have the form kid:secret@retiredAt");
+            }
+            String retiredId = retired.substring(0, separator).strip();
+            if (keysById.containsKey(retiredId)) {
+                throw new IllegalArgumentException("Duplicate JWT key id: " + retiredId);
+            }
+            Instant retiredAt = parseRetiredAt(retiredId, retired.substring(at + 1).strip());
+            long notAfter = retiredAt.plusSeconds(retiredKeyTtlSeconds).toEpochMilli();
+            if (notAfter <= clock.millis()) {
+                logger.warn("Retired JWT key '{}' expired at {} and is ignored; remove it from jwt.retired-keys",
+                        retiredId, Instant.ofEpochMilli(notAfter));
+                continue;
+            }
+            keysById.put(retiredId, new KeyEntry(retiredId, retired.substring(separator + 1, at), notAfter));
+            logger.info("Retired JWT key '{}' accepted for verification until {}", retiredId, Instant.ofEpochMilli(notAfter));
+        }
+    }
+
+    private static Instant parseRetiredAt(String keyId, String value) {
+        try {
+            return Instant.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Retired JWT key '" + keyId
+                    + "' needs an ISO-8601 retiredAt instant, e.g. 2024-05-01T10:00:00Z", e);
+        }
+    }
+
+    /**
+     * Create a key ring holding a single key with the default key id.
+     *
+     * @param secret Signing secret (minimum 32 characters for HS256)
+     * @return A key ring without retired keys
+     */
+    public static JwtKeyRing single(String secret) {
+        return new JwtKeyRing(secret, DEFAULT_KEY_ID, new String[0], 0, Clock.systemUTC());
+    }
+
+    /**
+     * Get the key used to sign new tokens.
+     *
+     * @return The current key entry
+     */
+    public KeyEntry current() {
+        return currentKey;
+    }
+
+    /**
+     * Resolve the verification key for a token header.
+     * One map lookup; retired keys past their deadline are dropped on access.
+     *
+     * @param keyId The kid header value, or null for tokens issued without one
+     * @return The matching key, or null if the id is unknown or retired
+     */
+    public KeyEntry find(String keyId) {
+        if (keyId == null) {
+            return currentKey;
+        }
+        KeyEntry entry = keysById.get(keyId);
+        if (entry != null && removeIfExpired(entry, clock.millis())) {
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * Get the time at which the key ring next changes, i.e. when the first
+     * of the remaining retired keys stops verifying. A verification result
+     * must not be reused past this time, since the key that produced it may
+     * be gone (see VerifiedTokenCache).
+     *
+     * @return Epoch millis of the next retirement, or Long.MAX_VALUE if no retired key is left
+     */
+    public long nextRetirementMillis() {
+        long now = clock.millis();
+        long next = Long.MAX_VALUE;
+        for (KeyEntry entry : keysById.values()) {
+            if (!removeIfExpired(entry, now)) {
+                next = Math.min(next, entry.notAfterMillis);
+            }
+        }
+        return next;
+    }
+
+    private boolean removeIfExpired(KeyEntry entry, long now) {
+        if (now < entry.notAfterMillis) {
+            return false;
+        }
+        if (keysById.remove(entry.keyId, entry)) {
+            logger.info("Retired JWT key '{}' expired and was removed from the key ring", entry.keyId);
+        }
+        return true;
+    }
+
+    /**
+     * Resolve the verification key for {@link com.globallogic.bci.token.Hs256TokenVerifier}.
+     *
+     * @param keyId The kid header value, or null for tokens issued without one
+     * @return The matching key, or null if the id is unknown or retired
+     */
+    @Override
+    public HmacKey resolve(String keyId) {
+        KeyEntry entry = find(keyId);
+        return entry != null ? entry.getHmacKey() : null;
+    }
+
+    /**
+     * Number of keys currently accepted for verification.
+     *
+     * @return The key count, including the current key
+     */
+    public int size() {
+        return keysById.size();
+    }
+
+    /**
+     * A signing key with its id, JJWT key, minter and verification deadline.
+     */
+    public static final class KeyEntry {
+        private final String keyId;
+        private final SecretKey secretKey;
+        private final Hs256TokenMinter minter;
+        private final HmacKey hmacKey;
+        private final long notAfterMillis;
+
+        private KeyEntry(String keyId, String secret, long notAfterMillis) {
+            this.keyId = keyId;
+            this.secretKey = Keys.hmacShaKeyFor(secret.getBytes());
+            this.minter = new Hs256TokenMinter(secretKey.getEncoded(), keyId);
+            this.hmacKey = new HmacKey(secretKey.getEncoded());
+            this.notAfterMillis = notAfterMillis;
+        }
+
+        public String getKeyId() {
+            return keyId;
+        }
+
+        public SecretKey getSecretKey() {
+            return secretKey;
+        }
+
+        public Hs256TokenMinter getMinter() {
+            return minter;
+        }
+
+        public HmacKey getHmacKey() {
+            return hmacKey;
+        }
+
+        public long getNotAfterMillis() {
+            return notAfterMillis;
+        }
+    }
+}
@@ -1,15 +1,14 @@
 package com.globallogic.bci.util;
 
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
+import com.globallogic.bci.token.Hs256TokenVerifier;
+import com.globallogic.bci.token.TokenVerification;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
-import java.util.Date;
+import java.util.Base64;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * JWT Token Provider - Token Generation and Validation Utility
@@ -20,18 +19,21 @@ import java.util.Date;
  * Token Specifications:
  * - Algorithm: HMAC-SHA256 (HS256)
  * - Expiration: 24 hours (86400 seconds)
- * - Claims: subject (email), email, issued-at, expiration
+ * - Claims: subject (email), email, issued-at, expiration, token id (jti)
+ * - Header: alg plus kid naming the signing key (see JwtKeyRing)
  * - Signature: HMAC with configurable secret key
  *
  * Java 11 Features Used:
  * - LocalDateTime for token timestamp conversion
- * - Modern cryptographic APIs (javax.crypto.SecretKey)
+ * - Modern cryptographic APIs (javax.crypto.SecretKey, java.security.Key)
  * - Stream API for claim extraction
  * - Lambda expressions for token processing
  *
  * JJWT 0.11.5 API Notes:
  * - Uses setSubject(), setIssuedAt(), setExpiration() methods
- * - Parser built with parserBuilder().setSigningKey().build()
+ * - Tokens are minted by Hs256TokenMinter, byte-compatible with Jwts.builder()
+ * - Tokens are verified by Hs256TokenVerifier from the bci-token-verifier
+ *   module, the same code downstream services embed to verify tokens locally
  * - Compatible with Java 11 (unlike 0.13.0 which requires Java 14+)
  *
  * Security Considerations:
@@ -45,73 +47,159 @@ import java.util.Date;
  * @since Java 11
  */
 @Component
-public class JwtTokenProvider {
+public class JwtTokenProvider implements TokenProvider {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtTokenProvider.class);
     
-    /**
-     * Custom claim key for storing user's email in JWT token.
-     * Used for quick email extraction without full token parsing.
-     */
-    private static final String EMAIL_CLAIM = "email";
-    
     /**
      * Token expiration time: 24 hours in milliseconds.
      * Value: 86400000 ms = 86400 seconds = 24 hours
      * Can be made configurable via application.properties
      */
     private static final long TOKEN_EXPIRATION_TIME = 86400000;
+
+    private static final Base64.Encoder TOKEN_ID_ENCODER = Base64.getUrlEncoder().withoutPadding();
     
     /**
-     * HMAC secret key for token signature.
-     * Minimum 256 bits required for HS256 algorithm.
-     * Injected from application.properties or environment variable.
-     * Default key: fallback for development (should be overridden in production)
+     * Signing keys indexed by key id.
+     * New tokens are signed with the current key; verification resolves the
+     * key named by the token's kid header with a single map lookup.
+     */
+    private final JwtKeyRing keyRing;
+
+    /**
+     * Verifier resolving its key from {@link #keyRing}.
+     * Rejects refresh tokens (tokens carrying a typ claim).
+     */
+    private final Hs256TokenVerifier tokenVerifier;
+
+    /**
+     * Optional cache of successful verifications, keyed by token digest.
+     * Disabled unless jwt.cache.enabled=true.
+     */
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    /**
+     * Constructor with JWT secret only (single key, verification cache disabled).
+     *
+     * @param secret JWT signing secret (minimum 32 characters for HS256)
+     * @throws IllegalArgumentException if secret is too short (< 256 bits)
      */
-    private final SecretKey secretKey;
+    public JwtTokenProvider(String secret) {
+        this(JwtKeyRing.single(secret), VerifiedTokenCache.disabled());
+    }
 
     /**
-     * Constructor with dependency injection of JWT secret.
+     * Constructor with JWT secret and verification cache (single key).
      *
      * @param secret JWT signing secret (minimum 32 characters for HS256)
+     * @param verifiedTokenCache Cache of previously verified tokens
      * @throws IllegalArgumentException if secret is too short (< 256 bits)
      */
-    public JwtTokenProvider(@Value("${jwt.secret:mySecretKeyForJWTTokenGenerationInBCI12345}") String secret) {
-        this.secretKey = Keys.hmacShaKeyFor(secret.getBytes());
+    public JwtTokenProvider(String secret, VerifiedTokenCache verifiedTokenCache) {
+        this(JwtKeyRing.single(secret), verifiedTokenCache);
+    }
+
+    /**
+     * Constructor with dependency injection of the key ring and verification cache.
+     *
+     * @param keyRing Current and retired signing keys
+     * @param verifiedTokenCache Cache of previously verified tokens
+     */
+    @Autowired
+    public JwtTokenProvider(JwtKeyRing keyRing, VerifiedTokenCache verifiedTokenCache) {
+        this.keyRing = keyRing;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.tokenVerifier = new Hs256TokenVerifier(keyRing);
     }
 
     /**
      * Generate a JWT token for the given user email.
      *
+     * Signed with the key ring's current key by its {@link Hs256TokenMinter};
+     * the result is byte-for-byte what Jwts.builder() produces for the same
+     * kid header, subject, email, iat, exp and jti.
+     *
      * @param email The user's email to include in the token
      * @return A signed JWT token string
+     * @throws IllegalArgumentException if email is null
      */
+    @Override
     public String generateToken(String email) {
-        Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + TOKEN_EXPIRATION_TIME);
-
-        return Jwts.builder()
-                .setSubject(email)
-                .claim(EMAIL_CLAIM, email)
-                .setIssuedAt(now)
-                .setExpiration(expiryDate)
-                .signWith(secretKey, SignatureAlgorithm.HS256)
-                .compact();
+        long now = System.currentTimeMillis();
+        return keyRing.current().getMinter()
+                .mint(email, email, now / 1000, (now + TOKEN_EXPIRATION_TIME) / 1000, newTokenId());
+    }
+
+    /**
+     * Create a unique token id (jti) used to revoke individual tokens.
+     * 128 random bits from the per-thread generator: the id only has to be
+     * unique, the signature already prevents forgery, so no SecureRandom
+     * contention on the issuing path.
+     *
+     * @return A 22-character Base64url token id
+     */
+    static String newTokenId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        byte[] id = new byte[16];
+        random.nextBytes(id);
+        return TOKEN_ID_ENCODER.encodeToString(id);
+    }
+
+    /**
+     * Verify a JWT token in a single pass.
+     *
+     * The signature is checked and the claims are decoded exactly once; the
+     * result carries either the claims or the reason the token was rejected,
+     * so callers never need to parse the same token a second time.
+     * When the verification cache is enabled, a token that was already
+     * verified is answered from the cache until its expiration, or until
+     * the next retired key leaves the key ring, whichever comes first.
+     *
+     * @param token The JWT token string to verify
+     * @return The verification result (never null)
+     */
+    @Override
+    public TokenVerification verify(String token) {
+        if (token == null || token.isEmpty()) {
+            return TokenVerification.failure(TokenVerification.Status.MALFORMED);
+        }
+        TokenVerification cached = verifiedTokenCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+        TokenVerification verification = parseAndVerify(token);
+        verifiedTokenCache.put(token, verification, keyRing.nextRetirementMillis());
+        return verification;
+    }
+
+    /**
+     * Parse the token and check its signature, expiration and type.
+     * Refresh tokens are rejected: they are signed with the same keys but
+     * must not be usable as access tokens.
+     *
+     * @param token The non-empty JWT token string
+     * @return The verification result
+     */
+    private TokenVerification parseAndVerify(String token) {
+        TokenVerification verification = tokenVerifier.verify(token);
+        if (!verification.isValid()) {
+            logger.debug("Token verification failed: {}", verification.getStatus());
+        }
+        return verification;
     }
 
     /**
      * Extract email from a JWT token.
+     * Goes through {@link #verify(String)}, so the signature, expiration and
+     * type are checked exactly as for login: refresh tokens yield no email.
      *
      * @param token The JWT token string
-     * @return The email extracted from the token
+     * @return The email of a valid access token, or null if the token is not valid
      */
     public String getEmailFromToken(String token) {
-        return (String) Jwts.parserBuilder()
-                .setSigningKey(secretKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .get(EMAIL_CLAIM);
+        TokenVerification verification = verify(token);
+        return verification.isValid() ? verification.getEmail() : null;
     }
 
     /**
@@ -119,19 +207,9 @@ public class JwtTokenProvider {
      *
      * @param token The JWT token string to validate
      * @return true if token is valid, false otherwise
+     * @see #verify(String)
      */
     public boolean validateToken(String token) {
-        try {
-            logger.debug("Validating token: {}", token);
-            Jwts.parserBuilder()
-                    .setSigningKey(secretKey)
-                    .build()
-                    .parseClaimsJws(token);
-            logger.debug("Token validation successful");
-            return true;
-        } catch (Exception e) {
-            logger.error("Token validation failed: {}", e.getMessage());
-            return false;
-        }
+        return verify(token).isValid();
     }
 }
@@ -0,0 +1,324 @@
+package com.globallogic.bci.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Memory-Mapped Session Store - Fixed-Size Hash Table of Opaque Sessions
+ *
+ * Backs the opaque reference-token mode. Each session is keyed by a random
+ * 128-bit token id and resolved with an open-addressing (linear probing)
+ * lookup, so verifying a token is O(1) and involves no cryptography.
+ *
+ * The table lives in a memory-mapped file: sessions survive a restart without
+ * re-issuing tokens, and a cold start simply maps the file back in (pages are
+ * faulted in on demand, no warm-up storm).
+ *
+ * File Layout:
+ * - Header (64 bytes): magic, version, slot count, slot size
+ * - Slots (256 bytes each):
+ *   0   long   token id, high 64 bits
+ *   8   long   token id, low 64 bits
+ *   16  long   expires-at epoch millis (0 = empty, -1 = removed)
+ *   24  long   issued-at epoch millis
+ *   32  short  email length in bytes
+ *   34  bytes  email (UTF-8, at most 222 bytes)
+ *
+ * Expired and removed slots are reused by later inserts, so the table does not
+ * fill up with dead sessions. Those slots never become empty again, so probing
+ * is bounded: a session is always stored within {@link #MAX_PROBES} slots of
+ * its home slot, and a lookup gives up after that many slots. A miss therefore
+ * costs at most MAX_PROBES slot reads however long the store has been in use.
+ *
+ * Concurrency:
+ * - Lookups use StampedLock optimistic reads (no lock acquisition unless a
+ *   write raced with the read)
+ * - Inserts and removals take the write lock
+ *
+ * @author GlobalLogic Development Team
+ * @version 1.0.0
+ * @since Java 11
+ */
+public class MappedSessionStore implements Closeable {
+
+    private static final int MAGIC = 0x42434953; // "BCIS"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+    private static final int SLOT_SIZE = 256;
+
+    private static final int ID_HIGH = 0;
+    private static final int ID_LOW = 8;
+    private static final int EXPIRES_AT = 16;
+    private static final int ISSUED_AT = 24;
+    private static final int EMAIL_LENGTH = 32;
+    private static final int EMAIL = 34;
+
+    /**
+     * Maximum email length in UTF-8 bytes that fits in a slot.
+     */
+    public static final int MAX_EMAIL_BYTES = SLOT_SIZE - EMAIL;
+
+    /**
+     * Largest slot count that fits in a single mapping (1M slots, 256 MB).
+     */
+    public static final int MAX_CAPACITY = 1 << 20;
+
+    /**
+     * Maximum distance, in slots, between a session and its home slot.
+     */
+    public static final int MAX_PROBES = 64;
+
+    private static final long EMPTY = 0L;
+    private static final long REMOVED = -1L;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final int mask;
+    private final int maxProbes;
+    private final StampedLock lock = new StampedLock();
+
+    /**
+     * Open or create a session store file.
+     *
+     * @param path Location of the store file
+     * @param capacity Number of slots (rounded up to a power of two)
+     * @throws IOException if the file cannot be opened or mapped
+     * @throws IllegalStateException if an existing file has a different layout
+     */
+    public MappedSessionStore(Path path, int capacity) throws IOException {
+        if (capacity <= 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Session store capacity out of range: " + capacity);
+        }
+        this.capacity = ceilPowerOfTwo(capacity);
+        this.mask = this.capacity - 1;
+        this.maxProbes = Math.min(this.capacity, MAX_PROBES);
+
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        boolean existing = Files.exists(path) && Files.size(path) > 0;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = HEADER_SIZE + (long) this.capacity * SLOT_SIZE;
+        if (existing && channel.size() != size) {
+            channel.close();
+            throw new IllegalStateException("Session store " + path + " was created with a different capacity");
+        }
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+
+        if (existing) {
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION
+                    || buffer.getInt(8) != this.capacity || buffer.getInt(12) != SLOT_SIZE) {
+                channel.close();
+                throw new IllegalStateException("Session store " + path + " has an incompatible format");
+            }
+        } else {
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            buffer.putInt(8, this.capacity);
+            buffer.putInt(12, SLOT_SIZE);
+        }
+    }
+
+    /**
+     * Store a session.
+     *
+     * @param idHigh High 64 bits of the token id
+     * @param idLow Low 64 bits of the token id
+     * @param email Session email
+     * @param issuedAtMillis Issue time (epoch millis)
+     * @param expiresAtMillis Expiration time (epoch millis)
+     * @param nowMillis Current time, used to recycle expired slots
+     * @throws IllegalArgumentException if the email does not fit in a slot
+     * @throws IllegalStateException if every slot within MAX_PROBES of the home slot holds a live session
+     */
+    public void put(long idHigh, long idLow, String email, long issuedAtMillis, long expiresAtMillis, long nowMillis) {
+        byte[] emailBytes = email.getBytes(StandardCharsets.UTF_8);
+        if (emailBytes.length > MAX_EMAIL_BYTES) {
+            throw new IllegalArgumentException("Email too long for session store");
+        }
+        long stamp = lock.writeLock();
+        try {
+            int index = index(idHigh, idLow);
+            for (int probe = 0; probe < maxProbes; probe++) {
+                int offset = offset((index + probe) & mask);
+                long expiresAt = buffer.getLong(offset + EXPIRES_AT);
+                if (expiresAt == EMPTY || expiresAt == REMOVED || expiresAt <= nowMillis) {
+                    buffer.putLong(offset + ID_HIGH, idHigh);
+                    buffer.putLong(offset + ID_LOW, idLow);
+                    buffer.putLong(offset + ISSUED_AT, issuedAtMillis);
+                    buffer.putShort(offset + EMAIL_LENGTH, (short) emailBytes.length);
+                    for (int i = 0; i < emailBytes.length; i++) {
+                        buffer.put(offset + EMAIL + i, emailBytes[i]);
+                    }
+                    buffer.putLong(offset + EXPIRES_AT, expiresAtMillis);
+                    return;
+                }
+            }
+            throw new IllegalStateException("Session store is full");
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Look up a session.
+     *
+     * @param idHigh High 64 bits of the token id
+     * @param idLow Low 64 bits of the token id
+     * @return The session, or null if the id is unknown or was removed
+     */
+    public Session get(long idHigh, long idLow) {
+        long stamp = lock.tryOptimisticRead();
+        Session session = find(idHigh, idLow);
+        if (lock.validate(stamp)) {
+            return session;
+        }
+        stamp = lock.readLock();
+        try {
+            return find(idHigh, idLow);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Remove a session so its token stops resolving.
+     *
+     * @param idHigh High 64 bits of the token id
+     * @param idLow Low 64 bits of the token id
+     * @return true if a session was removed
+     */
+    public boolean remove(long idHigh, long idLow) {
+        long stamp = lock.writeLock();
+        try {
+            int slot = findSlot(idHigh, idLow);
+            if (slot < 0) {
+                return false;
+            }
+            buffer.putLong(offset(slot) + EXPIRES_AT, REMOVED);
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Flush dirty pages to disk.
+     */
+    public void flush() {
+        buffer.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        channel.close();
+    }
+
+    private Session find(long idHigh, long idLow) {
+        int slot = findSlot(idHigh, idLow);
+        if (slot < 0) {
+            return null;
+        }
+        int offset = offset(slot);
+        int emailLength = buffer.getShort(offset + EMAIL_LENGTH);
+        if (emailLength < 0 || emailLength > MAX_EMAIL_BYTES) {
+            return null; // torn read; the optimistic stamp will fail validation
+        }
+        byte[] emailBytes = new byte[emailLength];
+        for (int i = 0; i < emailLength; i++) {
+            emailBytes[i] = buffer.get(offset + EMAIL + i);
+        }
+        return new Session(new String(emailBytes, StandardCharsets.UTF_8),
+                buffer.getLong(offset + ISSUED_AT),
+                buffer.getLong(offset + EXPIRES_AT));
+    }
+
+    private int findSlot(long idHigh, long idLow) {
+        int probe = probe(idHigh, idLow);
+        return probe < 0 ? -1 : (index(idHigh, idLow) + probe) & mask;
+    }
+
+    /**
+     * Number of slots a lookup of the id reads; exposed for tests.
+     */
+    int probeLength(long idHigh, long idLow) {
+        int probe = probe(idHigh, idLow);
+        return probe < 0 ? -probe - 1 : probe + 1;
+    }
+
+    /**
+     * Scan the probe chain of an id.
+     *
+     * @return The probe distance of the matching slot, or -(slots read) - 1 on a miss
+     */
+    private int probe(long idHigh, long idLow) {
+        int index = index(idHigh, idLow);
+        for (int probe = 0; probe < maxProbes; probe++) {
+            int offset = offset((index + probe) & mask);
+            long expiresAt = buffer.getLong(offset + EXPIRES_AT);
+            if (expiresAt == EMPTY) {
+                return -(probe + 1) - 1;
+            }
+            if (expiresAt != REMOVED
+                    && buffer.getLong(offset + ID_LOW) == idLow
+                    && buffer.getLong(offset + ID_HIGH) == idHigh) {
+                return probe;
+            }
+        }
+        return -maxProbes - 1;
+    }
+
+    private int index(long idHigh, long idLow) {
+        // Token ids are uniformly random, so their low bits are already a good hash
+        return (int) (idLow ^ idHigh) & mask;
+    }
+
+    private static int offset(int slot) {
+        return HEADER_SIZE + slot * SLOT_SIZE;
+    }
+
+    private static int ceilPowerOfTwo(int value) {
+        int highest = Integer.highestOneBit(value);
+        return highest == value ? value : highest << 1;
+    }
+
+    /**
+     * A session read from the store.
+     */
+    public static final class Session {
+        private final String email;
+        private final long issuedAtMillis;
+        private final long expiresAtMillis;
+
+        private Session(String email, long issuedAtMillis, long expiresAtMillis) {
+            this.email = email;
+            this.issuedAtMillis = issuedAtMillis;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public long getIssuedAtMillis() {
+            return issuedAtMillis;
+        }
+
+        public long getExpiresAtMillis() {
+            return expiresAtMillis;
+        }
+    }
+}
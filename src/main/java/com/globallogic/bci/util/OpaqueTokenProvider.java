@@ -0,0 +1,189 @@
+package com.globallogic.bci.util;
+
+import com.globallogic.bci.token.TokenVerification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Paths;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * Opaque Token Provider - Reference Tokens Backed by a Memory-Mapped Session Store
+ *
+ * Alternative to {@link JwtTokenProvider}, enabled with token.mode=opaque.
+ * A token is 128 random bits (22 Base64url characters) that carries no
+ * claims; the email and expiration live in a {@link MappedSessionStore}.
+ * Verifying a token decodes it into two longs and does one hash-table probe,
+ * with no HMAC and no JSON parsing.
+ *
+ * Token Specifications:
+ * - Format: 16 bytes from SecureRandom, Base64url without padding
+ * - Expiration: 24 hours, same as JWT mode
+ * - The token doubles as its own id, so revocation works unchanged
+ *
+ * Configuration (application.properties):
+ * - token.mode: jwt (default) or opaque
+ * - token.opaque.store-path: session store file
+ * - token.opaque.capacity: number of session slots (rounded up to a power of two)
+ *
+ * Trade-offs versus JWT mode:
+ * - Tokens are only valid on instances sharing the store file
+ * - Sessions survive restarts (the file is remapped), but capacity is fixed
+ *
+ * @author GlobalLogic Development Team
+ * @version 1.0.0
+ * @since Java 11
+ */
+@Component
+@Primary
+@ConditionalOnProperty(name = "token.mode", havingValue = "opaque")
+public class OpaqueTokenProvider implements TokenProvider {
+
+    private static final Logger logger = LoggerFactory.getLogger(OpaqueTokenProvider.class);
+
+    /**
+     * Token expiration time: 24 hours in milliseconds.
+     */
+    private static final long TOKEN_EXPIRATION_TIME = 86400000;
+
+    /**
+     * Length of a 16-byte id in unpadded Base64url.
+     */
+    static final int TOKEN_LENGTH = 22;
+
+    private static final Base64.Encoder TOKEN_ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final MappedSessionStore sessionStore;
+    private final Clock clock;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    /**
+     * Constructor with configuration injection.
+     *
+     * @param storePath Session store file
+     * @param capacity Number of session slots
+     * @throws IOException if the store file cannot be opened
+     */
+    @Autowired
+    public OpaqueTokenProvider(@Value("${token.opaque.store-path:data/sessions.db}") String storePath,
+                               @Value("${token.opaque.capacity:65536}") int capacity) throws IOException {
+        this(new MappedSessionStore(Paths.get(storePath), capacity), Clock.systemUTC());
+        logger.info("Opaque token mode: {} session slots in {}", sessionStore.getCapacity(), storePath);
+    }
+
+    OpaqueTokenProvider(MappedSessionStore sessionStore, Clock clock) {
+        this.sessionStore = sessionStore;
+        this.clock = clock;
+    }
+
+    /**
+     * Issue a new opaque token and record its session.
+     *
+     * @param email The user's email
+     * @return A 22-character Base64url token
+     * @throws IllegalArgumentException if email is null or too long for a session slot
+     * @throws IllegalStateException if the session store is full
+     */
+    @Override
+    public String generateToken(String email) {
+        if (email == null) {
+            throw new IllegalArgumentException("Email must not be null");
+        }
+        byte[] id = new byte[16];
+        secureRandom.nextBytes(id);
+        ByteBuffer idBuffer = ByteBuffer.wrap(id);
+        long now = clock.millis();
+        sessionStore.put(idBuffer.getLong(), idBuffer.getLong(), email, now, now + TOKEN_EXPIRATION_TIME, now);
+        return TOKEN_ENCODER.encodeToString(id);
+    }
+
+    /**
+     * Verify an opaque token with a single session store lookup.
+     *
+     * Unknown tokens are reported as {@link TokenVerification.Status#BAD_SIGNATURE}:
+     * like a JWT signed with another key, they are well formed but were not
+     * issued by this service.
+     *
+     * @param token The token string to verify
+     * @return The verification result (never null)
+     */
+    @Override
+    public TokenVerification verify(String token) {
+        if (token == null || token.length() != TOKEN_LENGTH) {
+            return TokenVerification.failure(TokenVerification.Status.MALFORMED);
+        }
+        long high = 0;
+        long low = 0;
+        for (int i = 0; i < TOKEN_LENGTH - 1; i++) {
+            int value = decode(token.charAt(i));
+            if (value < 0) {
+                return TokenVerification.failure(TokenVerification.Status.MALFORMED);
+            }
+            high = (high << 6) | (low >>> 58);
+            low = (low << 6) | value;
+        }
+        // The last character holds the final 2 bits followed by 4 zero padding bits
+        int last = decode(token.charAt(TOKEN_LENGTH - 1));
+        if (last < 0 || (last & 0x0F) != 0) {
+            return TokenVerification.failure(TokenVerification.Status.MALFORMED);
+        }
+        high = (high << 2) | (low >>> 62);
+        low = (low << 2) | (last >>> 4);
+
+        MappedSessionStore.Session session = sessionStore.get(high, low);
+        if (session == null) {
+            logger.debug("Token verification failed: unknown session");
+            return TokenVerification.failure(TokenVerification.Status.BAD_SIGNATURE);
+        }
+        if (session.getExpiresAtMillis() <= clock.millis()) {
+            logger.debug("Token verification failed: session expired");
+            return TokenVerification.failure(TokenVerification.Status.EXPIRED);
+        }
+        return TokenVerification.valid(
+                session.getEmail(),
+                session.getEmail(),
+                new Date(session.getIssuedAtMillis()),
+                new Date(session.getExpiresAtMillis()),
+                token);
+    }
+
+    /**
+     * Flush and unmap the session store on shutdown.
+     *
+     * @throws IOException if the store cannot be closed
+     */
+    @PreDestroy
+    public void close() throws IOException {
+        sessionStore.close();
+    }
+
+    private static int decode(char c) {
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A';
+        }
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a' + 26;
+        }
+        if (c >= '0' && c <= '9') {
+            return c - '0' + 52;
+        }
+        if (c == '-') {
+            return 62;
+        }
+        if (c == '_') {
+            return 63;
+        }
+        return -1;
+    }
+}
@@ -1,25 +1,44 @@
 package com.globallogic.bci.util;
 
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
 /**
- * Password Encryption Utility - BCrypt Password Hashing
+ * Password Encryption Utility - Pluggable Password Hashing
  *
  * Provides secure password encryption and validation using Spring Security's
- * BCryptPasswordEncoder implementation. This utility ensures passwords are never
- * stored in plaintext in the database.
+ * password encoders. This utility ensures passwords are never stored in
+ * plaintext in the database.
+ *
+ * Hashing Engines (see PasswordHashingEngine):
+ * - New hashes use the engine selected by password.hashing.engine
+ *   (bcrypt by default, or pbkdf2, scrypt, argon2)
+ * - Hashes are stored with the engine id as prefix, e.g. "{bcrypt}$2a$10$..."
+ * - Any engine's hashes verify regardless of the selected engine; hashes
+ *   without a prefix (written before engines existed) are verified as BCrypt
  *
  * BCrypt Algorithm Details:
- * - Cost factor (rounds): 10 (default in Spring Security)
- * - Hash length: 60 characters
+ * - Cost factor (rounds): calibrated at startup (see below); 10 without calibration
+ * - Hash length: 60 characters plus prefix, the cost is stored in the hash ($2a$NN$...)
  * - Algorithm: Blowfish cipher
  * - Salt: Generated randomly for each password hash
  *
  * Security Features:
  * - Each password hash is unique even for identical plaintext passwords
  * - Salting prevents rainbow table attacks
- * - Cost factor configurable for future-proofing against hardware improvements
+ * - Cost factor and engine configurable for future-proofing against hardware improvements
  * - Constant-time comparison prevents timing attacks
  *
  * Java 11 Features:
@@ -41,20 +60,175 @@ import org.springframework.stereotype.Component;
  * boolean isValid = passwordEncryptor.validatePassword(plainPassword, encryptedHash);
  * </pre>
  *
+ * Cost Calibration (application.properties):
+ * - password.bcrypt.strength: fixed cost, or 0 to calibrate at startup
+ * - password.bcrypt.target-millis: hashing latency target for calibration
+ * - password.bcrypt.min-cost / max-cost: bounds for the calibrated cost
+ * Calibration picks the strongest cost whose measured hashing time fits the
+ * target (see BCryptCostCalibrator). It only runs when bcrypt is the engine.
+ *
+ * Rehash on Verification:
+ * - verifyPassword(plain, hash, onRehash) re-hashes a matching password whose
+ *   hash uses another engine, has no prefix, or has a lower cost than the
+ *   current one, and hands the new hash to the caller to persist
+ * - Hashes with a higher cost than the current one are never downgraded
+ *
+ * Threading:
+ * - encryptPasswordAsync() hashes on the dedicated password hashing executor
+ *   (see PasswordHashingConfig), keeping hashing off servlet threads
+ * - Instances created with the no-argument constructor hash on the calling
+ *   thread
+ *
  * @author GlobalLogic Development Team
  * @version 1.0.0
  * @since Java 11
- * @see org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder
+ * @see org.springframework.security.crypto.password.DelegatingPasswordEncoder
  */
 @Component
 public class PasswordEncryptor {
 
+    private static final Logger logger = LoggerFactory.getLogger(PasswordEncryptor.class);
+
+    /**
+     * Cost used when no calibrated or configured cost is given
+     * (the Spring Security default).
+     */
+    static final int DEFAULT_STRENGTH = 10;
+
+    /**
+     * Engine of new hashes.
+     */
+    private final PasswordHashingEngine engine;
+
+    /**
+     * BCrypt cost factor of new hashes when {@link #engine} is bcrypt.
+     */
+    private final int strength;
+
     /**
-     * BCrypt password encoder with default configuration.
-     * Cost factor: 10 (recommended balance between security and performance)
-     * Each encoder instance maintains its own random salt.
+     * Encoder hashing with {@link #engine} and verifying hashes of every engine
+     * by their prefix. Each encoder generates a random salt per hash.
      */
-    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    private final PasswordEncoder passwordEncoder;
+
+    /**
+     * Executor running asynchronous hashing tasks.
+     */
+    private final Executor hashingExecutor;
+
+    /**
+     * Constructor hashing on the calling thread with the default cost.
+     */
+    public PasswordEncryptor() {
+        this(Runnable::run);
+    }
+
+    /**
+     * Constructor with the hashing executor and the default cost.
+     *
+     * @param hashingExecutor Executor for asynchronous BCrypt work
+     */
+    public PasswordEncryptor(Executor hashingExecutor) {
+        this(hashingExecutor, DEFAULT_STRENGTH);
+    }
+
+    /**
+     * Constructor with the hashing executor and a fixed BCrypt cost.
+     *
+     * @param hashingExecutor Executor for asynchronous hashing work
+     * @param strength BCrypt cost factor of new hashes (4-31)
+     * @throws IllegalArgumentException if strength is out of range
+     */
+    public PasswordEncryptor(Executor hashingExecutor, int strength) {
+        this(hashingExecutor, PasswordHashingEngine.BCRYPT, strength);
+    }
+
+    /**
+     * Constructor with the hashing executor, engine and BCrypt cost.
+     *
+     * @param hashingExecutor Executor for asynchronous hashing work
+     * @param engine Engine of new hashes
+     * @param strength BCrypt cost factor (4-31), used for new hashes when engine is bcrypt
+     * @throws IllegalArgumentException if strength is out of range
+     */
+    public PasswordEncryptor(Executor hashingExecutor, PasswordHashingEngine engine, int strength) {
+        this.hashingExecutor = hashingExecutor;
+        this.engine = engine;
+        this.strength = strength;
+        this.passwordEncoder = createEncoder(engine, strength);
+    }
+
+    /**
+     * Constructor with dependency injection of the hashing executor, engine and cost settings.
+     *
+     * @param hashingExecutor Bounded executor for hashing work
+     * @param engineId Engine of new hashes (bcrypt, pbkdf2, scrypt or argon2)
+     * @param strength Fixed BCrypt cost, or 0 to calibrate at startup
+     * @param targetMillis Hashing latency target for calibration
+     * @param minCost Lowest calibrated cost
+     * @param maxCost Highest calibrated cost
+     * @throws IllegalArgumentException if the engine is unknown
+     */
+    @Autowired
+    public PasswordEncryptor(@Qualifier("passwordHashingExecutor") Executor hashingExecutor,
+                             @Value("${password.hashing.engine:bcrypt}") String engineId,
+                             @Value("${password.bcrypt.strength:0}") int strength,
+                             @Value("${password.bcrypt.target-millis:100}") long targetMillis,
+                             @Value("${password.bcrypt.min-cost:8}") int minCost,
+                             @Value("${password.bcrypt.max-cost:14}") int maxCost) {
+        this(hashingExecutor, PasswordHashingEngine.fromId(engineId),
+                resolveStrength(PasswordHashingEngine.fromId(engineId), strength, targetMillis, minCost, maxCost));
+        logger.info("Password hashing engine: {}", engine.getId());
+    }
+
+    private static PasswordEncoder createEncoder(PasswordHashingEngine engine, int strength) {
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        for (PasswordHashingEngine candidate : PasswordHashingEngine.values()) {
+            encoders.put(candidate.getId(), candidate.createEncoder(strength));
+        }
+        DelegatingPasswordEncoder delegatingEncoder = new DelegatingPasswordEncoder(engine.getId(), encoders);
+        // Hashes without an {id} prefix predate the engines and are BCrypt
+        delegatingEncoder.setDefaultPasswordEncoderForMatches(encoders.get(PasswordHashingEngine.BCRYPT.getId()));
+        return delegatingEncoder;
+    }
+
+    private static int resolveStrength(PasswordHashingEngine engine, int strength,
+                                       long targetMillis, int minCost, int maxCost) {
+        if (strength > 0) {
+            return strength;
+        }
+        if (engine != PasswordHashingEngine.BCRYPT) {
+            // Only used to verify existing BCrypt hashes; no need to calibrate
+            return DEFAULT_STRENGTH;
+        }
+        return calibrate(targetMillis, minCost, maxCost);
+    }
+
+    private static int calibrate(long targetMillis, int minCost, int maxCost) {
+        long start = System.currentTimeMillis();
+        int cost = new BCryptCostCalibrator().calibrate(targetMillis, minCost, maxCost);
+        logger.info("BCrypt cost calibrated to {} for a {} ms target in {} ms",
+                cost, targetMillis, System.currentTimeMillis() - start);
+        return cost;
+    }
+
+    /**
+     * Get the BCrypt cost factor of new hashes.
+     *
+     * @return The cost factor
+     */
+    public int getStrength() {
+        return strength;
+    }
+
+    /**
+     * Get the engine of new hashes.
+     *
+     * @return The hashing engine
+     */
+    public PasswordHashingEngine getEngine() {
+        return engine;
+    }
 
     /**
      * Encrypt a plain text password using BCrypt hashing algorithm.
@@ -66,7 +240,7 @@ public class PasswordEncryptor {
      * - Slow: intentionally computationally expensive to resist brute force
      *
      * @param password The plain text password to encrypt
-     * @return The BCrypt hash (60 characters, including algorithm marker and salt)
+     * @return The hash prefixed with the engine id, e.g. "{bcrypt}" followed by the BCrypt hash
      * @throws IllegalArgumentException if password is null or empty
      */
     public String encryptPassword(String password) {
@@ -74,7 +248,18 @@ public class PasswordEncryptor {
     }
 
     /**
-     * Verify if a plain text password matches a stored BCrypt hash.
+     * Encrypt a plain text password on the hashing executor.
+     *
+     * @param password The plain text password to encrypt
+     * @return A future completed with the prefixed hash
+     * @throws java.util.concurrent.RejectedExecutionException if the hashing queue is full
+     */
+    public CompletableFuture<String> encryptPasswordAsync(String password) {
+        return CompletableFuture.supplyAsync(() -> encryptPassword(password), hashingExecutor);
+    }
+
+    /**
+     * Verify if a plain text password matches a stored hash of any engine.
      *
      * Security Properties:
      * - Constant-time comparison: prevents timing attack information leakage
@@ -93,4 +278,40 @@ public class PasswordEncryptor {
     public boolean verifyPassword(String plainPassword, String encryptedPassword) {
         return passwordEncoder.matches(plainPassword, encryptedPassword);
     }
+
+    /**
+     * Verify a password and upgrade its hash if it is outdated.
+     *
+     * When the password matches and the stored hash uses another engine, has
+     * no engine prefix or has a BCrypt cost below the current cost, the
+     * password is hashed again and the new hash is passed to onRehash, which
+     * is expected to persist it. The extra hash is only paid once per
+     * outdated account.
+     *
+     * @param plainPassword The plain text password to verify
+     * @param encryptedPassword The stored password hash
+     * @param onRehash Receives the upgraded hash; not called if no upgrade is needed
+     * @return true if password matches the hash, false otherwise
+     */
+    public boolean verifyPassword(String plainPassword, String encryptedPassword, Consumer<String> onRehash) {
+        if (!verifyPassword(plainPassword, encryptedPassword)) {
+            return false;
+        }
+        if (needsRehash(encryptedPassword)) {
+            onRehash.accept(encryptPassword(plainPassword));
+        }
+        return true;
+    }
+
+    /**
+     * Check whether a stored hash should be replaced by one from the current
+     * engine and cost.
+     *
+     * @param encryptedPassword A stored hash
+     * @return true if the hash should be upgraded
+     * @throws IllegalArgumentException if a BCrypt hash is malformed
+     */
+    public boolean needsRehash(String encryptedPassword) {
+        return passwordEncoder.upgradeEncoding(encryptedPassword);
+    }
 }
@@ -0,0 +1,108 @@
+package com.globallogic.bci.util;
+
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import org.springframework.security.crypto.scrypt.SCryptPasswordEncoder;
+
+/**
+ * Password Hashing Engines
+ *
+ * The password hashing algorithms {@link PasswordEncryptor} can hash with.
+ * Stored hashes are prefixed with the engine id in braces (e.g.
+ * "{argon2}$argon2id$..."), so every engine can verify hashes written by the
+ * others and switching engines does not invalidate existing passwords.
+ * Hashes without a prefix predate the engines and are BCrypt.
+ *
+ * Engine Parameters:
+ * - bcrypt: calibrated or configured cost (see PasswordEncryptor)
+ * - pbkdf2: HMAC-SHA256, 310,000 iterations, 256-bit hash
+ * - scrypt: N=16384, r=8, p=1 (16 MiB per hash)
+ * - argon2: Argon2id, 3 iterations, 4 MiB, parallelism 1
+ *
+ * Memory-hard engines (scrypt, argon2) need their memory for every concurrent
+ * hash, so peak memory grows with the password hashing thread count; see
+ * PasswordHashingBenchmark and PasswordHashingConcurrencyBenchmark under
+ * src/jmh for throughput, p99 latency and memory at 1, 4 and N threads.
+ *
+ * Spring Security's scrypt and Argon2 encoders require Bouncy Castle.
+ *
+ * @author GlobalLogic Development Team
+ * @version 1.0.0
+ * @since Java 11
+ */
+public enum PasswordHashingEngine {
+
+    BCRYPT("bcrypt") {
+        @Override
+        public PasswordEncoder createEncoder(int bcryptStrength) {
+            return new BCryptPasswordEncoder(bcryptStrength);
+        }
+    },
+
+    PBKDF2("pbkdf2") {
+        @Override
+        public PasswordEncoder createEncoder(int bcryptStrength) {
+            Pbkdf2PasswordEncoder encoder = new Pbkdf2PasswordEncoder("", PBKDF2_ITERATIONS, PBKDF2_HASH_WIDTH);
+            encoder.setAlgorithm(Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
+            return encoder;
+        }
+    },
+
+    SCRYPT("scrypt") {
+        @Override
+        public PasswordEncoder createEncoder(int bcryptStrength) {
+            return new SCryptPasswordEncoder();
+        }
+    },
+
+    ARGON2("argon2") {
+        @Override
+        public PasswordEncoder createEncoder(int bcryptStrength) {
+            return new Argon2PasswordEncoder();
+        }
+    };
+
+    private static final int PBKDF2_ITERATIONS = 310_000;
+    private static final int PBKDF2_HASH_WIDTH = 256;
+
+    private final String id;
+
+    PasswordHashingEngine(String id) {
+        this.id = id;
+    }
+
+    /**
+     * Get the id stored in braces in front of this engine's hashes.
+     *
+     * @return The engine id
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Create an encoder hashing with this engine.
+     *
+     * @param bcryptStrength BCrypt cost factor (only used by {@link #BCRYPT})
+     * @return A new password encoder
+     */
+    public abstract PasswordEncoder createEncoder(int bcryptStrength);
+
+    /**
+     * Look up an engine by its id.
+     *
+     * @param id Engine id (bcrypt, pbkdf2, scrypt or argon2), case-insensitive
+     * @return The engine
+     * @throws IllegalArgumentException if the id is unknown
+     */
+    public static PasswordHashingEngine fromId(String id) {
+        for (PasswordHashingEngine engine : values()) {
+            if (engine.id.equalsIgnoreCase(id)) {
+                return engine;
+            }
+        }
+        throw new IllegalArgumentException("Unknown password hashing engine: " + id);
+    }
+}
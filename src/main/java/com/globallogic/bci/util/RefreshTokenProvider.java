@@ -0,0 +1,91 @@
+package com.globallogic.bci.util;
+
+import com.globallogic.bci.token.Hs256TokenVerifier;
+import com.globallogic.bci.token.TokenVerification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Refresh Token Provider - Long-Lived Tokens for Renewing Access Tokens
+ *
+ * Refresh tokens let a client obtain a new access token through
+ * POST /tokens/refresh after its access token has expired, without signing
+ * up again. They are HS256 JWTs signed with the same key ring as access
+ * tokens, told apart by a {@code "typ":"refresh"} claim:
+ * - {@link JwtTokenProvider} rejects tokens carrying a typ claim, so a
+ *   refresh token never works as an access token
+ * - this provider rejects tokens without it, so an access token never
+ *   works as a refresh token
+ *
+ * Refresh tokens are JWTs in both token modes; in opaque mode they do not
+ * occupy session store slots.
+ *
+ * Configuration (application.properties):
+ * - token.refresh.ttl-seconds: refresh token lifetime (default 14 days)
+ *
+ * @author GlobalLogic Development Team
+ * @version 1.0.0
+ * @since Java 11
+ */
+@Component
+public class RefreshTokenProvider {
+
+    /**
+     * Value of the typ claim on refresh tokens.
+     */
+    static final String REFRESH_TOKEN_TYPE = "refresh";
+
+    private static final long DEFAULT_TTL_SECONDS = 1209600;
+
+    private final JwtKeyRing keyRing;
+    private final Hs256TokenVerifier tokenVerifier;
+    private final long ttlMillis;
+
+    /**
+     * Constructor with a single secret and the default lifetime.
+     *
+     * @param secret JWT signing secret (minimum 32 characters for HS256)
+     */
+    public RefreshTokenProvider(String secret) {
+        this(JwtKeyRing.single(secret), DEFAULT_TTL_SECONDS);
+    }
+
+    /**
+     * Constructor with dependency injection of the key ring and lifetime.
+     *
+     * @param keyRing Current and retired signing keys
+     * @param ttlSeconds Refresh token lifetime in seconds
+     */
+    @Autowired
+    public RefreshTokenProvider(JwtKeyRing keyRing,
+                                @Value("${token.refresh.ttl-seconds:" + DEFAULT_TTL_SECONDS + "}") long ttlSeconds) {
+        this.keyRing = keyRing;
+        this.ttlMillis = ttlSeconds * 1000L;
+        this.tokenVerifier = new Hs256TokenVerifier(keyRing);
+    }
+
+    /**
+     * Generate a refresh token for the given user email.
+     * Each token has its own jti so it can be revoked when it is used.
+     *
+     * @param email The user's email
+     * @return A signed refresh token
+     * @throws IllegalArgumentException if email is null
+     */
+    public String generateToken(String email) {
+        long now = System.currentTimeMillis();
+        return keyRing.current().getMinter().mint(email, email, now / 1000, (now + ttlMillis) / 1000,
+                JwtTokenProvider.newTokenId(), REFRESH_TOKEN_TYPE);
+    }
+
+    /**
+     * Verify a refresh token in a single pass.
+     *
+     * @param token The refresh token to verify
+     * @return The verification result (never null); access tokens are MALFORMED
+     */
+    public TokenVerification verify(String token) {
+        return tokenVerifier.verify(token, REFRESH_TOKEN_TYPE);
+    }
+}
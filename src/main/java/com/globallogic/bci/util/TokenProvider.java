@@ -0,0 +1,34 @@
+package com.globallogic.bci.util;
+
+import com.globallogic.bci.token.TokenVerification;
+
+/**
+ * Issues and verifies the bearer tokens returned by sign-up and login.
+ *
+ * Two implementations are available, selected with the token.mode property:
+ * - jwt (default): {@link JwtTokenProvider}, self-contained HS256 tokens
+ * - opaque: {@link OpaqueTokenProvider}, random reference tokens resolved
+ *   against a memory-mapped session store
+ *
+ * @author GlobalLogic Development Team
+ * @version 1.0.0
+ * @since Java 11
+ */
+public interface TokenProvider {
+
+    /**
+     * Issue a new token for the given user email.
+     *
+     * @param email The user's email
+     * @return The token string
+     */
+    String generateToken(String email);
+
+    /**
+     * Verify a token in a single pass.
+     *
+     * @param token The token string to verify
+     * @return The verification result (never null)
+     */
+    TokenVerification verify(String token);
+}
@@ -0,0 +1,98 @@
+package com.globallogic.bci.util;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * User Id Generators - Selectable Primary Key Schemes
+ *
+ * Selected with users.id-generator in application.properties. Ids are stored
+ * as BINARY(16) and rendered in the canonical 36-character form by the API.
+ *
+ * Generators:
+ * - UUID_V7 (default): time-ordered UUID version 7 (RFC 9562). The first 48
+ *   bits are the Unix time in milliseconds, so new rows are appended at the
+ *   right edge of the primary key index instead of being scattered over the
+ *   whole B-tree. The 74 random bits come from ThreadLocalRandom: no shared
+ *   SecureRandom to contend for. Ids only need to be unique, not secret.
+ * - RANDOM: UUID.randomUUID() (version 4, SecureRandom), the previous scheme
+ *
+ * See UserIdInsertBenchmark for the insert cost of both schemes.
+ *
+ * @author GlobalLogic Development Team
+ * @version 1.0.0
+ * @since Java 11
+ */
+public enum UserIdGenerator {
+
+    UUID_V7("uuidv7") {
+        @Override
+        public UUID generate() {
+            return uuidV7(System.currentTimeMillis(), ThreadLocalRandom.current());
+        }
+    },
+
+    RANDOM("random") {
+        @Override
+        public UUID generate() {
+            return UUID.randomUUID();
+        }
+    };
+
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT_RFC_4122 = 0x8000000000000000L;
+
+    private final String id;
+
+    UserIdGenerator(String id) {
+        this.id = id;
+    }
+
+    /**
+     * Get the id used to select this generator.
+     *
+     * @return The generator id
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Generate a new user id.
+     *
+     * @return A new UUID
+     */
+    public abstract UUID generate();
+
+    /**
+     * Build a version 7 UUID.
+     *
+     * Layout: 48-bit timestamp | 4-bit version (7) | 12 random bits |
+     * 2-bit variant (10) | 62 random bits.
+     *
+     * @param unixMillis Milliseconds since the epoch
+     * @param random Source of the random bits
+     * @return The UUID
+     */
+    static UUID uuidV7(long unixMillis, ThreadLocalRandom random) {
+        long mostSigBits = (unixMillis << 16) | VERSION_7 | (random.nextInt() & 0x0FFF);
+        long leastSigBits = (random.nextLong() >>> 2) | VARIANT_RFC_4122;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    /**
+     * Look up a generator by its id.
+     *
+     * @param id Generator id (uuidv7 or random), case-insensitive
+     * @return The generator
+     * @throws IllegalArgumentException if the id is unknown
+     */
+    public static UserIdGenerator fromId(String id) {
+        for (UserIdGenerator generator : values()) {
+            if (generator.id.equalsIgnoreCase(id)) {
+                return generator;
+            }
+        }
+        throw new IllegalArgumentException("Unknown user id generator: " + id);
+    }
+}
@@ -1,19 +1,21 @@
 package com.globallogic.bci.util;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 /**
- * Input Validation Utility - Regular Expression-Based Validation
+ * Input Validation Utility - Compiled Single-Pass Validation
  *
  * Provides comprehensive input validation for user registration and authentication.
- * Uses compiled regular expressions for efficient pattern matching suitable for
- * high-throughput microservice environments.
+ * The rules below are specified as regular expressions, but are evaluated by
+ * {@link CompiledValidationRules}: a single-pass, allocation-free character
+ * scanner that makes exactly the same accept/reject decisions (verified by
+ * ValidationEquivalenceTest) without compiling or running a regex per request.
  *
  * Java 11 Features Used:
- * - Pattern compilation and caching for regex efficiency
  * - String enhancement methods (isBlank(), strip())
  * - Lambda expressions for validation chaining
- * - Stream API for batch validation operations
  *
  * Validation Rules:
  *
@@ -35,18 +37,35 @@ import org.springframework.stereotype.Component;
  *    - Examples: Password123, MyPass789, Test1010
  *    - Rejects: password1, PASSWORD2, Pass1 (too short/few digits)
  *
+ * Configuration (application.properties, defaults match the patterns above):
+ * - validation.email.min-tld-length: minimum TLD letters (2)
+ * - validation.password.min-length / max-length: password length (8 / 12)
+ * - validation.password.min-uppercase / max-uppercase: uppercase letters (1 / 1)
+ * - validation.password.min-lowercase: lowercase letters (1)
+ * - validation.password.min-digits: digits (2)
+ *
+ * 3. BREACHED PASSWORD CHECK:
+ *    isBreachedPassword() looks the password's SHA-1 up in a local,
+ *    memory-mapped copy of the Have I Been Pwned corpus (see
+ *    BreachedPasswordChecker); disabled unless validation.breached-passwords.path is set
+ *
+ * 4. DISPOSABLE EMAIL DOMAINS:
+ *    isDisposableEmail() checks the email's domain and its parent domains
+ *    against a hot-reloaded blocklist of throwaway providers (see
+ *    DisposableDomainBlocklist); disabled unless validation.disposable-domains.path is set
+ *
  * Performance Considerations:
- * - Regex compiled once at class loading time
- * - Pattern.matches() vs Matcher for single use
+ * - Rules compiled once at construction into a character-class table
+ * - One pass over the input, no allocation, no regex backtracking
  * - O(n) complexity where n is string length
- * - Suitable for API validation (< 1ms per validation)
+ * - See ValidationBenchmark for the comparison with the regex path
  *
  * Security Considerations:
  * - Prevents common weak passwords
  * - Not a replacement for full password strength testing
  * - Should be combined with:
  *   * Password history (prevent reuse)
- *   * Breach database checking (HaveIBeenPwned API)
+ *   * Breach database checking (isBreachedPassword)
  *   * Rate limiting (prevent brute force)
  *   * Account lockout (after N failed attempts)
  *
@@ -91,7 +110,7 @@ public class ValidationUtil {
      * - user@example (missing TLD)
      * - @example.com (missing local part)
      */
-    private static final String EMAIL_REGEX = "^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}$";
+    static final String EMAIL_REGEX = "^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}$";
     
     /**
      * Password validation regular expression.
@@ -121,16 +140,92 @@ public class ValidationUtil {
      * - Pass123456789 (13 chars - too long)
      * - Pass1@2 (special char not allowed)
      */
-    private static final String PASSWORD_REGEX = "^(?=.*[A-Z])(?=.*[a-z])(?=.{0,}[0-9].*[0-9])[a-zA-Z0-9]{8,12}$";
+    static final String PASSWORD_REGEX = "^(?=.*[A-Z])(?=.*[a-z])(?=.{0,}[0-9].*[0-9])[a-zA-Z0-9]{8,12}$";
+
+    /**
+     * Compiled form of the email and password rules.
+     */
+    private final CompiledValidationRules rules;
+
+    /**
+     * Lookup of known-breached passwords.
+     */
+    private final BreachedPasswordChecker breachedPasswordChecker;
+
+    /**
+     * Blocklist of disposable email domains.
+     */
+    private final DisposableDomainBlocklist disposableDomainBlocklist;
+
+    /**
+     * Constructor with the default rules (the patterns above), no breached
+     * password check and no disposable domain check.
+     */
+    public ValidationUtil() {
+        this(BreachedPasswordChecker.disabled());
+    }
+
+    /**
+     * Constructor with the default rules (the patterns above) and no disposable domain check.
+     *
+     * @param breachedPasswordChecker Lookup of known-breached passwords
+     */
+    public ValidationUtil(BreachedPasswordChecker breachedPasswordChecker) {
+        this(breachedPasswordChecker, DisposableDomainBlocklist.disabled());
+    }
+
+    /**
+     * Constructor with the default rules (the patterns above).
+     *
+     * @param breachedPasswordChecker Lookup of known-breached passwords
+     * @param disposableDomainBlocklist Blocklist of disposable email domains
+     */
+    public ValidationUtil(BreachedPasswordChecker breachedPasswordChecker,
+                          DisposableDomainBlocklist disposableDomainBlocklist) {
+        this(2, 8, 12, 1, 1, 1, 2, breachedPasswordChecker, disposableDomainBlocklist);
+    }
 
     /**
-     * Validate email address format using regex pattern.
+     * Constructor with configuration injection of the rules.
      *
-     * This method checks if the email conforms to standard email format.
+     * @param emailMinTldLength Minimum number of letters in the top-level domain
+     * @param passwordMinLength Minimum password length
+     * @param passwordMaxLength Maximum password length
+     * @param passwordMinUppercase Minimum number of uppercase letters
+     * @param passwordMaxUppercase Maximum number of uppercase letters
+     * @param passwordMinLowercase Minimum number of lowercase letters
+     * @param passwordMinDigits Minimum number of digits
+     * @param breachedPasswordChecker Lookup of known-breached passwords
+     * @param disposableDomainBlocklist Blocklist of disposable email domains
+     * @throws IllegalArgumentException if the rules are inconsistent
+     */
+    @Autowired
+    public ValidationUtil(@Value("${validation.email.min-tld-length:2}") int emailMinTldLength,
+                          @Value("${validation.password.min-length:8}") int passwordMinLength,
+                          @Value("${validation.password.max-length:12}") int passwordMaxLength,
+                          @Value("${validation.password.min-uppercase:1}") int passwordMinUppercase,
+                          @Value("${validation.password.max-uppercase:1}") int passwordMaxUppercase,
+                          @Value("${validation.password.min-lowercase:1}") int passwordMinLowercase,
+                          @Value("${validation.password.min-digits:2}") int passwordMinDigits,
+                          BreachedPasswordChecker breachedPasswordChecker,
+                          DisposableDomainBlocklist disposableDomainBlocklist) {
+        this.rules = new CompiledValidationRules(emailMinTldLength,
+                passwordMinLength, passwordMaxLength,
+                passwordMinUppercase, passwordMaxUppercase,
+                passwordMinLowercase, passwordMinDigits);
+        this.breachedPasswordChecker = breachedPasswordChecker;
+        this.disposableDomainBlocklist = disposableDomainBlocklist;
+    }
+
+    /**
+     * Validate email address format against the email pattern.
+     *
+     * This method checks if the email conforms to standard email format,
+     * in a single pass over the string.
      * Note: This is syntactic validation only - does not verify:
      * - Email account existence (requires SMTP verification)
      * - Domain MX records
-     * - Blacklist status
+     * - Blacklist status (see isDisposableEmail)
      * - Spam score
      *
      * Java 11 Enhancement: Using String.isBlank() would be more appropriate
@@ -141,15 +236,15 @@ public class ValidationUtil {
      * @see #EMAIL_REGEX
      */
     public boolean isValidEmail(String email) {
-        return email != null && email.matches(EMAIL_REGEX);
+        return email != null && rules.isValidEmail(email);
     }
 
     /**
-     * Validate password strength using regex pattern.
+     * Validate password strength in a single pass.
      *
-     * Requirements (via regex):
+     * Requirements (defaults):
      * - Length: 8-12 characters (not 7, not 13+)
-     * - Uppercase: at least 1 letter (A-Z)
+     * - Uppercase: exactly 1 letter (A-Z)
      * - Lowercase: at least 1 letter (a-z)
      * - Digits: at least 2 occurrences (0-9)
      * - Character set: alphanumeric only (a-zA-Z0-9)
@@ -177,34 +272,33 @@ public class ValidationUtil {
      * @see #PASSWORD_REGEX
      */
     public boolean isValidPassword(String password) {
-        if (password == null) {
-            return false;
-        }
-        
-        // Use regex pattern to validate password
-        if (!password.matches(PASSWORD_REGEX)) {
-            return false;
-        }
-
-        // Check for exactly one uppercase letter (additional validation)
-        int uppercaseCount = countUppercaseLetters(password);
-        if (uppercaseCount != 1) {
-            return false;
-        }
-
-        // Check for at least two digits (additional validation)
-        int digitCount = countDigits(password);
-        if (digitCount < 2) {
-            return false;
-        }
+        return password != null && rules.isValidPassword(password);
+    }
 
-        // Check for at least one lowercase letter (additional validation)
-        int lowercaseCount = countLowercaseLetters(password);
-        if (lowercaseCount < 1) {
-            return false;
-        }
+    /**
+     * Check whether a password is known to have appeared in a data breach.
+     *
+     * Offline lookup of the password's SHA-1 in the configured breached
+     * password file; always false when no file is configured.
+     *
+     * @param password The password to check
+     * @return true if the password is listed as breached
+     */
+    public boolean isBreachedPassword(String password) {
+        return breachedPasswordChecker.isBreached(password);
+    }
 
-        return true;
+    /**
+     * Check whether an email address belongs to a disposable email provider.
+     *
+     * The domain and each of its parent domains are looked up in the
+     * configured blocklist; always false when no list is configured.
+     *
+     * @param email The email address to check
+     * @return true if the email's domain is listed as disposable
+     */
+    public boolean isDisposableEmail(String email) {
+        return disposableDomainBlocklist.isDisposable(email);
     }
 
     /**
@@ -215,10 +309,13 @@ public class ValidationUtil {
      */
     public int countUppercaseLetters(String str) {
         if (str == null) return 0;
-        long count = str.chars()
-                .filter(Character::isUpperCase)
-                .count();
-        return (int) count;
+        int count = 0;
+        for (int i = 0; i < str.length(); i++) {
+            if (Character.isUpperCase(str.charAt(i))) {
+                count++;
+            }
+        }
+        return count;
     }
 
     /**
@@ -229,10 +326,13 @@ public class ValidationUtil {
      */
     public int countDigits(String str) {
         if (str == null) return 0;
-        long count = str.chars()
-                .filter(Character::isDigit)
-                .count();
-        return (int) count;
+        int count = 0;
+        for (int i = 0; i < str.length(); i++) {
+            if (Character.isDigit(str.charAt(i))) {
+                count++;
+            }
+        }
+        return count;
     }
 
     /**
@@ -243,9 +343,12 @@ public class ValidationUtil {
      */
     public int countLowercaseLetters(String str) {
         if (str == null) return 0;
-        long count = str.chars()
-                .filter(Character::isLowerCase)
-                .count();
-        return (int) count;
+        int count = 0;
+        for (int i = 0; i < str.length(); i++) {
+            if (Character.isLowerCase(str.charAt(i))) {
+                count++;
+            }
+        }
+        return count;
     }
 }
@@ -0,0 +1,276 @@
+package com.globallogic.bci.util;
+
+import com.globallogic.bci.token.TokenVerification;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Verified Token Cache - Bounded, Expiry-Aware Cache of Verification Results
+ *
+ * Mobile clients present the same bearer token to /login many times before it
+ * expires. Each presentation costs a full HMAC-SHA256 check plus a claims
+ * decode. This cache remembers successful verifications so a repeated token
+ * costs one SHA-256 digest and one hash lookup.
+ *
+ * Cache Design:
+ * - Key: SHA-256 digest of the token (raw tokens are never kept in memory)
+ * - Value: the verified email and expiration ({@link TokenVerification})
+ * - Bounded: LRU eviction once max-size entries are held
+ * - TTL: entries live at most ttl-seconds after being cached
+ * - Expiry-aware: an entry is never served at or after the token's exp claim
+ * - Key-aware: an entry is never served after the next retired signing key
+ *   leaves the key ring (see JwtKeyRing#nextRetirementMillis), so a token
+ *   signed with a dropped key is verified again, and rejected
+ * - Only VALID results are cached; rejected tokens always take the slow path
+ *
+ * Configuration (application.properties):
+ * - jwt.cache.enabled: turn the cache on (default false)
+ * - jwt.cache.max-size: maximum number of entries (default 10000)
+ * - jwt.cache.ttl-seconds: maximum time an entry is trusted (default 300)
+ *
+ * Metrics (Micrometer, see /actuator/metrics):
+ * - jwt.cache.hits / jwt.cache.misses: lookups answered from / past the cache
+ * - jwt.cache.evictions: entries dropped because the cache was full
+ * - jwt.cache.size: entries currently held
+ *
+ * Thread Safety:
+ * - Entries are spread over up to 16 stripes by their digest; each stripe is
+ *   an access-ordered LinkedHashMap guarded by its own monitor, so concurrent
+ *   requests only contend when their tokens land in the same stripe
+ * - Eviction is LRU within a stripe, each holding max-size / stripes entries;
+ *   caches of fewer than 128 entries use a single stripe (exact LRU)
+ * - Hit, miss and eviction counters are LongAdders (no contention on reads)
+ *
+ * @author GlobalLogic Development Team
+ * @version 1.0.0
+ * @since Java 11
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    /**
+     * Upper bound on the number of stripes.
+     */
+    private static final int MAX_STRIPES = 16;
+
+    /**
+     * Smallest stripe capacity; smaller caches use fewer stripes.
+     */
+    private static final int MIN_STRIPE_SIZE = 64;
+
+    private final boolean enabled;
+    private final long ttlMillis;
+    private final Clock clock;
+    private final Map<ByteBuffer, Entry>[] stripes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Constructor with configuration injection.
+     *
+     * @param enabled Whether the cache is active
+     * @param maxSize Maximum number of cached tokens
+     * @param ttlSeconds Maximum time in seconds an entry is trusted
+     * @param meterRegistry Registry for the hit, miss, eviction and size meters
+     */
+    @Autowired
+    public VerifiedTokenCache(@Value("${jwt.cache.enabled:false}") boolean enabled,
+                              @Value("${jwt.cache.max-size:10000}") int maxSize,
+                              @Value("${jwt.cache.ttl-seconds:300}") long ttlSeconds,
+                              MeterRegistry meterRegistry) {
+        this(enabled, maxSize, ttlSeconds, Clock.systemUTC());
+        FunctionCounter.builder("jwt.cache.hits", hits, LongAdder::sum)
+                .description("Token verifications answered from the cache")
+                .register(meterRegistry);
+        FunctionCounter.builder("jwt.cache.misses", misses, LongAdder::sum)
+                .description("Token verifications not found in the cache")
+                .register(meterRegistry);
+        FunctionCounter.builder("jwt.cache.evictions", evictions, LongAdder::sum)
+                .description("Entries evicted because the cache was full")
+                .register(meterRegistry);
+        Gauge.builder("jwt.cache.size", this, VerifiedTokenCache::size)
+                .description("Verified tokens currently cached")
+                .register(meterRegistry);
+    }
+
+    VerifiedTokenCache(boolean enabled, int maxSize, long ttlSeconds, Clock clock) {
+        if (enabled && maxSize <= 0) {
+            throw new IllegalArgumentException("jwt.cache.max-size must be positive");
+        }
+        this.enabled = enabled;
+        this.ttlMillis = ttlSeconds * 1000L;
+        this.clock = clock;
+        int stripeCount = Math.max(1, Math.min(MAX_STRIPES, Integer.highestOneBit(maxSize / MIN_STRIPE_SIZE)));
+        int stripeSize = maxSize / stripeCount;
+        @SuppressWarnings("unchecked")
+        Map<ByteBuffer, Entry>[] stripes = new Map[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new LinkedHashMap<ByteBuffer, Entry>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<ByteBuffer, Entry> eldest) {
+                    if (size() > stripeSize) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+        this.stripes = stripes;
+    }
+
+    /**
+     * Create a cache that never stores anything.
+     * Used when JwtTokenProvider is constructed without Spring.
+     *
+     * @return A disabled cache
+     */
+    public static VerifiedTokenCache disabled() {
+        return new VerifiedTokenCache(false, 0, 0, Clock.systemUTC());
+    }
+
+    /**
+     * Look up a previously verified token.
+     *
+     * @param token The raw token string
+     * @return The cached VALID result, or null on a miss or an expired entry
+     */
+    public TokenVerification get(String token) {
+        if (!enabled) {
+            return null;
+        }
+        ByteBuffer key = digest(token);
+        long now = clock.millis();
+        Map<ByteBuffer, Entry> stripe = stripeFor(key);
+        synchronized (stripe) {
+            Entry entry = stripe.get(key);
+            if (entry != null) {
+                if (now < entry.deadline) {
+                    hits.increment();
+                    return entry.verification;
+                }
+                stripe.remove(key);
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Remember a successful verification.
+     * Results that are not VALID, or that have no expiration, are ignored.
+     *
+     * @param token The raw token string
+     * @param verification The verification result for that token
+     */
+    public void put(String token, TokenVerification verification) {
+        put(token, verification, Long.MAX_VALUE);
+    }
+
+    /**
+     * Remember a successful verification, served at most until notAfterMillis.
+     * Results that are not VALID, or that have no expiration, are ignored.
+     *
+     * @param token The raw token string
+     * @param verification The verification result for that token
+     * @param notAfterMillis Epoch millis after which the result must be verified again,
+     *                       e.g. the next change of the key ring
+     */
+    public void put(String token, TokenVerification verification, long notAfterMillis) {
+        if (!enabled || !verification.isValid() || verification.getExpiration() == null) {
+            return;
+        }
+        long now = clock.millis();
+        long deadline = Math.min(Math.min(verification.getExpiration().getTime(), now + ttlMillis), notAfterMillis);
+        if (deadline <= now) {
+            return;
+        }
+        ByteBuffer key = digest(token);
+        Map<ByteBuffer, Entry> stripe = stripeFor(key);
+        synchronized (stripe) {
+            stripe.put(key, new Entry(verification, deadline));
+        }
+    }
+
+    /**
+     * Drop every cached entry.
+     */
+    public void clear() {
+        for (Map<ByteBuffer, Entry> stripe : stripes) {
+            synchronized (stripe) {
+                stripe.clear();
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Map<ByteBuffer, Entry> stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Pick the stripe of a digest. SHA-256 output is uniform, so its first
+     * bytes spread tokens evenly without further hashing.
+     */
+    private Map<ByteBuffer, Entry> stripeFor(ByteBuffer key) {
+        return stripes[key.getInt(0) & (stripes.length - 1)];
+    }
+
+    private static ByteBuffer digest(String token) {
+        return ByteBuffer.wrap(SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static final class Entry {
+        private final TokenVerification verification;
+        private final long deadline;
+
+        private Entry(TokenVerification verification, long deadline) {
+            this.verification = verification;
+            this.deadline = deadline;
+        }
+    }
+}
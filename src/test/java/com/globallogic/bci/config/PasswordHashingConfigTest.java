@@ -0,0 +1,107 @@
+package com.globallogic.bci.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PasswordHashingConfig
+ */
+@DisplayName("PasswordHashingConfig Tests")
+class PasswordHashingConfigTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ThreadPoolExecutor executor;
+    private CountDownLatch release;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = new PasswordHashingConfig().passwordHashingExecutor(1, 1, meterRegistry);
+        release = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        release.countDown();
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("Should default pool size to available processors")
+    void testDefaultPoolSize() {
+        ThreadPoolExecutor defaultExecutor = new PasswordHashingConfig()
+                .passwordHashingExecutor(0, 10, new SimpleMeterRegistry());
+        try {
+            assertEquals(Runtime.getRuntime().availableProcessors(), defaultExecutor.getCorePoolSize());
+            assertEquals(Runtime.getRuntime().availableProcessors(), defaultExecutor.getMaximumPoolSize());
+        } finally {
+            defaultExecutor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject and count tasks when the queue is full")
+    void testRejectsWhenSaturated() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            awaitRelease();
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        executor.execute(this::awaitRelease);
+
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(this::awaitRelease));
+        assertEquals(1.0, meterRegistry.get("password.hashing.rejected").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should expose queue depth and active count")
+    void testGauges() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            awaitRelease();
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        executor.execute(this::awaitRelease);
+
+        assertEquals(1.0, meterRegistry.get("password.hashing.active").gauge().value());
+        assertEquals(1.0, meterRegistry.get("password.hashing.queue.depth").gauge().value());
+        assertEquals(1.0, meterRegistry.get("password.hashing.pool.size").gauge().value());
+        assertEquals(0.0, meterRegistry.get("password.hashing.rejected").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should publish verification pool metrics under their own prefix")
+    void testVerificationExecutorMetrics() {
+        ThreadPoolExecutor verificationExecutor = new PasswordHashingConfig()
+                .passwordVerificationExecutor(2, 5, meterRegistry);
+        try {
+            assertEquals(2, verificationExecutor.getCorePoolSize());
+            assertEquals(5, verificationExecutor.getQueue().remainingCapacity());
+            assertEquals(0.0, meterRegistry.get("password.verification.queue.depth").gauge().value());
+            assertEquals(0.0, meterRegistry.get("password.verification.rejected").counter().count());
+        } finally {
+            verificationExecutor.shutdown();
+        }
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
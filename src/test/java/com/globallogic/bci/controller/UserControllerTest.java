@@ -1,5 +1,6 @@
 package com.globallogic.bci.controller;
 
+import com.globallogic.bci.dto.LoginRequest;
 import com.globallogic.bci.dto.PhoneDto;
 import com.globallogic.bci.dto.SignUpRequest;
 import com.globallogic.bci.dto.UserResponse;
@@ -8,14 +9,22 @@ import com.globallogic.bci.exception.BadRequestException;
 import com.globallogic.bci.exception.InvalidCredentialsException;
 import com.globallogic.bci.exception.UserAlreadyExistsException;
 import com.globallogic.bci.exception.UserNotFoundException;
+import com.globallogic.bci.repository.UserPhoneRow;
 import com.globallogic.bci.repository.UserRepository;
 import com.globallogic.bci.util.JwtTokenProvider;
 import com.globallogic.bci.util.PasswordEncryptor;
+import com.globallogic.bci.util.RefreshTokenProvider;
+import com.globallogic.bci.token.TokenVerification;
 import com.globallogic.bci.util.ValidationUtil;
+import com.globallogic.bci.service.LastLoginWriter;
+import com.globallogic.bci.service.RegisteredEmailFilter;
+import com.globallogic.bci.service.TokenRevocationService;
 import com.globallogic.bci.service.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Example;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -26,9 +35,11 @@ import org.springframework.http.ResponseEntity;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletionException;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -55,7 +66,11 @@ class UserControllerTest {
         jwtTokenProvider = new MockJwtTokenProvider();
         
         // Create service with dependencies
-        userService = new UserService(userRepository, jwtTokenProvider, passwordEncryptor, validationUtil);
+        userService = new UserService(userRepository, jwtTokenProvider, passwordEncryptor, validationUtil,
+                new RegisteredEmailFilter(1000, 0.01), new LastLoginWriter(userRepository),
+                new TokenRevocationService(1000, 0.01),
+                new RefreshTokenProvider("mySecretKeyForJWTTokenGenerationInBCI12345"), 3600, "uuidv7",
+                Runnable::run, new SimpleMeterRegistry());
         
         // Create controller with service
         userController = new UserController(userService);
@@ -75,7 +90,7 @@ class UserControllerTest {
         jwtTokenProvider.setGenerateTokenResult("token123");
         
         User savedUser = new User();
-        savedUser.setId(UUID.randomUUID().toString());
+        savedUser.setId(UUID.randomUUID());
         savedUser.setEmail("newuser@example.com");
         savedUser.setName("New User");
         savedUser.setCreated(LocalDateTime.now());
@@ -84,7 +99,7 @@ class UserControllerTest {
         userRepository.setSaveResult(savedUser);
 
         // Act
-        ResponseEntity<UserResponse> response = userController.signUp(request);
+        ResponseEntity<UserResponse> response = userController.signUp(request).join();
 
         // Assert
         assertNotNull(response);
@@ -139,9 +154,9 @@ class UserControllerTest {
         userRepository.setFindResult(Optional.of(existingUser));
 
         // Act & Assert
-        assertThrows(UserAlreadyExistsException.class, () -> {
-            userController.signUp(request);
-        });
+        CompletionException exception = assertThrows(CompletionException.class, () ->
+                userController.signUp(request).join());
+        assertTrue(exception.getCause() instanceof UserAlreadyExistsException);
     }
 
     @Test
@@ -154,7 +169,7 @@ class UserControllerTest {
         jwtTokenProvider.setGenerateTokenResult("new_token_456");
 
         User loginUser = new User();
-        loginUser.setId(UUID.randomUUID().toString());
+        loginUser.setId(UUID.randomUUID());
         loginUser.setEmail("user@example.com");
         loginUser.setName("Logged User");
         loginUser.setCreated(LocalDateTime.now());
@@ -230,7 +245,7 @@ class UserControllerTest {
         jwtTokenProvider.setGenerateTokenResult("newToken");
 
         User user = new User();
-        user.setId(UUID.randomUUID().toString());
+        user.setId(UUID.randomUUID());
         user.setEmail("user@example.com");
         user.setName("User");
         user.setCreated(LocalDateTime.now());
@@ -247,11 +262,40 @@ class UserControllerTest {
         assertNotNull(response.getBody());
     }
 
+    @Test
+    @DisplayName("credential login should return 200 OK with user data and tokens")
+    void testCredentialLoginEndpoint() {
+        // Arrange
+        jwtTokenProvider.setGenerateTokenResult("new_token_456");
+
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("user@example.com");
+        user.setName("User");
+        user.setPassword(passwordEncryptor.encryptPassword("Pass123word"));
+        user.setCreated(LocalDateTime.now());
+        user.setLastLogin(LocalDateTime.now());
+        user.setIsActive(true);
+        userRepository.setFindResult(Optional.of(user));
+        userRepository.setSaveResult(user);
+
+        // Act
+        ResponseEntity<UserResponse> response = userController
+                .loginWithCredentials(new LoginRequest("user@example.com", "Pass123word")).join();
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals("new_token_456", response.getBody().getToken());
+        assertNotNull(response.getBody().getRefreshToken());
+    }
+
     // Test Double for UserRepository
     private static class MockUserRepository implements UserRepository {
         private Optional<User> findResult = Optional.empty();
         private User saveResult;
         public boolean saveCalled = false;
+        public boolean updateLastLoginCalled = false;
 
         public void setFindResult(Optional<User> result) {
             this.findResult = result;
@@ -262,12 +306,12 @@ class UserControllerTest {
         }
 
         @Override
-        public Optional<User> findByEmail(String email) {
+        public Optional<User> findByEmailCanonical(String emailCanonical) {
             return findResult;
         }
 
         @Override
-        public boolean existsByEmail(String email) {
+        public boolean existsByEmailCanonical(String emailCanonical) {
             return findResult.isPresent();
         }
 
@@ -277,24 +321,66 @@ class UserControllerTest {
             return saveResult != null ? saveResult : user;
         }
 
+        @Override
+        public List<UserPhoneRow> findLoginRowsByEmailCanonical(String emailCanonical) {
+            return findResult.map(user -> List.of(new UserPhoneRow(user.getId(), user.getName(), user.getEmail(),
+                    user.getPassword(), user.getCreated(), user.getIsActive(), null, null, null))).orElse(List.of());
+        }
+
+        @Override
+        public int updateLastLogin(String emailCanonical, LocalDateTime lastLogin) {
+            updateLastLoginCalled = true;
+            findResult.ifPresent(user -> user.setLastLogin(lastLogin));
+            return findResult.isPresent() ? 1 : 0;
+        }
+
+        @Override
+        public int updatePasswordAndLastLogin(String emailCanonical, String password, LocalDateTime lastLogin) {
+            findResult.ifPresent(user -> {
+                user.setPassword(password);
+                user.setLastLogin(lastLogin);
+            });
+            return findResult.isPresent() ? 1 : 0;
+        }
+
+        @Override
+        public List<User> findByEmailCanonicalIsNullOrderByIdAsc(Pageable pageable) {
+            return new ArrayList<>();
+        }
+
+        @Override
+        public List<User> findByEmailCanonicalIsNullAndIdGreaterThanOrderByIdAsc(UUID id, Pageable pageable) {
+            return new ArrayList<>();
+        }
+
+        @Override
+        public List<String> findEmailCanonicalsIn(Collection<String> emailCanonicals) {
+            return new ArrayList<>();
+        }
+
+        @Override
+        public List<String> findEmailCanonicalsAfter(String after, Pageable pageable) {
+            return new ArrayList<>();
+        }
+
         @Override
         public <S extends User> List<S> saveAll(Iterable<S> entities) { return new ArrayList<>(); }
         @Override
-        public Optional<User> findById(String id) { return Optional.empty(); }
+        public Optional<User> findById(UUID id) { return Optional.empty(); }
         @Override
-        public boolean existsById(String id) { return false; }
+        public boolean existsById(UUID id) { return false; }
         @Override
         public List<User> findAll() { return new ArrayList<>(); }
         @Override
-        public List<User> findAllById(Iterable<String> ids) { return new ArrayList<>(); }
+        public List<User> findAllById(Iterable<UUID> ids) { return new ArrayList<>(); }
         @Override
         public long count() { return 0; }
         @Override
-        public void deleteById(String id) {}
+        public void deleteById(UUID id) {}
         @Override
         public void delete(User entity) {}
         @Override
-        public void deleteAllById(Iterable<? extends String> ids) {}
+        public void deleteAllById(Iterable<? extends UUID> ids) {}
         @Override
         public void deleteAll(Iterable<? extends User> entities) {}
         @Override
@@ -302,7 +388,15 @@ class UserControllerTest {
         @Override
         public void flush() {}
         @Override
-        public <S extends User> S saveAndFlush(S entity) { return entity; }
+        @SuppressWarnings("unchecked")
+        public <S extends User> S saveAndFlush(S entity) {
+            saveCalled = true;
+            if (findResult.isPresent()) {
+                throw new DataIntegrityViolationException("could not execute statement",
+                        new RuntimeException("Unique index or primary key violation: \"PUBLIC.UK_USERS_EMAIL_CANONICAL_INDEX_4\""));
+            }
+            return saveResult != null ? (S) saveResult : entity;
+        }
         @Override
         public <S extends User> List<S> saveAllAndFlush(Iterable<S> entities) { return new ArrayList<>(); }
         @Override
@@ -310,13 +404,13 @@ class UserControllerTest {
         @Override
         public void deleteAllInBatch(Iterable<User> entities) {}
         @Override
-        public void deleteAllByIdInBatch(Iterable<String> ids) {}
+        public void deleteAllByIdInBatch(Iterable<UUID> ids) {}
         @Override
         public void deleteAllInBatch() {}
         @Override
-        public User getById(String id) { return null; }
+        public User getById(UUID id) { return null; }
         @Override
-        public User getOne(String id) { return null; }
+        public User getOne(UUID id) { return null; }
         @Override
         public <S extends User> Optional<S> findOne(Example<S> example) { return Optional.empty(); }
         @Override
@@ -367,6 +461,13 @@ class UserControllerTest {
             return emailFromTokenResult;
         }
 
+        @Override
+        public TokenVerification verify(String token) {
+            return validateTokenResult
+                    ? TokenVerification.valid(emailFromTokenResult, emailFromTokenResult, null, null)
+                    : TokenVerification.failure(TokenVerification.Status.BAD_SIGNATURE);
+        }
+
         @Override
         public String generateToken(String email) {
             return generateTokenResult != null ? generateTokenResult : super.generateToken(email);
@@ -3,6 +3,9 @@ package com.globallogic.bci.exception;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 
+import java.util.Arrays;
+import java.util.Collections;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -24,6 +27,17 @@ class CustomExceptionTest {
         assertEquals("Invalid request", exception.getMessage());
     }
 
+    @Test
+    @DisplayName("BadRequestException should carry every violation")
+    void testBadRequestExceptionMessages() {
+        BadRequestException single = new BadRequestException("Invalid request");
+        BadRequestException multiple = new BadRequestException(Arrays.asList("Invalid email", "Invalid password"));
+
+        assertEquals(Collections.singletonList("Invalid request"), single.getMessages());
+        assertEquals(Arrays.asList("Invalid email", "Invalid password"), multiple.getMessages());
+        assertEquals("Invalid email; Invalid password", multiple.getMessage());
+    }
+
     @Test
     @DisplayName("UserAlreadyExistsException should be throwable")
     void testUserAlreadyExistsException() {
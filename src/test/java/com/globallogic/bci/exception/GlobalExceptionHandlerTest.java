@@ -0,0 +1,58 @@
+package com.globallogic.bci.exception;
+
+import com.globallogic.bci.dto.ErrorDetail;
+import com.globallogic.bci.dto.ErrorResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for GlobalExceptionHandler
+ */
+@DisplayName("GlobalExceptionHandler Tests")
+class GlobalExceptionHandlerTest {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    @Test
+    @DisplayName("Bad request should return one error detail per violation")
+    void testBadRequestWithMultipleViolations() {
+        ResponseEntity<ErrorResponse> response = handler.handleBadRequestException(
+                new BadRequestException(Arrays.asList("Invalid email", "Invalid password")));
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        List<ErrorDetail> details = response.getBody().getError();
+        assertEquals(2, details.size());
+        assertEquals("Invalid email", details.get(0).getDetail());
+        assertEquals("Invalid password", details.get(1).getDetail());
+        assertEquals(400, details.get(1).getCodigo());
+        assertEquals(details.get(0).getTimestamp(), details.get(1).getTimestamp());
+    }
+
+    @Test
+    @DisplayName("Bad request with a single message should return one error detail")
+    void testBadRequestWithSingleMessage() {
+        ResponseEntity<ErrorResponse> response = handler.handleBadRequestException(
+                new BadRequestException("Invalid request"));
+
+        assertEquals(1, response.getBody().getError().size());
+        assertEquals("Invalid request", response.getBody().getError().get(0).getDetail());
+    }
+
+    @Test
+    @DisplayName("Saturated worker pool should return 503")
+    void testRejectedExecution() {
+        ResponseEntity<ErrorResponse> response = handler.handleRejectedExecutionException(
+                new RejectedExecutionException("Queue is full"));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals(503, response.getBody().getError().get(0).getCodigo());
+    }
+}
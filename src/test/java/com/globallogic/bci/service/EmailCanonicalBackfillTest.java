@@ -0,0 +1,186 @@
+package com.globallogic.bci.service;
+
+import com.globallogic.bci.entity.User;
+import com.globallogic.bci.repository.UserRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * EmailCanonicalBackfill against the real users table: batched updates,
+ * conflicts, and the keyset scan over BINARY(16) ids.
+ *
+ * Runs without a test transaction so that the JDBC batches and the
+ * repository queries see each other's committed rows, as at startup.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("EmailCanonicalBackfill Tests")
+class EmailCanonicalBackfillTest {
+
+    /**
+     * Only the JPA layer; the application's component scan would pull in every bean.
+     */
+    @SpringBootConfiguration
+    @EntityScan(basePackageClasses = User.class)
+    @EnableJpaRepositories(basePackageClasses = UserRepository.class)
+    static class JpaConfig {
+    }
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Backfill should fill every legacy row in batches")
+    void testBackfillInBatches() {
+        for (int i = 1; i <= 7; i++) {
+            addLegacyUser(id(i), "User" + i + "@Example.COM");
+        }
+        statistics.clear();
+
+        long updated = backfill(3);
+
+        assertEquals(7, updated);
+        // Per batch: the page and one IN query; the updates go through JDBC
+        assertEquals(6, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityUpdateCount());
+        userRepository.findAll().forEach(user ->
+                assertEquals(user.getEmail().toLowerCase(), user.getEmailCanonical()));
+    }
+
+    @Test
+    @DisplayName("Backfill should skip rows whose canonical email is taken")
+    void testBackfillConflicts() {
+        addLegacyUser(id(2), "juan@example.com");
+        addLegacyUser(id(3), "Juan@Example.com");
+        User current = new User("Ana", "Ana@example.com", "hash");
+        current.setId(id(1));
+        userRepository.save(current);
+        addLegacyUser(id(4), "ANA@example.com");
+        addLegacyUser(id(5), "JUAN@example.com");
+
+        long updated = backfill(2);
+
+        assertEquals(1, updated);
+        assertEquals("juan@example.com", emailCanonical(id(2)));
+        assertNull(emailCanonical(id(3)));
+        assertNull(emailCanonical(id(4)));
+        assertNull(emailCanonical(id(5)));
+    }
+
+    @Test
+    @DisplayName("Backfill should do nothing when every row is filled")
+    void testBackfillNothingToDo() {
+        User user = new User("Ana", "ana@example.com", "hash");
+        user.setId(id(1));
+        userRepository.save(user);
+        statistics.clear();
+
+        assertEquals(0, backfill(10));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("BINARY(16) ids should sort unsigned, byte by byte")
+    void testBinaryIdOrder() {
+        List<UUID> ids = idsAcrossTheSignBit();
+        for (int i = ids.size() - 1; i >= 0; i--) {
+            addLegacyUser(ids.get(i), "order" + i + "@example.com");
+        }
+
+        // Inserted in reverse; each email names the position of its id in the expected order
+        List<UUID> sorted = jdbcTemplate.queryForList("SELECT email FROM users ORDER BY id", String.class).stream()
+                .map(email -> ids.get(Integer.parseInt(email.substring("order".length(), email.indexOf('@')))))
+                .collect(Collectors.toList());
+
+        assertEquals(ids, sorted);
+    }
+
+    @Test
+    @DisplayName("Keyset scan should reach ids on both sides of the sign bit, one row per batch")
+    void testKeysetAcrossTheSignBit() {
+        List<UUID> ids = idsAcrossTheSignBit();
+        for (int i = 0; i < ids.size(); i++) {
+            addLegacyUser(ids.get(i), "key" + i + "@example.com");
+        }
+
+        assertEquals(ids.size(), backfill(1));
+        for (int i = 0; i < ids.size(); i++) {
+            assertEquals("key" + i + "@example.com", emailCanonical(ids.get(i)));
+        }
+    }
+
+    private long backfill(int batchSize) {
+        return new EmailCanonicalBackfill(userRepository, jdbcTemplate, batchSize).backfill();
+    }
+
+    private void addLegacyUser(UUID id, String email) {
+        User user = new User("Legacy", email, "hash");
+        user.setId(id);
+        userRepository.save(user);
+        jdbcTemplate.update("UPDATE users SET email_canonical = NULL WHERE id = ?", LastLoginWriter.toBytes(id));
+    }
+
+    private String emailCanonical(UUID id) {
+        return userRepository.findById(id).orElseThrow().getEmailCanonical();
+    }
+
+    /**
+     * Ids in unsigned byte order, with leading bytes on both sides of 0x80.
+     * Random (version 4) legacy ids start with any byte, so a scan comparing
+     * signed bytes, or starting from a fixed lowest id, would miss some.
+     */
+    private static List<UUID> idsAcrossTheSignBit() {
+        return Arrays.asList(
+                new UUID(0x0000000000000000L, 1L),
+                new UUID(0x0100000000004000L, 0x8000000000000000L),
+                new UUID(0x7fffffffffff4fffL, 0xbfffffffffffffffL),
+                new UUID(0x8000000000004000L, 0x8000000000000000L),
+                new UUID(0xc0ffee0000004000L, 0x8000000000000001L),
+                new UUID(0xffffffffffff4fffL, 0xbfffffffffffffffL));
+    }
+
+    private static UUID id(long n) {
+        return new UUID(0L, n);
+    }
+}
@@ -0,0 +1,136 @@
+package com.globallogic.bci.service;
+
+import com.globallogic.bci.entity.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LastLoginWriter in write-behind mode, against an H2 users table
+ */
+@DisplayName("LastLoginWriter Tests")
+class LastLoginWriterTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 1, 5, 21, 30, 0);
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private LastLoginWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE users (id BINARY(16) PRIMARY KEY, last_login TIMESTAMP)");
+        // Flushes only when a test asks for one, or at the size threshold
+        writer = new LastLoginWriter(jdbcTemplate, 3_600_000, 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        writer.close();
+        database.shutdown();
+    }
+
+    @Test
+    @DisplayName("Repeated logins of one user should coalesce into the latest time")
+    void testCoalescing() {
+        User user = insertUser(null);
+
+        writer.write(user.getId(), user.getEmailCanonical(), T0.plusSeconds(2));
+        writer.write(user.getId(), user.getEmailCanonical(), T0);
+        writer.write(user.getId(), user.getEmailCanonical(), T0.plusSeconds(1));
+
+        assertEquals(1, writer.getPendingCount());
+        assertNull(lastLogin(user), "nothing is written before the flush");
+        assertEquals(1, writer.flush());
+        assertEquals(T0.plusSeconds(2), lastLogin(user));
+        assertEquals(0, writer.getPendingCount());
+    }
+
+    @Test
+    @DisplayName("A late flush should not move last_login backwards")
+    void testNeverBackwards() {
+        User user = insertUser(T0.plusMinutes(5));
+
+        writer.write(user.getId(), user.getEmailCanonical(), T0);
+        writer.flush();
+
+        assertEquals(T0.plusMinutes(5), lastLogin(user));
+    }
+
+    @Test
+    @DisplayName("Reaching max-pending users should trigger a flush")
+    void testSizeThreshold() throws InterruptedException {
+        User[] users = {insertUser(null), insertUser(null), insertUser(null)};
+        for (User user : users) {
+            writer.write(user.getId(), user.getEmailCanonical(), T0);
+        }
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (writer.getPendingCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        for (User user : users) {
+            assertEquals(T0, lastLogin(user));
+        }
+    }
+
+    @Test
+    @DisplayName("Closing should drain pending updates")
+    void testDrainOnClose() {
+        User user = insertUser(null);
+        writer.write(user.getId(), user.getEmailCanonical(), T0);
+
+        writer.close();
+
+        assertEquals(T0, lastLogin(user));
+        assertEquals(0, writer.getPendingCount());
+    }
+
+    @Test
+    @DisplayName("Writing should only queue the update")
+    void testWriteQueues() {
+        User user = insertUser(null);
+
+        assertEquals(1, writer.write(user.getId(), user.getEmailCanonical(), T0));
+
+        assertTrue(writer.isWriteBehind());
+        assertEquals(1, writer.getPendingCount());
+        assertNull(lastLogin(user));
+    }
+
+    private User insertUser(LocalDateTime lastLogin) {
+        User user = new User("Ana", UUID.randomUUID() + "@example.com", "hash");
+        user.setId(UUID.randomUUID());
+        jdbcTemplate.update("INSERT INTO users (id, last_login) VALUES (?, ?)",
+                toBytes(user.getId()), lastLogin != null ? Timestamp.valueOf(lastLogin) : null);
+        return user;
+    }
+
+    private LocalDateTime lastLogin(User user) {
+        Timestamp lastLogin = jdbcTemplate.queryForObject("SELECT last_login FROM users WHERE id = ?",
+                Timestamp.class, (Object) toBytes(user.getId()));
+        return lastLogin != null ? lastLogin.toLocalDateTime() : null;
+    }
+
+    private static byte[] toBytes(UUID id) {
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+}
@@ -0,0 +1,157 @@
+package com.globallogic.bci.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.globallogic.bci.exception.BadRequestException;
+import com.globallogic.bci.util.JwtTokenProvider;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TokenIntrospectionService
+ */
+@DisplayName("TokenIntrospectionService Tests")
+class TokenIntrospectionServiceTest {
+
+    private static final String SECRET = "mySecretKeyForJWTTokenGenerationInBCI12345";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private JwtTokenProvider jwtTokenProvider;
+    private TokenRevocationService tokenRevocationService;
+    private TokenIntrospectionService introspectionService;
+
+    @BeforeEach
+    void setUp() {
+        jwtTokenProvider = new JwtTokenProvider(SECRET);
+        tokenRevocationService = new TokenRevocationService(1000, 0.01);
+        introspectionService = new TokenIntrospectionService(jwtTokenProvider, tokenRevocationService, 1000);
+    }
+
+    private JsonNode introspect(List<String> tokens) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        introspectionService.introspect(tokens, out);
+        return objectMapper.readTree(out.toByteArray());
+    }
+
+    @Test
+    @DisplayName("Valid tokens should report subject and expiry")
+    void testValidToken() throws IOException {
+        String token = jwtTokenProvider.generateToken("user@example.com");
+        long exp = jwtTokenProvider.verify(token).getExpiration().getTime() / 1000;
+
+        JsonNode result = introspect(Collections.singletonList(token)).get(0);
+        assertTrue(result.get("active").asBoolean());
+        assertEquals("user@example.com", result.get("sub").asText());
+        assertEquals(exp, result.get("exp").asLong());
+    }
+
+    @Test
+    @DisplayName("Rejected tokens should report the reason")
+    void testInvalidTokens() throws IOException {
+        String expired = Jwts.builder()
+                .setSubject("user@example.com")
+                .setExpiration(new Date(System.currentTimeMillis() - 1000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .compact();
+        String revoked = jwtTokenProvider.generateToken("user@example.com");
+        tokenRevocationService.revoke(jwtTokenProvider.verify(revoked).getTokenId(), System.currentTimeMillis() + 60000);
+
+        JsonNode results = introspect(Arrays.asList(expired, "not.a.token", revoked));
+        assertEquals(3, results.size());
+        assertEquals("EXPIRED", results.get(0).get("reason").asText());
+        assertEquals("MALFORMED", results.get(1).get("reason").asText());
+        assertEquals("REVOKED", results.get(2).get("reason").asText());
+        for (JsonNode result : results) {
+            assertFalse(result.get("active").asBoolean());
+            assertNull(result.get("sub"));
+        }
+    }
+
+    @Test
+    @DisplayName("Results should keep request order across parallel chunks")
+    void testOrderAcrossChunks() throws IOException {
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < TokenIntrospectionService.CHUNK_SIZE * 2 + 10; i++) {
+            tokens.add(i % 7 == 0 ? "garbage" : jwtTokenProvider.generateToken("user" + i + "@example.com"));
+        }
+
+        JsonNode results = introspect(tokens);
+        assertEquals(tokens.size(), results.size());
+        for (int i = 0; i < tokens.size(); i++) {
+            if (i % 7 == 0) {
+                assertFalse(results.get(i).get("active").asBoolean());
+            } else {
+                assertEquals("user" + i + "@example.com", results.get(i).get("sub").asText());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Empty and oversized batches should be rejected before streaming")
+    void testValidateBatch() {
+        assertThrows(BadRequestException.class, () -> introspectionService.validateBatch(null));
+        assertThrows(BadRequestException.class, () -> introspectionService.validateBatch(Collections.emptyList()));
+        assertThrows(BadRequestException.class,
+                () -> introspectionService.validateBatch(Collections.nCopies(1001, "token")));
+        assertDoesNotThrow(() -> introspectionService.validateBatch(Collections.nCopies(1000, "token")));
+    }
+
+    @Test
+    @DisplayName("Request body should be read in order, skipping other fields")
+    void testReadBatch() throws IOException {
+        List<String> tokens = introspectionService.readBatch(body(
+                "{\"client\":{\"id\":[1,2]},\"tokens\":[\"a.b.c\",null,\"d.e.f\"],\"trace\":true}"));
+
+        assertEquals(Arrays.asList("a.b.c", null, "d.e.f"), tokens);
+    }
+
+    @Test
+    @DisplayName("Malformed, empty and non-string batches should be rejected")
+    void testReadBatchRejected() {
+        for (String json : Arrays.asList("not json", "[\"a.b.c\"]", "{}", "{\"tokens\":[]}",
+                "{\"tokens\":\"a.b.c\"}", "{\"tokens\":[1]}", "{\"tokens\":[\"a.b.c\"")) {
+            assertThrows(BadRequestException.class, () -> introspectionService.readBatch(body(json)), json);
+        }
+    }
+
+    @Test
+    @DisplayName("Oversized batch should be rejected at its first extra token, without reading further")
+    void testReadBatchStopsAtLimit() throws IOException {
+        StringBuilder json = new StringBuilder("{\"tokens\":[");
+        for (int i = 0; i <= 1000; i++) {
+            json.append("\"t").append(i).append("\",");
+        }
+        InputStream unreadable = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Read past the maximum batch size");
+            }
+        };
+
+        assertThrows(BadRequestException.class, () -> introspectionService.readBatch(
+                new SequenceInputStream(body(json.toString()), unreadable)));
+        assertEquals(1000, introspectionService.readBatch(body(
+                json.substring(0, json.lastIndexOf(",\"t1000\"")) + "]}")).size());
+    }
+
+    private static InputStream body(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
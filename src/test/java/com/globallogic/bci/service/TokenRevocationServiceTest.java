@@ -0,0 +1,181 @@
+package com.globallogic.bci.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TokenRevocationService
+ */
+@DisplayName("TokenRevocationService Tests")
+class TokenRevocationServiceTest {
+
+    private static final long HOUR = 3600000L;
+    private static final long DAY = 24 * HOUR;
+
+    private MutableClock clock;
+    private TokenRevocationService revocationService;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(1_700_000_000_000L);
+        revocationService = new TokenRevocationService(1000, 0.01, clock);
+    }
+
+    @Test
+    @DisplayName("Revoked token should be reported until it expires")
+    void testRevokedUntilExpiration() {
+        revocationService.revoke("jti-1", clock.millis() + 2 * HOUR);
+
+        assertTrue(revocationService.isRevoked("jti-1"));
+        assertFalse(revocationService.isRevoked("jti-2"));
+
+        clock.advance(2 * HOUR);
+        assertFalse(revocationService.isRevoked("jti-1"));
+    }
+
+    @Test
+    @DisplayName("Tokens without id should never be revoked")
+    void testNullTokenId() {
+        assertFalse(revocationService.isRevoked(null));
+        assertThrows(IllegalArgumentException.class, () -> revocationService.revoke(null, clock.millis() + HOUR));
+    }
+
+    @Test
+    @DisplayName("Already expired tokens should not be stored")
+    void testExpiredTokenNotStored() {
+        revocationService.revoke("jti-1", clock.millis() - 1);
+        assertEquals(0, revocationService.getRevokedCount());
+    }
+
+    @Test
+    @DisplayName("Revocation should survive a filter rotation for the token lifetime")
+    void testRevocationSurvivesRotation() {
+        clock.advance(DAY - HOUR);
+        revocationService.revoke("jti-1", clock.millis() + DAY);
+
+        // First rotation happens while the token is still alive
+        clock.advance(2 * HOUR);
+        assertTrue(revocationService.isRevoked("jti-1"));
+
+        clock.advance(DAY - 3 * HOUR);
+        assertTrue(revocationService.isRevoked("jti-1"));
+    }
+
+    @Test
+    @DisplayName("Revocation of a 14-day token should survive more than two filter rotations")
+    void testLongLivedRevocationSurvivesRotations() {
+        revocationService.revoke("refresh-jti", clock.millis() + 14 * DAY);
+
+        for (int day = 1; day <= 13; day++) {
+            clock.advance(DAY + HOUR);
+            assertTrue(revocationService.isRevoked("refresh-jti"), "Forgotten after day " + day);
+        }
+        clock.advance(DAY);
+        assertFalse(revocationService.isRevoked("refresh-jti"));
+    }
+
+    @Test
+    @DisplayName("A consumed token should not be consumable again, even after two rotations")
+    void testConsumeOnce() {
+        long expiration = clock.millis() + 14 * DAY;
+
+        assertTrue(revocationService.consume("refresh-jti", expiration));
+        assertFalse(revocationService.consume("refresh-jti", expiration));
+
+        for (int rotation = 0; rotation < 3; rotation++) {
+            clock.advance(DAY + HOUR);
+            assertTrue(revocationService.isRevoked("refresh-jti"));
+        }
+        assertFalse(revocationService.consume("refresh-jti", expiration));
+        assertFalse(revocationService.consume("expired-jti", clock.millis()));
+    }
+
+    @Test
+    @DisplayName("Concurrent consumption of the same token should succeed exactly once")
+    void testConcurrentConsume() throws Exception {
+        long expiration = clock.millis() + 14 * DAY;
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int round = 0; round < 100; round++) {
+                String tokenId = "refresh-jti-" + round;
+                CountDownLatch start = new CountDownLatch(1);
+                Future<?>[] results = new Future<?>[threads];
+                for (int i = 0; i < threads; i++) {
+                    results[i] = executor.submit(() -> {
+                        start.await();
+                        return revocationService.consume(tokenId, expiration);
+                    });
+                }
+                start.countDown();
+                int consumed = 0;
+                for (Future<?> result : results) {
+                    if ((Boolean) result.get(5, TimeUnit.SECONDS)) {
+                        consumed++;
+                    }
+                }
+                assertEquals(1, consumed, "Round " + round);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Expired revocations should be purged so memory stays flat")
+    void testExpiredRevocationsPurged() {
+        for (int i = 0; i < 500; i++) {
+            revocationService.revoke("jti-" + i, clock.millis() + HOUR / 2);
+        }
+        assertEquals(500, revocationService.getRevokedCount());
+
+        clock.advance(HOUR);
+        assertFalse(revocationService.isRevoked("jti-0"));
+        assertEquals(0, revocationService.getRevokedCount());
+    }
+
+    private static final class MutableClock extends Clock {
+        private long millis;
+
+        private MutableClock(long millis) {
+            this.millis = millis;
+        }
+
+        void advance(long delta) {
+            millis += delta;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
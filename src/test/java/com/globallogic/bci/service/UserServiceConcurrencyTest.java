@@ -0,0 +1,261 @@
+package com.globallogic.bci.service;
+
+import com.globallogic.bci.dto.PhoneDto;
+import com.globallogic.bci.dto.SignUpRequest;
+import com.globallogic.bci.dto.UserResponse;
+import com.globallogic.bci.entity.User;
+import com.globallogic.bci.exception.UserAlreadyExistsException;
+import com.globallogic.bci.repository.UserRepository;
+import com.globallogic.bci.util.JwtTokenProvider;
+import com.globallogic.bci.util.PasswordEncryptor;
+import com.globallogic.bci.util.RefreshTokenProvider;
+import com.globallogic.bci.util.ValidationUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sign-up against the real users table: duplicate detection by the unique
+ * constraints, under concurrency, in a single statement; batched phone
+ * inserts; the statements of a token login, immediate and write-behind; and
+ * the registered email filter loaded from it.
+ *
+ * Runs without a test transaction so that concurrent sign-ups commit
+ * independently, exactly as in production.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("UserService Concurrency Tests")
+class UserServiceConcurrencyTest {
+
+    private static final String SECRET = "mySecretKeyForJWTTokenGenerationInBCI12345";
+    private static final int THREADS = 8;
+
+    /**
+     * Only the JPA layer; the application's component scan would pull in every bean.
+     */
+    @SpringBootConfiguration
+    @EntityScan(basePackageClasses = User.class)
+    @EnableJpaRepositories(basePackageClasses = UserRepository.class)
+    static class JpaConfig {
+    }
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private UserService userService;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        userService = newUserService();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Sign-up should insert with a single statement")
+    void testSignUpSingleStatement() {
+        userService.signUp(signUpRequest("single@example.com")).join();
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getEntityInsertCount());
+    }
+
+    @Test
+    @DisplayName("Sign-up with phones should insert them in one batch")
+    void testSignUpPhonesBatched() {
+        // Fetches the first block of phone ids from the sequence
+        userService.signUp(signUpRequest("warmup@example.com", 1)).join();
+        statistics.clear();
+
+        userService.signUp(signUpRequest("phones@example.com", 5)).join();
+
+        // One INSERT for the user, one batched INSERT for its five phones
+        assertEquals(6, statistics.getEntityInsertCount());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Token login should take one query and one UPDATE, without managed entities")
+    void testTokenLoginStatements() {
+        userService.signUp(signUpRequest("login@example.com", 2)).join();
+        String token = new JwtTokenProvider(SECRET).generateToken("login@example.com");
+        statistics.clear();
+
+        UserResponse response = userService.login(token);
+
+        // The user and its phones as rows of one join, then the UPDATE of last_login
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getCollectionLoadCount());
+        assertEquals(0, statistics.getEntityUpdateCount());
+        assertEquals(2, response.getPhones().size());
+        assertNotNull(response.getLastLogin());
+    }
+
+    @Test
+    @DisplayName("Write-behind token login should only query, and write last_login on flush")
+    void testWriteBehindTokenLogin() {
+        userService.signUp(signUpRequest("behind@example.com", 1)).join();
+        LocalDateTime yesterday = LocalDateTime.now().minusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("UPDATE users SET last_login = ?", yesterday);
+        LastLoginWriter writer = new LastLoginWriter(jdbcTemplate, 3_600_000, 1000);
+        UserService writeBehindService = new UserService(userRepository, new JwtTokenProvider(SECRET),
+                new PasswordEncryptor(Runnable::run, 4), new ValidationUtil(),
+                new RegisteredEmailFilter(1000, 0.01), writer, new TokenRevocationService(1000, 0.01),
+                new RefreshTokenProvider(SECRET), 3600, "uuidv7", Runnable::run, new SimpleMeterRegistry());
+        String token = new JwtTokenProvider(SECRET).generateToken("behind@example.com");
+        statistics.clear();
+
+        UserResponse response = writeBehindService.login(token);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertNotNull(response.getLastLogin());
+        assertEquals(1, writer.getPendingCount());
+        assertEquals(yesterday, lastLogin("behind@example.com"));
+
+        // Drains the pending update, matching the user by its BINARY(16) id
+        writer.close();
+
+        assertEquals(0, writer.getPendingCount());
+        assertTrue(lastLogin("behind@example.com").isAfter(yesterday));
+    }
+
+    @Test
+    @DisplayName("Duplicate sign-up, in any case, should fail on the unique constraint")
+    void testDuplicateSignUp() {
+        userService.signUp(signUpRequest("dup@example.com")).join();
+
+        // Another instance, whose filter has not seen the email, relies on the constraint
+        CompletionException exception = assertThrows(CompletionException.class, () ->
+                newUserService().signUp(signUpRequest("Dup@Example.com")).join());
+
+        assertTrue(exception.getCause() instanceof UserAlreadyExistsException);
+        assertThrows(UserAlreadyExistsException.class, () -> userService.signUp(signUpRequest("DUP@example.com")));
+        assertEquals(1, userRepository.count());
+    }
+
+    @Test
+    @DisplayName("Filter should be filled from the users table in batches")
+    void testFilterLoad() {
+        for (int i = 0; i < 5; i++) {
+            userService.signUp(signUpRequest("load" + i + "@example.com")).join();
+        }
+        RegisteredEmailFilter filter = new RegisteredEmailFilter(userRepository, 1000, 0.01, 2, new SimpleMeterRegistry());
+
+        assertEquals(5, filter.load());
+        for (int i = 0; i < 5; i++) {
+            assertTrue(filter.mightContain("load" + i + "@example.com"));
+        }
+        assertFalse(filter.mightContain("absent@example.com"));
+    }
+
+    @Test
+    @DisplayName("Parallel duplicate sign-ups should create exactly one user")
+    void testParallelDuplicateSignUps() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                String email = i % 2 == 0 ? "race@example.com" : "RACE@example.com";
+                results.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        userService.signUp(signUpRequest(email)).join();
+                        return true;
+                    } catch (UserAlreadyExistsException e) {
+                        // Rejected by the filter and lookup after another thread's insert
+                        return false;
+                    } catch (CompletionException e) {
+                        assertTrue(e.getCause() instanceof UserAlreadyExistsException, e.getCause().toString());
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+
+            int created = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get()) {
+                    created++;
+                }
+            }
+
+            assertEquals(1, created);
+            assertEquals(1, userRepository.count());
+            assertTrue(userRepository.findByEmailCanonical("race@example.com").isPresent());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private LocalDateTime lastLogin(String emailCanonical) {
+        return userRepository.findByEmailCanonical(emailCanonical).orElseThrow().getLastLogin();
+    }
+
+    private UserService newUserService() {
+        return new UserService(userRepository, new JwtTokenProvider(SECRET),
+                new PasswordEncryptor(Runnable::run, 4), new ValidationUtil(),
+                new RegisteredEmailFilter(1000, 0.01), new LastLoginWriter(userRepository),
+                new TokenRevocationService(1000, 0.01),
+                new RefreshTokenProvider(SECRET), 3600, "uuidv7", Runnable::run, new SimpleMeterRegistry());
+    }
+
+    private static SignUpRequest signUpRequest(String email) {
+        SignUpRequest request = new SignUpRequest();
+        request.setEmail(email);
+        request.setName("Race");
+        request.setPassword("Pass123word");
+        return request;
+    }
+
+    private static SignUpRequest signUpRequest(String email, int phones) {
+        SignUpRequest request = signUpRequest(email);
+        List<PhoneDto> phoneDtos = new ArrayList<>();
+        for (int i = 0; i < phones; i++) {
+            phoneDtos.add(new PhoneDto(1234567L + i, 1, "57"));
+        }
+        request.setPhones(phoneDtos);
+        return request;
+    }
+}
@@ -0,0 +1,143 @@
+package com.globallogic.bci.service;
+
+import com.globallogic.bci.dto.LoginRequest;
+import com.globallogic.bci.dto.PhoneDto;
+import com.globallogic.bci.dto.SignUpRequest;
+import com.globallogic.bci.dto.UserResponse;
+import com.globallogic.bci.entity.User;
+import com.globallogic.bci.repository.UserRepository;
+import com.globallogic.bci.util.JwtTokenProvider;
+import com.globallogic.bci.util.PasswordEncryptor;
+import com.globallogic.bci.util.RefreshTokenProvider;
+import com.globallogic.bci.util.ValidationUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Credential login against the real users table. The response is built on
+ * the password verification thread, outside any persistence context, from
+ * the rows of one query of the user and its phones.
+ *
+ * Runs without a test transaction so that nothing keeps a persistence
+ * context open for the login, exactly as in production.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("UserService Credential Login Tests")
+class UserServiceCredentialLoginTest {
+
+    private static final String SECRET = "mySecretKeyForJWTTokenGenerationInBCI12345";
+    private static final String PASSWORD = "Pass123word";
+
+    /**
+     * Only the JPA layer; the application's component scan would pull in every bean.
+     */
+    @SpringBootConfiguration
+    @EntityScan(basePackageClasses = User.class)
+    @EnableJpaRepositories(basePackageClasses = UserRepository.class)
+    static class JpaConfig {
+    }
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Credential login should return the phones")
+    void testCredentialLoginWithPhones() {
+        newUserService(4).signUp(signUpRequest("credentials@example.com", 2)).join();
+        String storedHash = storedHash("credentials@example.com");
+        UserService userService = newUserService(4);
+        statistics.clear();
+
+        UserResponse response = userService.login(new LoginRequest("Credentials@example.com", PASSWORD)).join();
+
+        // The user and its phones as rows of one join, then the UPDATE of last_login
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getCollectionLoadCount());
+        assertEquals(2, response.getPhones().size());
+        assertEquals(storedHash, response.getPassword());
+        assertNotNull(response.getLastLogin());
+        assertNotNull(response.getRefreshToken());
+    }
+
+    @Test
+    @DisplayName("Credential login upgrading the hash should return the phones and store the new hash")
+    void testCredentialLoginUpgradesHashWithPhones() {
+        newUserService(4).signUp(signUpRequest("upgrade@example.com", 2)).join();
+        String oldHash = storedHash("upgrade@example.com");
+        UserService strongerService = newUserService(5);
+        statistics.clear();
+
+        UserResponse response = strongerService.login(new LoginRequest("upgrade@example.com", PASSWORD)).join();
+
+        // The join, then one UPDATE of password and last_login
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getCollectionLoadCount());
+        assertEquals(2, response.getPhones().size());
+        String newHash = storedHash("upgrade@example.com");
+        assertNotEquals(oldHash, newHash);
+        assertEquals(newHash, response.getPassword());
+        assertEquals(2, strongerService.login(new LoginRequest("upgrade@example.com", PASSWORD)).join()
+                .getPhones().size());
+    }
+
+    private String storedHash(String email) {
+        return userRepository.findByEmailCanonical(email).orElseThrow().getPassword();
+    }
+
+    private UserService newUserService(int bcryptCost) {
+        return new UserService(userRepository, new JwtTokenProvider(SECRET),
+                new PasswordEncryptor(Runnable::run, bcryptCost), new ValidationUtil(),
+                new RegisteredEmailFilter(1000, 0.01), new LastLoginWriter(userRepository),
+                new TokenRevocationService(1000, 0.01),
+                new RefreshTokenProvider(SECRET), 3600, "uuidv7", Runnable::run, new SimpleMeterRegistry());
+    }
+
+    private static SignUpRequest signUpRequest(String email, int phones) {
+        SignUpRequest request = new SignUpRequest();
+        request.setEmail(email);
+        request.setName("Login");
+        request.setPassword(PASSWORD);
+        List<PhoneDto> phoneDtos = new ArrayList<>();
+        for (int i = 0; i < phones; i++) {
+            phoneDtos.add(new PhoneDto(1234567L + i, 1, "57"));
+        }
+        request.setPhones(phoneDtos);
+        return request;
+    }
+}
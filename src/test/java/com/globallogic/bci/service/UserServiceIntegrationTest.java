@@ -8,14 +8,19 @@ import com.globallogic.bci.exception.BadRequestException;
 import com.globallogic.bci.exception.InvalidCredentialsException;
 import com.globallogic.bci.exception.UserAlreadyExistsException;
 import com.globallogic.bci.exception.UserNotFoundException;
+import com.globallogic.bci.repository.UserPhoneRow;
 import com.globallogic.bci.repository.UserRepository;
 import com.globallogic.bci.util.JwtTokenProvider;
 import com.globallogic.bci.util.PasswordEncryptor;
+import com.globallogic.bci.util.RefreshTokenProvider;
+import com.globallogic.bci.token.TokenVerification;
 import com.globallogic.bci.util.ValidationUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Example;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -24,9 +29,11 @@ import org.springframework.data.domain.Sort;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletionException;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -48,7 +55,11 @@ class UserServiceIntegrationTest {
         passwordEncryptor = new PasswordEncryptor();
         userRepository = new MockUserRepository();
         jwtTokenProvider = new MockJwtTokenProvider();
-        userService = new UserService(userRepository, jwtTokenProvider, passwordEncryptor, validationUtil);
+        userService = new UserService(userRepository, jwtTokenProvider, passwordEncryptor, validationUtil,
+                new RegisteredEmailFilter(1000, 0.01), new LastLoginWriter(userRepository),
+                new TokenRevocationService(1000, 0.01),
+                new RefreshTokenProvider("mySecretKeyForJWTTokenGenerationInBCI12345"), 3600, "uuidv7",
+                Runnable::run, new SimpleMeterRegistry());
     }
 
     @Nested
@@ -70,7 +81,7 @@ class UserServiceIntegrationTest {
             jwtTokenProvider.setGenerateTokenResult("token");
 
             // Act & Assert - should succeed
-            UserResponse response = userService.signUp(request);
+            UserResponse response = userService.signUp(request).join();
             assertNotNull(response);
         }
 
@@ -149,7 +160,7 @@ class UserServiceIntegrationTest {
             jwtTokenProvider.setGenerateTokenResult("token");
 
             // Act & Assert
-            UserResponse response = userService.signUp(request);
+            UserResponse response = userService.signUp(request).join();
             assertNotNull(response);
         }
 
@@ -169,7 +180,7 @@ class UserServiceIntegrationTest {
             jwtTokenProvider.setGenerateTokenResult("token");
 
             // Act
-            UserResponse response = userService.signUp(request);
+            UserResponse response = userService.signUp(request).join();
 
             // Assert
             assertEquals("John Doe Smith", response.getName());
@@ -195,7 +206,7 @@ class UserServiceIntegrationTest {
             jwtTokenProvider.setGenerateTokenResult("token");
 
             // Act
-            UserResponse response = userService.signUp(request);
+            UserResponse response = userService.signUp(request).join();
 
             // Assert
             assertNotNull(response);
@@ -249,7 +260,8 @@ class UserServiceIntegrationTest {
             LocalDateTime afterLogin = LocalDateTime.now();
 
             // Assert
-            assertTrue(userRepository.saveCalled);
+            assertTrue(userRepository.updateLastLoginCalled);
+            assertFalse(userRepository.saveCalled);
             assertNotNull(response.getLastLogin());
         }
 
@@ -294,11 +306,11 @@ class UserServiceIntegrationTest {
             userRepository.setFindResult(Optional.of(existingUser));
 
             // Act & Assert
-            UserAlreadyExistsException exception = assertThrows(UserAlreadyExistsException.class, () -> {
-                userService.signUp(request);
-            });
-            
-            assertTrue(exception.getMessage().contains("duplicate@example.com"));
+            CompletionException exception = assertThrows(CompletionException.class, () ->
+                    userService.signUp(request).join());
+
+            assertTrue(exception.getCause() instanceof UserAlreadyExistsException);
+            assertTrue(exception.getCause().getMessage().contains("duplicate@example.com"));
         }
 
         @Test
@@ -335,7 +347,7 @@ class UserServiceIntegrationTest {
     // Helper method
     private User createTestUser(String email) {
         User user = new User();
-        user.setId(UUID.randomUUID().toString());
+        user.setId(UUID.randomUUID());
         user.setEmail(email);
         user.setName("Test User");
         user.setPassword("hashedPassword");
@@ -350,6 +362,7 @@ class UserServiceIntegrationTest {
         private Optional<User> findResult = Optional.empty();
         private User saveResult;
         public boolean saveCalled = false;
+        public boolean updateLastLoginCalled = false;
 
         public void setFindResult(Optional<User> result) {
             this.findResult = result;
@@ -360,12 +373,12 @@ class UserServiceIntegrationTest {
         }
 
         @Override
-        public Optional<User> findByEmail(String email) {
+        public Optional<User> findByEmailCanonical(String emailCanonical) {
             return findResult;
         }
 
         @Override
-        public boolean existsByEmail(String email) {
+        public boolean existsByEmailCanonical(String emailCanonical) {
             return findResult.isPresent();
         }
 
@@ -375,24 +388,66 @@ class UserServiceIntegrationTest {
             return saveResult != null ? saveResult : user;
         }
 
+        @Override
+        public List<UserPhoneRow> findLoginRowsByEmailCanonical(String emailCanonical) {
+            return findResult.map(user -> List.of(new UserPhoneRow(user.getId(), user.getName(), user.getEmail(),
+                    user.getPassword(), user.getCreated(), user.getIsActive(), null, null, null))).orElse(List.of());
+        }
+
+        @Override
+        public int updateLastLogin(String emailCanonical, LocalDateTime lastLogin) {
+            updateLastLoginCalled = true;
+            findResult.ifPresent(user -> user.setLastLogin(lastLogin));
+            return findResult.isPresent() ? 1 : 0;
+        }
+
+        @Override
+        public int updatePasswordAndLastLogin(String emailCanonical, String password, LocalDateTime lastLogin) {
+            findResult.ifPresent(user -> {
+                user.setPassword(password);
+                user.setLastLogin(lastLogin);
+            });
+            return findResult.isPresent() ? 1 : 0;
+        }
+
+        @Override
+        public List<User> findByEmailCanonicalIsNullOrderByIdAsc(Pageable pageable) {
+            return new ArrayList<>();
+        }
+
+        @Override
+        public List<User> findByEmailCanonicalIsNullAndIdGreaterThanOrderByIdAsc(UUID id, Pageable pageable) {
+            return new ArrayList<>();
+        }
+
+        @Override
+        public List<String> findEmailCanonicalsIn(Collection<String> emailCanonicals) {
+            return new ArrayList<>();
+        }
+
+        @Override
+        public List<String> findEmailCanonicalsAfter(String after, Pageable pageable) {
+            return new ArrayList<>();
+        }
+
         @Override
         public <S extends User> List<S> saveAll(Iterable<S> entities) { return new ArrayList<>(); }
         @Override
-        public Optional<User> findById(String id) { return Optional.empty(); }
+        public Optional<User> findById(UUID id) { return Optional.empty(); }
         @Override
-        public boolean existsById(String id) { return false; }
+        public boolean existsById(UUID id) { return false; }
         @Override
         public List<User> findAll() { return new ArrayList<>(); }
         @Override
-        public List<User> findAllById(Iterable<String> ids) { return new ArrayList<>(); }
+        public List<User> findAllById(Iterable<UUID> ids) { return new ArrayList<>(); }
         @Override
         public long count() { return 0; }
         @Override
-        public void deleteById(String id) {}
+        public void deleteById(UUID id) {}
         @Override
         public void delete(User entity) {}
         @Override
-        public void deleteAllById(Iterable<? extends String> ids) {}
+        public void deleteAllById(Iterable<? extends UUID> ids) {}
         @Override
         public void deleteAll(Iterable<? extends User> entities) {}
         @Override
@@ -400,7 +455,15 @@ class UserServiceIntegrationTest {
         @Override
         public void flush() {}
         @Override
-        public <S extends User> S saveAndFlush(S entity) { return entity; }
+        @SuppressWarnings("unchecked")
+        public <S extends User> S saveAndFlush(S entity) {
+            saveCalled = true;
+            if (findResult.isPresent()) {
+                throw new DataIntegrityViolationException("could not execute statement",
+                        new RuntimeException("Unique index or primary key violation: \"PUBLIC.UK_USERS_EMAIL_CANONICAL_INDEX_4\""));
+            }
+            return saveResult != null ? (S) saveResult : entity;
+        }
         @Override
         public <S extends User> List<S> saveAllAndFlush(Iterable<S> entities) { return new ArrayList<>(); }
         @Override
@@ -408,13 +471,13 @@ class UserServiceIntegrationTest {
         @Override
         public void deleteAllInBatch(Iterable<User> entities) {}
         @Override
-        public void deleteAllByIdInBatch(Iterable<String> ids) {}
+        public void deleteAllByIdInBatch(Iterable<UUID> ids) {}
         @Override
         public void deleteAllInBatch() {}
         @Override
-        public User getById(String id) { return null; }
+        public User getById(UUID id) { return null; }
         @Override
-        public User getOne(String id) { return null; }
+        public User getOne(UUID id) { return null; }
         @Override
         public <S extends User> Optional<S> findOne(Example<S> example) { return Optional.empty(); }
         @Override
@@ -464,6 +527,13 @@ class UserServiceIntegrationTest {
             return emailFromTokenResult;
         }
 
+        @Override
+        public TokenVerification verify(String token) {
+            return validateTokenResult
+                    ? TokenVerification.valid(emailFromTokenResult, emailFromTokenResult, null, null)
+                    : TokenVerification.failure(TokenVerification.Status.BAD_SIGNATURE);
+        }
+
         @Override
         public String generateToken(String email) {
             return generateTokenResult != null ? generateTokenResult : super.generateToken(email);
@@ -1,20 +1,28 @@
 package com.globallogic.bci.service;
 
+import com.globallogic.bci.dto.LoginRequest;
 import com.globallogic.bci.dto.PhoneDto;
 import com.globallogic.bci.dto.SignUpRequest;
+import com.globallogic.bci.dto.TokenRefreshResponse;
 import com.globallogic.bci.dto.UserResponse;
+import com.globallogic.bci.entity.Phone;
 import com.globallogic.bci.entity.User;
 import com.globallogic.bci.exception.BadRequestException;
 import com.globallogic.bci.exception.InvalidCredentialsException;
 import com.globallogic.bci.exception.UserAlreadyExistsException;
 import com.globallogic.bci.exception.UserNotFoundException;
+import com.globallogic.bci.repository.UserPhoneRow;
 import com.globallogic.bci.repository.UserRepository;
 import com.globallogic.bci.util.JwtTokenProvider;
 import com.globallogic.bci.util.PasswordEncryptor;
+import com.globallogic.bci.util.RefreshTokenProvider;
+import com.globallogic.bci.token.TokenVerification;
 import com.globallogic.bci.util.ValidationUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Example;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -23,9 +31,15 @@ import org.springframework.data.domain.Sort;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -40,6 +54,9 @@ class UserServiceTest {
     private MockJwtTokenProvider jwtTokenProvider;
     private PasswordEncryptor passwordEncryptor;
     private ValidationUtil validationUtil;
+    private TokenRevocationService tokenRevocationService;
+    private RegisteredEmailFilter registeredEmailFilter;
+    private SimpleMeterRegistry meterRegistry;
     private UserService userService;
     
     private SignUpRequest signUpRequest;
@@ -54,7 +71,13 @@ class UserServiceTest {
         jwtTokenProvider = new MockJwtTokenProvider();
         
         // Create service with all dependencies
-        userService = new UserService(userRepository, jwtTokenProvider, passwordEncryptor, validationUtil);
+        tokenRevocationService = new TokenRevocationService(1000, 0.01);
+        meterRegistry = new SimpleMeterRegistry();
+        registeredEmailFilter = new RegisteredEmailFilter(1000, 0.01);
+        userService = new UserService(userRepository, jwtTokenProvider, passwordEncryptor, validationUtil,
+                registeredEmailFilter, new LastLoginWriter(userRepository), tokenRevocationService,
+                new RefreshTokenProvider("mySecretKeyForJWTTokenGenerationInBCI12345"), 3600, "uuidv7",
+                Runnable::run, meterRegistry);
         
         // Setup test data
         signUpRequest = new SignUpRequest();
@@ -66,7 +89,7 @@ class UserServiceTest {
         ));
 
         testUser = new User();
-        testUser.setId(UUID.randomUUID().toString());
+        testUser.setId(UUID.randomUUID());
         testUser.setName("Test User");
         testUser.setEmail("test@example.com");
         testUser.setPassword("hashedPassword");
@@ -84,7 +107,7 @@ class UserServiceTest {
         userRepository.setSaveResult(testUser);
 
         // Act
-        UserResponse response = userService.signUp(signUpRequest);
+        UserResponse response = userService.signUp(signUpRequest).join();
 
         // Assert
         assertNotNull(response);
@@ -125,6 +148,85 @@ class UserServiceTest {
         assertFalse(userRepository.saveCalled);
     }
 
+    @Test
+    @DisplayName("Sign up should report every invalid field at once")
+    void testSignUpCollectsAllViolations() {
+        // Arrange
+        signUpRequest.setEmail("invalid-email");
+        signUpRequest.setPassword("weak");
+        signUpRequest.setPhones(Arrays.asList(
+                new PhoneDto(1234567890L, 1, "+1"),
+                new PhoneDto(null, null, "+123456")
+        ));
+
+        // Act
+        BadRequestException exception = assertThrows(BadRequestException.class, () ->
+                userService.signUp(signUpRequest));
+
+        // Assert
+        List<String> messages = exception.getMessages();
+        assertEquals(5, messages.size());
+        assertTrue(messages.get(0).startsWith("Invalid email format"));
+        assertTrue(messages.get(1).startsWith("Invalid password format"));
+        assertTrue(messages.get(2).startsWith("phones[1].number"));
+        assertTrue(messages.get(3).startsWith("phones[1].citycode"));
+        assertTrue(messages.get(4).startsWith("phones[1].contrycode"));
+        assertFalse(userRepository.saveCalled);
+    }
+
+    @Test
+    @DisplayName("Sign up with a disposable email domain should throw exception")
+    void testSignUpDisposableEmail() {
+        // Arrange
+        ValidationUtil disposableValidationUtil = new ValidationUtil() {
+            @Override
+            public boolean isDisposableEmail(String email) {
+                return email.endsWith("@mailinator.com");
+            }
+        };
+        userService = new UserService(userRepository, jwtTokenProvider, passwordEncryptor, disposableValidationUtil,
+                new RegisteredEmailFilter(1000, 0.01), new LastLoginWriter(userRepository),
+                tokenRevocationService,
+                new RefreshTokenProvider("mySecretKeyForJWTTokenGenerationInBCI12345"), 3600, "uuidv7",
+                Runnable::run, meterRegistry);
+        signUpRequest.setEmail("throwaway@mailinator.com");
+
+        // Act
+        BadRequestException exception = assertThrows(BadRequestException.class, () ->
+                userService.signUp(signUpRequest));
+
+        // Assert
+        assertEquals(1, exception.getMessages().size());
+        assertTrue(exception.getMessages().get(0).startsWith("Disposable email"));
+        assertFalse(userRepository.saveCalled);
+    }
+
+    @Test
+    @DisplayName("Sign up with a breached password should throw exception")
+    void testSignUpBreachedPassword() {
+        // Arrange
+        ValidationUtil breachedValidationUtil = new ValidationUtil() {
+            @Override
+            public boolean isBreachedPassword(String password) {
+                return "Pass123word".equals(password);
+            }
+        };
+        userService = new UserService(userRepository, jwtTokenProvider, passwordEncryptor, breachedValidationUtil,
+                new RegisteredEmailFilter(1000, 0.01), new LastLoginWriter(userRepository),
+                tokenRevocationService,
+                new RefreshTokenProvider("mySecretKeyForJWTTokenGenerationInBCI12345"), 3600, "uuidv7",
+                Runnable::run, meterRegistry);
+
+        // Act
+        BadRequestException exception = assertThrows(BadRequestException.class, () ->
+                userService.signUp(signUpRequest));
+
+        // Assert
+        assertEquals(1, exception.getMessages().size());
+        assertTrue(exception.getMessages().get(0).contains("data breach"));
+        assertFalse(userRepository.saveCalled);
+    }
+
     @Test
     @DisplayName("Sign up with existing email should throw exception")
     void testSignUpUserAlreadyExists() {
@@ -132,14 +234,80 @@ class UserServiceTest {
         userRepository.setFindResult(Optional.of(testUser));
 
         // Act & Assert
-        assertThrows(UserAlreadyExistsException.class, () -> {
-            userService.signUp(signUpRequest);
-        });
-        
-        // Verify save was never called
+        CompletionException exception = assertThrows(CompletionException.class, () ->
+                userService.signUp(signUpRequest).join());
+        assertTrue(exception.getCause() instanceof UserAlreadyExistsException);
+
+        // Verify the insert itself detected the duplicate, without a prior lookup
+        assertTrue(userRepository.saveCalled);
+        assertNull(userRepository.lastEmailCanonical);
+    }
+
+    @Test
+    @DisplayName("Email known to the filter should be looked up and rejected before hashing")
+    void testSignUpFilterHit() {
+        // Arrange
+        registeredEmailFilter.add("test@example.com");
+        userRepository.setFindResult(Optional.of(testUser));
+        signUpRequest.setEmail("Test@example.com");
+
+        // Act & Assert
+        assertThrows(UserAlreadyExistsException.class, () -> userService.signUp(signUpRequest));
+        assertEquals("test@example.com", userRepository.lastEmailCanonical);
         assertFalse(userRepository.saveCalled);
     }
 
+    @Test
+    @DisplayName("Filter false positive should fall through to the lookup and sign up")
+    void testSignUpFilterFalsePositive() {
+        // Arrange
+        registeredEmailFilter.add("test@example.com");
+
+        // Act
+        UserResponse response = userService.signUp(signUpRequest).join();
+
+        // Assert
+        assertNotNull(response);
+        assertEquals("test@example.com", userRepository.lastEmailCanonical);
+        assertTrue(userRepository.saveCalled);
+    }
+
+    @Test
+    @DisplayName("Successful sign-up should add the email to the filter")
+    void testSignUpUpdatesFilter() {
+        assertFalse(registeredEmailFilter.mightContain("test@example.com"));
+
+        userService.signUp(signUpRequest).join();
+
+        assertTrue(registeredEmailFilter.mightContain("test@example.com"));
+        assertTrue(registeredEmailFilter.getFillRatio() > 0);
+    }
+
+    @Test
+    @DisplayName("New user should carry the canonical email")
+    void testSignUpStoresCanonicalEmail() {
+        // Arrange
+        signUpRequest.setEmail("Test@Example.COM");
+
+        // Act
+        userService.signUp(signUpRequest).join();
+
+        // Assert
+        assertEquals("test@example.com", userRepository.lastSaved.getEmailCanonical());
+        assertTrue(userRepository.lastSaved.isNew());
+    }
+
+    @Test
+    @DisplayName("Other integrity violations should not be reported as duplicates")
+    void testDuplicateEmailDetection() {
+        assertTrue(UserService.isDuplicateEmail(new DataIntegrityViolationException("insert",
+                new RuntimeException("Unique index or primary key violation: \"PUBLIC.UK_USERS_EMAIL_INDEX_4 ON PUBLIC.USERS(EMAIL)\""))));
+        assertTrue(UserService.isDuplicateEmail(new DataIntegrityViolationException("insert",
+                new RuntimeException("duplicate key value violates unique constraint \"uk_users_email_canonical\""))));
+        assertFalse(UserService.isDuplicateEmail(new DataIntegrityViolationException("insert",
+                new RuntimeException("NULL not allowed for column \"CREATED\""))));
+    }
+
     @Test
     @DisplayName("Login with valid token should succeed")
     void testLoginSuccess() {
@@ -159,7 +327,104 @@ class UserServiceTest {
         assertEquals("test@example.com", response.getEmail());
         assertNotNull(response.getToken());
         assertTrue(jwtTokenProvider.validateTokenCalled);
-        assertTrue(userRepository.saveCalled);
+        assertTrue(userRepository.updateLastLoginCalled);
+        assertFalse(userRepository.saveCalled);
+    }
+
+    @Test
+    @DisplayName("Login with a fresh token should return it without re-issuing")
+    void testLoginKeepsFreshToken() {
+        // Arrange
+        jwtTokenProvider.setValidateTokenResult(true);
+        jwtTokenProvider.setEmailFromToken("test@example.com");
+        jwtTokenProvider.setExpiresIn(23 * 3600000L);
+        userRepository.setFindResult(Optional.of(testUser));
+        userRepository.setSaveResult(testUser);
+
+        // Act
+        UserResponse response = userService.login("fresh_token");
+
+        // Assert
+        assertEquals("fresh_token", response.getToken());
+        assertFalse(jwtTokenProvider.generateTokenCalled);
+        assertTrue(userRepository.updateLastLoginCalled);
+    }
+
+    @Test
+    @DisplayName("Login with a token close to expiry should re-issue it")
+    void testLoginReissuesExpiringToken() {
+        // Arrange
+        jwtTokenProvider.setValidateTokenResult(true);
+        jwtTokenProvider.setEmailFromToken("test@example.com");
+        jwtTokenProvider.setExpiresIn(30 * 60000L);
+        jwtTokenProvider.setGenerateTokenResult("newToken");
+        userRepository.setFindResult(Optional.of(testUser));
+        userRepository.setSaveResult(testUser);
+
+        // Act
+        UserResponse response = userService.login("expiring_token");
+
+        // Assert
+        assertEquals("newToken", response.getToken());
+        assertTrue(jwtTokenProvider.generateTokenCalled);
+    }
+
+    @Test
+    @DisplayName("Refresh token from sign up should be exchangeable exactly once")
+    void testRefreshRotation() {
+        // Arrange
+        userRepository.setFindResult(Optional.empty());
+        userRepository.setSaveResult(testUser);
+        String refreshToken = userService.signUp(signUpRequest).join().getRefreshToken();
+
+        // Act
+        TokenRefreshResponse refreshed = userService.refresh(refreshToken);
+
+        // Assert
+        assertNotNull(refreshToken);
+        assertNotNull(refreshed.getToken());
+        assertNotNull(refreshed.getRefreshToken());
+        assertNotEquals(refreshToken, refreshed.getRefreshToken());
+        assertThrows(InvalidCredentialsException.class, () -> userService.refresh(refreshToken));
+        assertNotNull(userService.refresh(refreshed.getRefreshToken()).getToken());
+    }
+
+    @Test
+    @DisplayName("Two parallel refreshes with the same refresh token should mint tokens only once")
+    void testParallelRefresh() {
+        userRepository.setFindResult(Optional.empty());
+        userRepository.setSaveResult(testUser);
+        String refreshToken = userService.signUp(signUpRequest).join().getRefreshToken();
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<CompletableFuture<Boolean>> attempts = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            attempts.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    start.await();
+                    userService.refresh(refreshToken);
+                    return true;
+                } catch (InvalidCredentialsException e) {
+                    return false;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+
+        long succeeded = attempts.stream().filter(CompletableFuture::join).count();
+        assertEquals(1, succeeded);
+    }
+
+    @Test
+    @DisplayName("Access tokens should not be accepted as refresh tokens")
+    void testRefreshWithAccessToken() {
+        String accessToken = new JwtTokenProvider("mySecretKeyForJWTTokenGenerationInBCI12345")
+                .generateToken("test@example.com");
+
+        assertThrows(InvalidCredentialsException.class, () -> userService.refresh(accessToken));
     }
 
     @Test
@@ -178,6 +443,38 @@ class UserServiceTest {
         assertFalse(userRepository.saveCalled);
     }
 
+    @Test
+    @DisplayName("Login with revoked token should throw exception")
+    void testLoginRevokedToken() {
+        // Arrange
+        jwtTokenProvider.setValidateTokenResult(true);
+        jwtTokenProvider.setEmailFromToken("test@example.com");
+        jwtTokenProvider.setTokenId("revoked-jti");
+        userRepository.setFindResult(Optional.of(testUser));
+        tokenRevocationService.revoke("revoked-jti", System.currentTimeMillis() + 60000);
+
+        // Act & Assert
+        assertThrows(InvalidCredentialsException.class, () -> {
+            userService.login("revoked_token");
+        });
+
+        // Verify save was never called
+        assertFalse(userRepository.saveCalled);
+    }
+
+    @Test
+    @DisplayName("Revoking an invalid token should throw exception")
+    void testRevokeInvalidToken() {
+        // Arrange
+        jwtTokenProvider.setValidateTokenResult(false);
+
+        // Act & Assert
+        assertThrows(InvalidCredentialsException.class, () -> {
+            userService.revokeToken("invalid_token");
+        });
+        assertEquals(0, tokenRevocationService.getRevokedCount());
+    }
+
     @Test
     @DisplayName("Login with user not found should throw exception")
     void testLoginUserNotFound() {
@@ -206,7 +503,7 @@ class UserServiceTest {
         userRepository.setSaveResult(testUser);
 
         // Act
-        UserResponse response = userService.signUp(signUpRequest);
+        UserResponse response = userService.signUp(signUpRequest).join();
 
         // Assert
         assertNotNull(response);
@@ -223,13 +520,15 @@ class UserServiceTest {
         userRepository.setSaveResult(testUser);
 
         // Act
-        UserResponse response = userService.signUp(signUpRequest);
+        UserResponse response = userService.signUp(signUpRequest).join();
 
         // Assert
         assertNotNull(response.getId());
         assertFalse(response.getId().isEmpty());
         // Verify UUID format (should contain hyphens)
         assertTrue(response.getId().contains("-"));
+        // The configured generator (uuidv7) assigns the id before the insert
+        assertEquals(7, userRepository.lastSaved.getId().version());
     }
 
     @Test
@@ -248,8 +547,112 @@ class UserServiceTest {
 
         // Assert
         assertNotNull(response);
-        // Verify that save was called to update lastLogin
-        assertTrue(userRepository.saveCalled);
+        // Verify that lastLogin was updated in place, without saving the user
+        assertTrue(userRepository.updateLastLoginCalled);
+        assertFalse(userRepository.saveCalled);
+        assertNotNull(response.getLastLogin());
+    }
+
+    @Test
+    @DisplayName("Credential login with correct password should succeed")
+    void testCredentialLoginSuccess() {
+        // Arrange
+        testUser.setPassword(passwordEncryptor.encryptPassword("Pass123word"));
+        userRepository.setFindResult(Optional.of(testUser));
+        jwtTokenProvider.setGenerateTokenResult("newToken");
+
+        // Act
+        UserResponse response = userService.login(new LoginRequest("Test@EXAMPLE.com", "Pass123word")).join();
+
+        // Assert
+        assertEquals("test@example.com", userRepository.lastEmailCanonical);
+        assertEquals("newToken", response.getToken());
+        assertNotNull(response.getRefreshToken());
+        assertTrue(userRepository.updateLastLoginCalled);
+        assertFalse(userRepository.saveCalled);
+        assertEquals(1, loginCount("success"));
+    }
+
+    @Test
+    @DisplayName("Credential login with wrong password should fail")
+    void testCredentialLoginWrongPassword() {
+        // Arrange
+        testUser.setPassword(passwordEncryptor.encryptPassword("Pass123word"));
+        userRepository.setFindResult(Optional.of(testUser));
+
+        // Act & Assert
+        CompletionException exception = assertThrows(CompletionException.class, () ->
+                userService.login(new LoginRequest("test@example.com", "Wrong123pass")).join());
+        assertTrue(exception.getCause() instanceof InvalidCredentialsException);
+        assertFalse(userRepository.saveCalled);
+        assertEquals(1, loginCount("bad_password"));
+    }
+
+    @Test
+    @DisplayName("Credential login with unknown email should fail")
+    void testCredentialLoginUnknownUser() {
+        // Arrange
+        userRepository.setFindResult(Optional.empty());
+
+        // Act & Assert
+        CompletionException exception = assertThrows(CompletionException.class, () ->
+                userService.login(new LoginRequest("nobody@example.com", "Pass123word")).join());
+        assertTrue(exception.getCause() instanceof InvalidCredentialsException);
+        assertEquals(1, loginCount("unknown_user"));
+    }
+
+    @Test
+    @DisplayName("Credential login without password should be rejected")
+    void testCredentialLoginMissingPassword() {
+        assertThrows(BadRequestException.class, () ->
+                userService.login(new LoginRequest("test@example.com", null)));
+    }
+
+    @Test
+    @DisplayName("Credential login should be rejected when the verification queue is full")
+    void testCredentialLoginRejected() {
+        // Arrange
+        UserService saturatedService = new UserService(userRepository, jwtTokenProvider, passwordEncryptor,
+                validationUtil, new RegisteredEmailFilter(1000, 0.01), new LastLoginWriter(userRepository),
+                tokenRevocationService,
+                new RefreshTokenProvider("mySecretKeyForJWTTokenGenerationInBCI12345"), 3600, "uuidv7",
+                task -> {
+                    throw new RejectedExecutionException("Queue is full");
+                },
+                meterRegistry);
+        userRepository.setFindResult(Optional.of(testUser));
+
+        // Act & Assert
+        assertThrows(RejectedExecutionException.class, () ->
+                saturatedService.login(new LoginRequest("test@example.com", "Pass123word")));
+        assertEquals(1, loginCount("rejected"));
+    }
+
+    @Test
+    @DisplayName("Credential login should upgrade an outdated password hash")
+    void testCredentialLoginUpgradesHash() {
+        // Arrange
+        String oldHash = new PasswordEncryptor(Runnable::run, 4).encryptPassword("Pass123word");
+        testUser.setPassword(oldHash);
+        testUser.addPhone(new Phone(1234567890L, 1, "+1"));
+        userRepository.setFindResult(Optional.of(testUser));
+        jwtTokenProvider.setGenerateTokenResult("newToken");
+
+        // Act
+        UserResponse response = userService.login(new LoginRequest("test@example.com", "Pass123word")).join();
+
+        // Assert
+        assertNotEquals(oldHash, testUser.getPassword());
+        assertFalse(passwordEncryptor.needsRehash(testUser.getPassword()));
+        assertEquals(testUser.getPassword(), response.getPassword());
+        assertEquals(1, response.getPhones().size());
+        assertTrue(userRepository.updatePasswordCalled);
+        assertFalse(userRepository.updateLastLoginCalled);
+        assertFalse(userRepository.saveCalled);
+    }
+
+    private long loginCount(String outcome) {
+        return meterRegistry.get("password.login").tag("outcome", outcome).timer().count();
     }
 
     // Test Double Classes for UserRepository
@@ -258,6 +661,10 @@ class UserServiceTest {
         private User saveResult;
         public boolean saveCalled = false;
         public boolean findCalled = false;
+        public String lastEmailCanonical;
+        public User lastSaved;
+        public boolean updateLastLoginCalled = false;
+        public boolean updatePasswordCalled = false;
 
         public void setFindResult(Optional<User> result) {
             this.findResult = result;
@@ -268,13 +675,15 @@ class UserServiceTest {
         }
 
         @Override
-        public Optional<User> findByEmail(String email) {
+        public Optional<User> findByEmailCanonical(String emailCanonical) {
             findCalled = true;
+            lastEmailCanonical = emailCanonical;
             return findResult;
         }
 
         @Override
-        public boolean existsByEmail(String email) {
+        public boolean existsByEmailCanonical(String emailCanonical) {
+            lastEmailCanonical = emailCanonical;
             return findResult.isPresent();
         }
 
@@ -284,6 +693,63 @@ class UserServiceTest {
             return saveResult != null ? saveResult : user;
         }
 
+        @Override
+        public List<UserPhoneRow> findLoginRowsByEmailCanonical(String emailCanonical) {
+            findCalled = true;
+            lastEmailCanonical = emailCanonical;
+            List<UserPhoneRow> rows = new ArrayList<>();
+            findResult.ifPresent(user -> {
+                for (Phone phone : user.getPhones()) {
+                    rows.add(new UserPhoneRow(user.getId(), user.getName(), user.getEmail(), user.getPassword(),
+                            user.getCreated(), user.getIsActive(), phone.getNumber(), phone.getCitycode(), phone.getContrycode()));
+                }
+                if (rows.isEmpty()) {
+                    rows.add(new UserPhoneRow(user.getId(), user.getName(), user.getEmail(), user.getPassword(),
+                            user.getCreated(), user.getIsActive(), null, null, null));
+                }
+            });
+            return rows;
+        }
+
+        @Override
+        public int updateLastLogin(String emailCanonical, LocalDateTime lastLogin) {
+            updateLastLoginCalled = true;
+            lastEmailCanonical = emailCanonical;
+            findResult.ifPresent(user -> user.setLastLogin(lastLogin));
+            return findResult.isPresent() ? 1 : 0;
+        }
+
+        @Override
+        public int updatePasswordAndLastLogin(String emailCanonical, String password, LocalDateTime lastLogin) {
+            updatePasswordCalled = true;
+            lastEmailCanonical = emailCanonical;
+            findResult.ifPresent(user -> {
+                user.setPassword(password);
+                user.setLastLogin(lastLogin);
+            });
+            return findResult.isPresent() ? 1 : 0;
+        }
+
+        @Override
+        public List<User> findByEmailCanonicalIsNullOrderByIdAsc(Pageable pageable) {
+            return new ArrayList<>();
+        }
+
+        @Override
+        public List<User> findByEmailCanonicalIsNullAndIdGreaterThanOrderByIdAsc(UUID id, Pageable pageable) {
+            return new ArrayList<>();
+        }
+
+        @Override
+        public List<String> findEmailCanonicalsIn(Collection<String> emailCanonicals) {
+            return new ArrayList<>();
+        }
+
+        @Override
+        public List<String> findEmailCanonicalsAfter(String after, Pageable pageable) {
+            return new ArrayList<>();
+        }
+
         // Implement other required methods from UserRepository/JpaRepository interface
         @Override
         public <S extends User> List<S> saveAll(Iterable<S> entities) {
@@ -291,12 +757,12 @@ class UserServiceTest {
         }
 
         @Override
-        public Optional<User> findById(String id) {
+        public Optional<User> findById(UUID id) {
             return Optional.empty();
         }
 
         @Override
-        public boolean existsById(String id) {
+        public boolean existsById(UUID id) {
             return false;
         }
 
@@ -306,7 +772,7 @@ class UserServiceTest {
         }
 
         @Override
-        public List<User> findAllById(Iterable<String> ids) {
+        public List<User> findAllById(Iterable<UUID> ids) {
             return new ArrayList<>();
         }
 
@@ -316,13 +782,13 @@ class UserServiceTest {
         }
 
         @Override
-        public void deleteById(String id) {}
+        public void deleteById(UUID id) {}
 
         @Override
         public void delete(User entity) {}
 
         @Override
-        public void deleteAllById(Iterable<? extends String> ids) {}
+        public void deleteAllById(Iterable<? extends UUID> ids) {}
 
         @Override
         public void deleteAll(Iterable<? extends User> entities) {}
@@ -334,8 +800,15 @@ class UserServiceTest {
         public void flush() {}
 
         @Override
+        @SuppressWarnings("unchecked")
         public <S extends User> S saveAndFlush(S entity) {
-            return entity;
+            saveCalled = true;
+            lastSaved = entity;
+            if (findResult.isPresent()) {
+                throw new DataIntegrityViolationException("could not execute statement",
+                        new RuntimeException("Unique index or primary key violation: \"PUBLIC.UK_USERS_EMAIL_CANONICAL_INDEX_4\""));
+            }
+            return saveResult != null ? (S) saveResult : entity;
         }
 
         @Override
@@ -350,18 +823,18 @@ class UserServiceTest {
         public void deleteAllInBatch(Iterable<User> entities) {}
 
         @Override
-        public void deleteAllByIdInBatch(Iterable<String> ids) {}
+        public void deleteAllByIdInBatch(Iterable<UUID> ids) {}
 
         @Override
         public void deleteAllInBatch() {}
 
         @Override
-        public User getById(String id) {
+        public User getById(UUID id) {
             return null;
         }
 
         @Override
-        public User getOne(String id) {
+        public User getOne(UUID id) {
             return null;
         }
 
@@ -410,7 +883,9 @@ class UserServiceTest {
     private static class MockJwtTokenProvider extends JwtTokenProvider {
         private boolean validateTokenResult = true;
         private String emailFromTokenResult;
+        private String tokenIdResult;
         private String generateTokenResult;
+        private long expiresInMillis = 60000;
         public boolean validateTokenCalled = false;
         public boolean generateTokenCalled = false;
 
@@ -430,6 +905,14 @@ class UserServiceTest {
             this.generateTokenResult = token;
         }
 
+        public void setTokenId(String tokenId) {
+            this.tokenIdResult = tokenId;
+        }
+
+        public void setExpiresIn(long millis) {
+            this.expiresInMillis = millis;
+        }
+
         @Override
         public boolean validateToken(String token) {
             validateTokenCalled = true;
@@ -441,6 +924,15 @@ class UserServiceTest {
             return emailFromTokenResult;
         }
 
+        @Override
+        public TokenVerification verify(String token) {
+            validateTokenCalled = true;
+            return validateTokenResult
+                    ? TokenVerification.valid(emailFromTokenResult, emailFromTokenResult, null,
+                            new Date(System.currentTimeMillis() + expiresInMillis), tokenIdResult)
+                    : TokenVerification.failure(TokenVerification.Status.BAD_SIGNATURE);
+        }
+
         @Override
         public String generateToken(String email) {
             generateTokenCalled = true;
@@ -0,0 +1,93 @@
+package com.globallogic.bci.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BCryptCostCalibrator
+ */
+@DisplayName("BCryptCostCalibrator Tests")
+class BCryptCostCalibratorTest {
+
+    /**
+     * Simulated hardware: cost 10 takes 102.4 ms, each step doubles.
+     */
+    private static long simulatedNanos(int cost) {
+        return (1L << cost) * 100_000L;
+    }
+
+    @Test
+    @DisplayName("Should pick the strongest cost within the target")
+    void testPicksStrongestCostWithinTarget() {
+        BCryptCostCalibrator calibrator = new BCryptCostCalibrator(BCryptCostCalibratorTest::simulatedNanos);
+
+        assertEquals(9, calibrator.calibrate(100, 4, 31));
+        assertEquals(10, calibrator.calibrate(150, 4, 31));
+        assertEquals(12, calibrator.calibrate(500, 4, 31));
+    }
+
+    @Test
+    @DisplayName("Should not measure a cost predicted to exceed the target")
+    void testDoesNotMeasureBeyondTarget() {
+        List<Integer> measured = new ArrayList<>();
+        BCryptCostCalibrator calibrator = new BCryptCostCalibrator(cost -> {
+            measured.add(cost);
+            return simulatedNanos(cost);
+        });
+
+        calibrator.calibrate(100, 8, 14);
+
+        assertEquals(9, measured.stream().mapToInt(Integer::intValue).max().getAsInt());
+    }
+
+    @Test
+    @DisplayName("Should respect the minimum cost on slow hardware")
+    void testMinimumCost() {
+        BCryptCostCalibrator calibrator = new BCryptCostCalibrator(BCryptCostCalibratorTest::simulatedNanos);
+
+        assertEquals(11, calibrator.calibrate(10, 11, 14));
+    }
+
+    @Test
+    @DisplayName("Should respect the maximum cost on fast hardware")
+    void testMaximumCost() {
+        BCryptCostCalibrator calibrator = new BCryptCostCalibrator(cost -> 1_000L);
+
+        assertEquals(14, calibrator.calibrate(100, 8, 14));
+    }
+
+    @Test
+    @DisplayName("Should use the median of the samples")
+    void testMedianIgnoresOutliers() {
+        int[] calls = new int[1];
+        BCryptCostCalibrator calibrator = new BCryptCostCalibrator(cost -> {
+            // Every third timing is a 1 s outlier (e.g. a GC pause)
+            return ++calls[0] % 3 == 0 ? 1_000_000_000L : simulatedNanos(cost);
+        });
+
+        assertEquals(9, calibrator.calibrate(100, 4, 31));
+    }
+
+    @Test
+    @DisplayName("Should reject an invalid cost range")
+    void testInvalidRange() {
+        BCryptCostCalibrator calibrator = new BCryptCostCalibrator(BCryptCostCalibratorTest::simulatedNanos);
+
+        assertThrows(IllegalArgumentException.class, () -> calibrator.calibrate(100, 3, 10));
+        assertThrows(IllegalArgumentException.class, () -> calibrator.calibrate(100, 10, 32));
+        assertThrows(IllegalArgumentException.class, () -> calibrator.calibrate(100, 12, 10));
+    }
+
+    @Test
+    @DisplayName("Should calibrate with real BCrypt hashes")
+    void testRealCalibration() {
+        int cost = new BCryptCostCalibrator().calibrate(50, 4, 8);
+
+        assertTrue(cost >= 4 && cost <= 8);
+    }
+}
@@ -0,0 +1,93 @@
+package com.globallogic.bci.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BloomFilter
+ */
+@DisplayName("BloomFilter Tests")
+class BloomFilterTest {
+
+    @Test
+    @DisplayName("Should never report a false negative")
+    void testNoFalseNegatives() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("key-" + i);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("key-" + i));
+        }
+    }
+
+    @Test
+    @DisplayName("False-positive rate should stay close to the target")
+    void testFalsePositiveRate() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("key-" + i);
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("other-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 2_000, "False positives: " + falsePositives);
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {0.1, 0.01, 0.001})
+    @DisplayName("Measured false-positive rate should match the configured rate")
+    void testMeasuredFalsePositiveRateMatchesConfigured(double falsePositiveRate) {
+        int insertions = 20_000;
+        int probes = 200_000;
+        BloomFilter filter = new BloomFilter(insertions, falsePositiveRate);
+        for (int i = 0; i < insertions; i++) {
+            filter.put("user" + i + "@example.com");
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("other" + i + "@example.org")) {
+                falsePositives++;
+            }
+        }
+        double measured = (double) falsePositives / probes;
+        assertTrue(measured <= falsePositiveRate * 1.25,
+                "Measured " + measured + " for configured " + falsePositiveRate);
+    }
+
+    @Test
+    @DisplayName("Fill ratio should grow with insertions")
+    void testFillRatio() {
+        BloomFilter filter = new BloomFilter(1_000, 0.01);
+        assertEquals(0.0, filter.getFillRatio());
+
+        for (int i = 0; i < 1_000; i++) {
+            filter.put("key-" + i);
+        }
+        double fill = filter.getFillRatio();
+        assertTrue(fill > 0.3 && fill < 0.7, "Fill ratio: " + fill);
+    }
+
+    @Test
+    @DisplayName("Should size bits and probes from the standard formulas")
+    void testSizing() {
+        BloomFilter filter = new BloomFilter(1_000_000, 0.01);
+        assertEquals(7, filter.getHashCount());
+        assertTrue(filter.getBitSize() >= 9_585_059L);
+    }
+
+    @Test
+    @DisplayName("Should reject invalid sizing arguments")
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 0));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 1));
+    }
+}
@@ -0,0 +1,161 @@
+package com.globallogic.bci.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BreachedPasswordFile, BreachedPasswordFileConverter and BreachedPasswordChecker
+ */
+@DisplayName("BreachedPasswordFile Tests")
+class BreachedPasswordFileTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Converted hashes should be found and others not")
+    void testConvertAndLookup() throws Exception {
+        List<String> hashes = new ArrayList<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 5000; i++) {
+            hashes.add(randomHash(random));
+        }
+        Collections.sort(hashes);
+        Path output = convert(hashes);
+
+        try (BreachedPasswordFile file = new BreachedPasswordFile(output)) {
+            assertEquals(hashes.size(), file.getRecordCount());
+            for (String hash : hashes) {
+                assertTrue(file.contains(fromHex(hash)), hash);
+            }
+            for (int i = 0; i < 5000; i++) {
+                String hash = randomHash(random);
+                assertEquals(Collections.binarySearch(hashes, hash) >= 0, file.contains(fromHex(hash)), hash);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Converter should accept HIBP lines with counts and skip duplicates")
+    void testConverterFormat() throws Exception {
+        Path input = tempDir.resolve("pwned.txt");
+        Files.write(input, ("0000000000000000000000000000000000000001:3\r\n"
+                + "0000000000000000000000000000000000000001:3\r\n"
+                + "\r\n"
+                + "ffffffffffffffffffffffffffffffffffffffff:10\r\n").getBytes(StandardCharsets.US_ASCII));
+        Path output = tempDir.resolve("pwned.bin");
+
+        assertEquals(2, BreachedPasswordFileConverter.convert(input, output));
+        try (BreachedPasswordFile file = new BreachedPasswordFile(output)) {
+            assertTrue(file.contains(fromHex("0000000000000000000000000000000000000001")));
+            assertTrue(file.contains(fromHex("FFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFF")));
+            assertFalse(file.contains(fromHex("0000000000000000000000000000000000000002")));
+        }
+    }
+
+    @Test
+    @DisplayName("Converter should reject unsorted and malformed input")
+    void testConverterRejectsBadInput() throws IOException {
+        Path unsorted = tempDir.resolve("unsorted.txt");
+        Files.write(unsorted, ("0000000000000000000000000000000000000002:1\n"
+                + "0000000000000000000000000000000000000001:1\n").getBytes(StandardCharsets.US_ASCII));
+        Path malformed = tempDir.resolve("malformed.txt");
+        Files.write(malformed, "not-a-hash:1\n".getBytes(StandardCharsets.US_ASCII));
+        Path output = tempDir.resolve("out.bin");
+
+        assertThrows(IllegalArgumentException.class, () -> BreachedPasswordFileConverter.convert(unsorted, output));
+        assertThrows(IllegalArgumentException.class, () -> BreachedPasswordFileConverter.convert(malformed, output));
+    }
+
+    @Test
+    @DisplayName("Opening a file in another format should fail")
+    void testRejectsForeignFile() throws IOException {
+        Path foreign = tempDir.resolve("foreign.bin");
+        Files.write(foreign, new byte[BreachedPasswordFile.RECORDS_OFFSET]);
+
+        assertThrows(IllegalStateException.class, () -> new BreachedPasswordFile(foreign));
+    }
+
+    @Test
+    @DisplayName("Checker should report passwords whose SHA-1 is listed")
+    void testChecker() throws Exception {
+        List<String> hashes = new ArrayList<>();
+        hashes.add(sha1Hex("Password12"));
+        hashes.add(sha1Hex("Welcome123"));
+        Collections.sort(hashes);
+        BreachedPasswordChecker checker = new BreachedPasswordChecker(new BreachedPasswordFile(convert(hashes)));
+        try {
+            assertTrue(checker.isEnabled());
+            assertTrue(checker.isBreached("Password12"));
+            assertTrue(checker.isBreached("Welcome123"));
+            assertFalse(checker.isBreached("Unique42word"));
+            assertFalse(checker.isBreached(null));
+        } finally {
+            checker.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Disabled checker should report no password as breached")
+    void testDisabledChecker() {
+        BreachedPasswordChecker checker = BreachedPasswordChecker.disabled();
+
+        assertFalse(checker.isEnabled());
+        assertFalse(checker.isBreached("Password12"));
+        assertFalse(new ValidationUtil().isBreachedPassword("Password12"));
+    }
+
+    private Path convert(List<String> sortedHashes) throws IOException {
+        Path input = tempDir.resolve("hashes.txt");
+        StringBuilder text = new StringBuilder();
+        for (String hash : sortedHashes) {
+            text.append(hash).append(":1\n");
+        }
+        Files.write(input, text.toString().getBytes(StandardCharsets.US_ASCII));
+        Path output = tempDir.resolve("hashes.bin");
+        BreachedPasswordFileConverter.convert(input, output);
+        return output;
+    }
+
+    private static String randomHash(Random random) {
+        byte[] hash = new byte[20];
+        random.nextBytes(hash);
+        // Concentrate hashes on a few prefixes so binary searches go deeper than one record
+        hash[0] = (byte) random.nextInt(4);
+        return toHex(hash);
+    }
+
+    private static String sha1Hex(String password) throws NoSuchAlgorithmException {
+        return toHex(MessageDigest.getInstance("SHA-1").digest(password.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder();
+        for (byte b : bytes) {
+            hex.append(String.format("%02X", b));
+        }
+        return hex.toString();
+    }
+
+    private static byte[] fromHex(String hex) {
+        byte[] bytes = new byte[hex.length() / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) Integer.parseInt(hex.substring(2 * i, 2 * i + 2), 16);
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,123 @@
+package com.globallogic.bci.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DisposableDomainIndex and DisposableDomainBlocklist
+ */
+@DisplayName("DisposableDomainBlocklist Tests")
+class DisposableDomainBlocklistTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Listed domains and their subdomains should match, case-insensitively")
+    void testIndexLookup() {
+        DisposableDomainIndex index = DisposableDomainIndex.of(Arrays.asList(
+                "mailinator.com", "  Guerrillamail.COM ", "# comment", "", "mailinator.com"));
+
+        assertEquals(2, index.size());
+        assertTrue(index.containsDomainOf("user@mailinator.com"));
+        assertTrue(index.containsDomainOf("user@MAILINATOR.com"));
+        assertTrue(index.containsDomainOf("user@guerrillamail.com"));
+        assertTrue(index.containsDomainOf("user@mx.mailinator.com"));
+        assertFalse(index.containsDomainOf("user@example.com"));
+        assertFalse(index.containsDomainOf("user@notmailinator.com"));
+        assertFalse(index.containsDomainOf("user@mailinator.co"));
+        assertFalse(index.containsDomainOf("mailinator.com"));
+    }
+
+    @Test
+    @DisplayName("Index should agree with a HashSet on a large random list")
+    void testIndexMatchesHashSet() {
+        Random random = new Random(17);
+        List<String> domains = new ArrayList<>();
+        Set<String> expected = new HashSet<>();
+        for (int i = 0; i < 200_000; i++) {
+            String domain = randomLabel(random) + "." + randomLabel(random);
+            domains.add(domain);
+            expected.add(domain);
+        }
+        DisposableDomainIndex index = DisposableDomainIndex.of(domains);
+
+        assertEquals(expected.size(), index.size());
+        for (int i = 0; i < 200_000; i++) {
+            String domain = i % 2 == 0 ? domains.get(i) : randomLabel(random) + "." + randomLabel(random);
+            assertEquals(expected.contains(domain), index.contains(domain, 0, domain.length()), domain);
+        }
+    }
+
+    @Test
+    @DisplayName("Blocklist should pick up a modified file on reload")
+    void testHotReload() throws IOException {
+        Path list = tempDir.resolve("disposable.txt");
+        Files.write(list, "mailinator.com\n".getBytes(StandardCharsets.UTF_8));
+        DisposableDomainBlocklist blocklist = new DisposableDomainBlocklist(list);
+        try {
+            assertTrue(blocklist.isDisposable("user@mailinator.com"));
+            assertFalse(blocklist.isDisposable("user@yopmail.com"));
+            assertFalse(blocklist.reloadIfModified());
+
+            Files.write(list, "yopmail.com\n".getBytes(StandardCharsets.UTF_8));
+            Files.setLastModifiedTime(list, FileTime.fromMillis(Files.getLastModifiedTime(list).toMillis() + 5000));
+
+            assertTrue(blocklist.reloadIfModified());
+            assertFalse(blocklist.isDisposable("user@mailinator.com"));
+            assertTrue(blocklist.isDisposable("user@yopmail.com"));
+        } finally {
+            blocklist.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Failed reload should keep the current list")
+    void testFailedReloadKeepsList() throws IOException {
+        Path list = tempDir.resolve("disposable.txt");
+        Files.write(list, "mailinator.com\n".getBytes(StandardCharsets.UTF_8));
+        DisposableDomainBlocklist blocklist = new DisposableDomainBlocklist(list);
+        try {
+            Files.delete(list);
+
+            assertThrows(IOException.class, blocklist::reloadIfModified);
+            assertTrue(blocklist.isDisposable("user@mailinator.com"));
+        } finally {
+            blocklist.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Disabled blocklist should accept every domain")
+    void testDisabled() {
+        DisposableDomainBlocklist blocklist = DisposableDomainBlocklist.disabled();
+
+        assertEquals(0, blocklist.size());
+        assertFalse(blocklist.isDisposable("user@mailinator.com"));
+        assertFalse(blocklist.isDisposable(null));
+        assertFalse(new ValidationUtil().isDisposableEmail("user@mailinator.com"));
+    }
+
+    private static String randomLabel(Random random) {
+        char[] label = new char[3 + random.nextInt(10)];
+        for (int i = 0; i < label.length; i++) {
+            label[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(label);
+    }
+}
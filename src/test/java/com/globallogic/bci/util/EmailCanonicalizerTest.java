@@ -0,0 +1,48 @@
+package com.globallogic.bci.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for EmailCanonicalizer
+ */
+@DisplayName("EmailCanonicalizer Tests")
+class EmailCanonicalizerTest {
+
+    @Test
+    @DisplayName("Case variants should share one canonical form")
+    void testLowerCase() {
+        assertEquals("juan.perez@example.com", EmailCanonicalizer.canonicalize("Juan.Perez@Example.COM"));
+        assertEquals("juan.perez@example.com", EmailCanonicalizer.canonicalize("juan.perez@example.com"));
+    }
+
+    @Test
+    @DisplayName("Surrounding whitespace and a trailing dot should be removed")
+    void testTrimAndTrailingDot() {
+        assertEquals("user@example.com", EmailCanonicalizer.canonicalize("  user@example.com. "));
+    }
+
+    @Test
+    @DisplayName("Internationalized domains should be converted to punycode")
+    void testInternationalizedDomain() {
+        assertEquals("user@xn--bcher-kva.example", EmailCanonicalizer.canonicalize("user@B\u00fccher.example"));
+        assertEquals("user@xn--bcher-kva.example", EmailCanonicalizer.canonicalize("user@xn--bcher-kva.example"));
+    }
+
+    @Test
+    @DisplayName("Provider-specific aliases should stay distinct")
+    void testNoProviderRules() {
+        assertNotEquals(EmailCanonicalizer.canonicalize("john.doe@gmail.com"),
+                EmailCanonicalizer.canonicalize("johndoe@gmail.com"));
+        assertEquals("john+news@gmail.com", EmailCanonicalizer.canonicalize("John+News@gmail.com"));
+    }
+
+    @Test
+    @DisplayName("Null should map to null and input without @ should only be lower-cased")
+    void testEdgeCases() {
+        assertNull(EmailCanonicalizer.canonicalize(null));
+        assertEquals("invalid.email", EmailCanonicalizer.canonicalize("Invalid.Email"));
+    }
+}
@@ -0,0 +1,176 @@
+package com.globallogic.bci.util;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Equivalence tests for Hs256TokenMinter against the JJWT builder
+ */
+@DisplayName("Hs256TokenMinter Tests")
+class Hs256TokenMinterTest {
+
+    private static final String SECRET = "mySecretKeyForJWTTokenGenerationInBCI12345";
+
+    private SecretKey secretKey;
+    private Hs256TokenMinter minter;
+
+    @BeforeEach
+    void setUp() {
+        secretKey = Keys.hmacShaKeyFor(SECRET.getBytes());
+        minter = new Hs256TokenMinter(secretKey.getEncoded());
+    }
+
+    private String jjwtToken(SecretKey key, String email, long iatSeconds, long expSeconds) {
+        return Jwts.builder()
+                .setSubject(email)
+                .claim("email", email)
+                .setIssuedAt(new Date(iatSeconds * 1000))
+                .setExpiration(new Date(expSeconds * 1000))
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "user@example.com",
+            "john.doe+filter@sub.domain.co.uk",
+            "User@Example.COM",
+            "a@b.co",
+            "quote\"and\\backslash@example.com",
+            "control\n\t\r\b\f\u0001\u001f@example.com",
+            "ñandú@ejemplo.es",
+            "用户@例子.中国",
+            "emoji😀@example.com",
+            "slash/and\u007f@example.com"
+    })
+    @DisplayName("Should produce the same bytes as the JJWT builder")
+    void testEquivalentToJjwt(String email) {
+        long iat = 1_700_000_000L;
+        long exp = iat + 86_400L;
+
+        assertEquals(jjwtToken(secretKey, email, iat, exp), minter.mint(email, email, iat, exp));
+    }
+
+    @Test
+    @DisplayName("Should match JJWT for random emails and timestamps")
+    void testEquivalentToJjwtRandomized() {
+        Random random = new Random(42);
+        String alphabet = "abcXYZ019._%+-@\"\\ ñ€";
+        for (int i = 0; i < 500; i++) {
+            StringBuilder email = new StringBuilder();
+            int length = 1 + random.nextInt(60);
+            for (int j = 0; j < length; j++) {
+                email.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            long iat = random.nextInt(Integer.MAX_VALUE);
+            long exp = iat + random.nextInt(1_000_000);
+
+            assertEquals(jjwtToken(secretKey, email.toString(), iat, exp),
+                    minter.mint(email.toString(), email.toString(), iat, exp));
+        }
+    }
+
+    @Test
+    @DisplayName("Should match JJWT for keys longer than 512 bits")
+    void testEquivalentWithLongKey() {
+        SecretKey longKey = Keys.hmacShaKeyFor(
+                "veryLongSecretKeyForJWTTokenGenerationInBCIMicroserviceWithManyCharacterToEnsureSecurity1234567890".getBytes());
+        Hs256TokenMinter longKeyMinter = new Hs256TokenMinter(longKey.getEncoded());
+
+        assertEquals(jjwtToken(longKey, "user@example.com", 1_700_000_000L, 1_700_086_400L),
+                longKeyMinter.mint("user@example.com", "user@example.com", 1_700_000_000L, 1_700_086_400L));
+    }
+
+    @Test
+    @DisplayName("Should match JJWT when a kid header is stamped")
+    void testEquivalentWithKeyId() {
+        Hs256TokenMinter kidMinter = new Hs256TokenMinter(secretKey.getEncoded(), "2026-10-key");
+        String expected = Jwts.builder()
+                .setHeaderParam("kid", "2026-10-key")
+                .setSubject("user@example.com")
+                .claim("email", "user@example.com")
+                .setIssuedAt(new Date(1_700_000_000_000L))
+                .setExpiration(new Date(1_700_086_400_000L))
+                .signWith(secretKey, SignatureAlgorithm.HS256)
+                .compact();
+
+        assertEquals(expected, kidMinter.mint("user@example.com", "user@example.com", 1_700_000_000L, 1_700_086_400L));
+    }
+
+    @Test
+    @DisplayName("Should match JJWT when a jti claim is included")
+    void testEquivalentWithTokenId() {
+        String expected = Jwts.builder()
+                .setSubject("user@example.com")
+                .claim("email", "user@example.com")
+                .setIssuedAt(new Date(1_700_000_000_000L))
+                .setExpiration(new Date(1_700_086_400_000L))
+                .setId("3q2-7wAAQBCAAAAAAAAAAA")
+                .signWith(secretKey, SignatureAlgorithm.HS256)
+                .compact();
+
+        assertEquals(expected, minter.mint("user@example.com", "user@example.com",
+                1_700_000_000L, 1_700_086_400L, "3q2-7wAAQBCAAAAAAAAAAA"));
+    }
+
+    @Test
+    @DisplayName("Should match JJWT when a typ claim is included")
+    void testEquivalentWithType() {
+        String expected = Jwts.builder()
+                .setSubject("user@example.com")
+                .claim("email", "user@example.com")
+                .setIssuedAt(new Date(1_700_000_000_000L))
+                .setExpiration(new Date(1_701_209_600_000L))
+                .setId("3q2-7wAAQBCAAAAAAAAAAA")
+                .claim("typ", "refresh")
+                .signWith(secretKey, SignatureAlgorithm.HS256)
+                .compact();
+
+        assertEquals(expected, minter.mint("user@example.com", "user@example.com",
+                1_700_000_000L, 1_701_209_600L, "3q2-7wAAQBCAAAAAAAAAAA", "refresh"));
+    }
+
+    @Test
+    @DisplayName("Minted tokens should verify with the JJWT parser")
+    void testMintedTokenVerifies() {
+        long now = System.currentTimeMillis() / 1000;
+        String token = minter.mint("user@example.com", "user@example.com", now, now + 3600);
+
+        String email = Jwts.parserBuilder().setSigningKey(secretKey).build()
+                .parseClaimsJws(token).getBody().get("email", String.class);
+        assertEquals("user@example.com", email);
+    }
+
+    @Test
+    @DisplayName("Should grow buffers for long claims and keep working")
+    void testLongClaims() {
+        StringBuilder email = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            email.append('a');
+        }
+        email.append("@example.com");
+
+        assertEquals(jjwtToken(secretKey, email.toString(), 1L, 2L),
+                minter.mint(email.toString(), email.toString(), 1L, 2L));
+        assertEquals(jjwtToken(secretKey, "short@example.com", 1L, 2L),
+                minter.mint("short@example.com", "short@example.com", 1L, 2L));
+    }
+
+    @Test
+    @DisplayName("Should reject null claims")
+    void testNullClaims() {
+        assertThrows(IllegalArgumentException.class, () -> minter.mint(null, null, 1L, 2L));
+    }
+}
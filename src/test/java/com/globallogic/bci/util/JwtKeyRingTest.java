@@ -0,0 +1,201 @@
+package com.globallogic.bci.util;
+
+import com.globallogic.bci.token.TokenVerification;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for JwtKeyRing and key rotation through JwtTokenProvider
+ */
+@DisplayName("JwtKeyRing Tests")
+class JwtKeyRingTest {
+
+    private static final String OLD_SECRET = "mySecretKeyForJWTTokenGenerationInBCI12345";
+    private static final String NEW_SECRET = "rotatedSecretKeyForJWTTokenGenerationInBCI67890";
+
+    private MutableClock clock;
+    private JwtTokenProvider oldProvider;
+    private JwtKeyRing rotatedRing;
+    private JwtTokenProvider rotatedProvider;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(1_700_000_000_000L);
+        oldProvider = new JwtTokenProvider(OLD_SECRET);
+        rotatedRing = new JwtKeyRing(NEW_SECRET, "k2", new String[]{retiredEntry(clock.instant())}, 3600, clock);
+        rotatedProvider = new JwtTokenProvider(rotatedRing, VerifiedTokenCache.disabled());
+    }
+
+    private static String retiredEntry(Instant retiredAt) {
+        return "k1:" + OLD_SECRET + "@" + retiredAt;
+    }
+
+    private static String header(String token) {
+        return new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))));
+    }
+
+    @Test
+    @DisplayName("New tokens should carry the current key id")
+    void testTokensStampedWithKid() {
+        assertEquals("{\"kid\":\"k1\",\"alg\":\"HS256\"}", header(oldProvider.generateToken("user@example.com")));
+        assertEquals("{\"kid\":\"k2\",\"alg\":\"HS256\"}", header(rotatedProvider.generateToken("user@example.com")));
+    }
+
+    @Test
+    @DisplayName("Tokens signed before rotation should keep verifying")
+    void testRetiredKeyStillVerifies() {
+        String oldToken = oldProvider.generateToken("user@example.com");
+
+        TokenVerification result = rotatedProvider.verify(oldToken);
+        assertTrue(result.isValid());
+        assertEquals("user@example.com", result.getEmail());
+        assertTrue(rotatedProvider.verify(rotatedProvider.generateToken("user@example.com")).isValid());
+    }
+
+    @Test
+    @DisplayName("Retired key should stop verifying after its TTL")
+    void testRetiredKeyExpires() {
+        String oldToken = oldProvider.generateToken("user@example.com");
+        assertEquals(2, rotatedRing.size());
+
+        clock.advance(3_600_000);
+
+        assertEquals(TokenVerification.Status.BAD_SIGNATURE, rotatedProvider.verify(oldToken).getStatus());
+        assertNull(rotatedRing.find("k1"));
+        assertEquals(1, rotatedRing.size());
+    }
+
+    @Test
+    @DisplayName("Retired key deadline should count from retiredAt, not from startup")
+    void testRetiredKeyDeadlineSurvivesRestart() {
+        Instant retiredAt = clock.instant();
+        clock.advance(3_000_000);
+
+        JwtKeyRing restarted = new JwtKeyRing(NEW_SECRET, "k2", new String[]{retiredEntry(retiredAt)}, 3600, clock);
+
+        assertEquals(retiredAt.toEpochMilli() + 3_600_000, restarted.find("k1").getNotAfterMillis());
+        clock.advance(600_000);
+        assertNull(restarted.find("k1"));
+    }
+
+    @Test
+    @DisplayName("Retired key past its deadline at startup should be ignored")
+    void testExpiredRetiredKeyIgnored() {
+        Instant retiredAt = clock.instant().minusSeconds(3600);
+
+        JwtKeyRing ring = new JwtKeyRing(NEW_SECRET, "k2", new String[]{retiredEntry(retiredAt)}, 3600, clock);
+
+        assertEquals(1, ring.size());
+        assertNull(ring.find("k1"));
+        assertEquals(Long.MAX_VALUE, ring.nextRetirementMillis());
+    }
+
+    @Test
+    @DisplayName("Retired secrets may contain ':' and '@'")
+    void testRetiredSecretWithSeparators() {
+        String secret = "old:secret@with:separators-for-JWT-HS256-key";
+        String oldToken = new JwtTokenProvider(secret).generateToken("user@example.com");
+        JwtKeyRing ring = new JwtKeyRing(NEW_SECRET, "k2",
+                new String[]{"k1:" + secret + "@" + clock.instant()}, 3600, clock);
+
+        assertTrue(new JwtTokenProvider(ring, VerifiedTokenCache.disabled()).verify(oldToken).isValid());
+    }
+
+    @Test
+    @DisplayName("Next retirement should be the deadline of the remaining retired key")
+    void testNextRetirement() {
+        assertEquals(clock.millis() + 3_600_000, rotatedRing.nextRetirementMillis());
+        assertEquals(Long.MAX_VALUE, JwtKeyRing.single(OLD_SECRET).nextRetirementMillis());
+
+        clock.advance(3_600_000);
+
+        assertEquals(Long.MAX_VALUE, rotatedRing.nextRetirementMillis());
+        assertEquals(1, rotatedRing.size());
+    }
+
+    @Test
+    @DisplayName("Unknown key id should be rejected as bad signature")
+    void testUnknownKid() {
+        String token = Jwts.builder()
+                .setHeaderParam("kid", "unknown")
+                .setSubject("user@example.com")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(NEW_SECRET.getBytes()), SignatureAlgorithm.HS256)
+                .compact();
+
+        assertEquals(TokenVerification.Status.BAD_SIGNATURE, rotatedProvider.verify(token).getStatus());
+    }
+
+    @Test
+    @DisplayName("Tokens without kid should verify against the current key")
+    void testLegacyTokenWithoutKid() {
+        String legacyToken = Jwts.builder()
+                .setSubject("user@example.com")
+                .claim("email", "user@example.com")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(NEW_SECRET.getBytes()), SignatureAlgorithm.HS256)
+                .compact();
+
+        assertTrue(rotatedProvider.verify(legacyToken).isValid());
+    }
+
+    @Test
+    @DisplayName("Should reject malformed retired key entries")
+    void testMalformedRetiredKeys() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new JwtKeyRing(NEW_SECRET, "k2", new String[]{"no-separator"}, 60, clock));
+        assertThrows(IllegalArgumentException.class,
+                () -> new JwtKeyRing(NEW_SECRET, "k2", new String[]{"k1:" + OLD_SECRET}, 60, clock));
+        assertThrows(IllegalArgumentException.class,
+                () -> new JwtKeyRing(NEW_SECRET, "k2", new String[]{"k1:" + OLD_SECRET + "@yesterday"}, 60, clock));
+        assertThrows(IllegalArgumentException.class,
+                () -> new JwtKeyRing(NEW_SECRET, "k2", new String[]{"k1:@" + clock.instant()}, 60, clock));
+        assertThrows(IllegalArgumentException.class,
+                () -> new JwtKeyRing(NEW_SECRET, "k2", new String[]{"k2:" + OLD_SECRET + "@" + clock.instant()}, 60, clock));
+    }
+
+    private static final class MutableClock extends Clock {
+        private long millis;
+
+        private MutableClock(long millis) {
+            this.millis = millis;
+        }
+
+        void advance(long delta) {
+            millis += delta;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
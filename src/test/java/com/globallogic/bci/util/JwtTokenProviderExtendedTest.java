@@ -1,5 +1,6 @@
 package com.globallogic.bci.util;
 
+import com.globallogic.bci.token.TokenVerification;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -147,6 +148,83 @@ class JwtTokenProviderExtendedTest {
         }
     }
 
+    @Nested
+    @DisplayName("Single-pass Verification")
+    class VerifyTests {
+
+        @Test
+        @DisplayName("Should return claims for valid token")
+        void testVerifyValidToken() {
+            String email = "user@example.com";
+            TokenVerification result = jwtTokenProvider.verify(jwtTokenProvider.generateToken(email));
+
+            assertTrue(result.isValid());
+            assertEquals(TokenVerification.Status.VALID, result.getStatus());
+            assertEquals(email, result.getSubject());
+            assertEquals(email, result.getEmail());
+            assertNotNull(result.getIssuedAt());
+            assertTrue(result.getExpiration().after(new Date()));
+        }
+
+        @Test
+        @DisplayName("Should give every token a unique id")
+        void testVerifyTokenId() {
+            TokenVerification first = jwtTokenProvider.verify(jwtTokenProvider.generateToken("user@example.com"));
+            TokenVerification second = jwtTokenProvider.verify(jwtTokenProvider.generateToken("user@example.com"));
+
+            assertNotNull(first.getTokenId());
+            assertEquals(22, first.getTokenId().length());
+            assertNotEquals(first.getTokenId(), second.getTokenId());
+        }
+
+        @Test
+        @DisplayName("Should report expired token")
+        void testVerifyExpiredToken() {
+            SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes());
+            String expiredToken = Jwts.builder()
+                    .setSubject("user@example.com")
+                    .claim("email", "user@example.com")
+                    .setIssuedAt(new Date(System.currentTimeMillis() - 7200000))
+                    .setExpiration(new Date(System.currentTimeMillis() - 3600000))
+                    .signWith(key, SignatureAlgorithm.HS256)
+                    .compact();
+
+            TokenVerification result = jwtTokenProvider.verify(expiredToken);
+            assertFalse(result.isValid());
+            assertEquals(TokenVerification.Status.EXPIRED, result.getStatus());
+            assertNull(result.getEmail());
+        }
+
+        @Test
+        @DisplayName("Should report bad signature for token signed with another key")
+        void testVerifyBadSignature() {
+            SecretKey differentKey = Keys.hmacShaKeyFor("differentSecretKeyForJWTTokenGeneration1234567890abcdef".getBytes());
+            String token = Jwts.builder()
+                    .setSubject("user@example.com")
+                    .setExpiration(new Date(System.currentTimeMillis() + 86400000))
+                    .signWith(differentKey, SignatureAlgorithm.HS256)
+                    .compact();
+
+            assertEquals(TokenVerification.Status.BAD_SIGNATURE, jwtTokenProvider.verify(token).getStatus());
+        }
+
+        @Test
+        @DisplayName("Should report malformed token")
+        void testVerifyMalformedToken() {
+            assertEquals(TokenVerification.Status.MALFORMED, jwtTokenProvider.verify("not.a.token").getStatus());
+            assertEquals(TokenVerification.Status.MALFORMED, jwtTokenProvider.verify("").getStatus());
+            assertEquals(TokenVerification.Status.MALFORMED, jwtTokenProvider.verify(null).getStatus());
+        }
+
+        @Test
+        @DisplayName("Failure results should be shared constants")
+        void testFailureResultsAreShared() {
+            assertSame(jwtTokenProvider.verify("not.a.token"), jwtTokenProvider.verify("..."));
+            assertThrows(IllegalArgumentException.class,
+                    () -> TokenVerification.failure(TokenVerification.Status.VALID));
+        }
+    }
+
     @Nested
     @DisplayName("Email Extraction - Branch Coverage")
     class EmailExtractionTests {
@@ -49,6 +49,22 @@ class JwtTokenProviderTest {
         assertEquals(email, extractedEmail);
     }
 
+    @Test
+    @DisplayName("Should extract no email from an invalid token")
+    void testExtractEmailInvalidToken() {
+        assertNull(jwtTokenProvider.getEmailFromToken("invalid.token.here"));
+        assertNull(jwtTokenProvider.getEmailFromToken(""));
+    }
+
+    @Test
+    @DisplayName("Should extract no email from a refresh token")
+    void testExtractEmailRefreshToken() {
+        String refreshToken = new RefreshTokenProvider("mySecretKeyForJWTTokenGenerationInBCI12345")
+                .generateToken("user@example.com");
+
+        assertNull(jwtTokenProvider.getEmailFromToken(refreshToken));
+    }
+
     @Test
     @DisplayName("Invalid token should return false")
     void testInvalidToken() {
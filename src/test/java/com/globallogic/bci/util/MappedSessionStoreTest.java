@@ -0,0 +1,149 @@
+package com.globallogic.bci.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MappedSessionStore
+ */
+@DisplayName("MappedSessionStore Tests")
+class MappedSessionStoreTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Stored sessions should be found by id")
+    void testPutAndGet() throws IOException {
+        try (MappedSessionStore store = new MappedSessionStore(tempDir.resolve("sessions.db"), 16)) {
+            store.put(1L, 2L, "user@example.com", NOW, NOW + 1000, NOW);
+
+            MappedSessionStore.Session session = store.get(1L, 2L);
+            assertNotNull(session);
+            assertEquals("user@example.com", session.getEmail());
+            assertEquals(NOW, session.getIssuedAtMillis());
+            assertEquals(NOW + 1000, session.getExpiresAtMillis());
+            assertNull(store.get(2L, 1L));
+        }
+    }
+
+    @Test
+    @DisplayName("Capacity should be rounded up to a power of two")
+    void testCapacityRounding() throws IOException {
+        try (MappedSessionStore store = new MappedSessionStore(tempDir.resolve("sessions.db"), 100)) {
+            assertEquals(128, store.getCapacity());
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> new MappedSessionStore(tempDir.resolve("other.db"), MappedSessionStore.MAX_CAPACITY + 1));
+    }
+
+    @Test
+    @DisplayName("Colliding ids should be resolved by linear probing")
+    void testCollisions() throws IOException {
+        try (MappedSessionStore store = new MappedSessionStore(tempDir.resolve("sessions.db"), 4)) {
+            // Same low bits, so every id hashes to the same home slot
+            for (long i = 1; i <= 4; i++) {
+                store.put(i << 32, 0L, "user" + i + "@example.com", NOW, NOW + 1000, NOW);
+            }
+            for (long i = 1; i <= 4; i++) {
+                assertEquals("user" + i + "@example.com", store.get(i << 32, 0L).getEmail());
+            }
+            assertThrows(IllegalStateException.class,
+                    () -> store.put(5L << 32, 0L, "full@example.com", NOW, NOW + 1000, NOW));
+        }
+    }
+
+    @Test
+    @DisplayName("Removed sessions should stop resolving without breaking probe chains")
+    void testRemove() throws IOException {
+        try (MappedSessionStore store = new MappedSessionStore(tempDir.resolve("sessions.db"), 4)) {
+            store.put(1L << 32, 0L, "first@example.com", NOW, NOW + 1000, NOW);
+            store.put(2L << 32, 0L, "second@example.com", NOW, NOW + 1000, NOW);
+
+            assertTrue(store.remove(1L << 32, 0L));
+            assertFalse(store.remove(1L << 32, 0L));
+            assertNull(store.get(1L << 32, 0L));
+            assertEquals("second@example.com", store.get(2L << 32, 0L).getEmail());
+        }
+    }
+
+    @Test
+    @DisplayName("Expired slots should be reused by new sessions")
+    void testExpiredSlotsReused() throws IOException {
+        try (MappedSessionStore store = new MappedSessionStore(tempDir.resolve("sessions.db"), 2)) {
+            store.put(1L, 0L, "a@example.com", NOW, NOW + 1000, NOW);
+            store.put(2L, 0L, "b@example.com", NOW, NOW + 1000, NOW);
+
+            store.put(3L, 0L, "c@example.com", NOW + 1000, NOW + 2000, NOW + 1000);
+            assertEquals("c@example.com", store.get(3L, 0L).getEmail());
+        }
+    }
+
+    @Test
+    @DisplayName("A miss should read at most MAX_PROBES slots after every slot has been used")
+    void testMissProbesBoundedAfterWrapAround() throws IOException {
+        try (MappedSessionStore store = new MappedSessionStore(tempDir.resolve("sessions.db"), 1024)) {
+            for (long i = 0; i < 1024; i++) {
+                store.put(0L, i, "user" + i + "@example.com", NOW, NOW + 1000, NOW);
+            }
+            for (long i = 0; i < 512; i++) {
+                assertTrue(store.remove(0L, i));
+            }
+            for (long i = 512; i < 1024; i++) {
+                store.put(1L, i, "next" + i + "@example.com", NOW + 1000, NOW + 2000, NOW + 1000);
+            }
+
+            // No slot is EMPTY any more, so only the probe bound ends the scan
+            for (long i = 0; i < 1024; i++) {
+                assertEquals(MappedSessionStore.MAX_PROBES, store.probeLength(42L, i));
+                assertNull(store.get(42L, i));
+            }
+            assertEquals(1, store.probeLength(1L, 512L));
+        }
+    }
+
+    @Test
+    @DisplayName("Inserts should fail once the probe window holds only live sessions")
+    void testProbeWindowFull() throws IOException {
+        try (MappedSessionStore store = new MappedSessionStore(tempDir.resolve("sessions.db"), 1024)) {
+            for (long i = 1; i <= MappedSessionStore.MAX_PROBES; i++) {
+                store.put(i << 32, 0L, "user" + i + "@example.com", NOW, NOW + 1000, NOW);
+            }
+            assertThrows(IllegalStateException.class,
+                    () -> store.put(999L << 32, 0L, "late@example.com", NOW, NOW + 1000, NOW));
+
+            store.put(999L << 32, 0L, "late@example.com", NOW + 1000, NOW + 2000, NOW + 1000);
+            assertEquals("late@example.com", store.get(999L << 32, 0L).getEmail());
+        }
+    }
+
+    @Test
+    @DisplayName("Sessions should survive reopening the store file")
+    void testPersistence() throws IOException {
+        Path path = tempDir.resolve("sessions.db");
+        try (MappedSessionStore store = new MappedSessionStore(path, 16)) {
+            store.put(7L, 8L, "persisted@example.com", NOW, NOW + 1000, NOW);
+        }
+        try (MappedSessionStore store = new MappedSessionStore(path, 16)) {
+            assertEquals("persisted@example.com", store.get(7L, 8L).getEmail());
+        }
+        assertThrows(IllegalStateException.class, () -> new MappedSessionStore(path, 32));
+    }
+
+    @Test
+    @DisplayName("Emails longer than a slot should be rejected")
+    void testEmailTooLong() throws IOException {
+        try (MappedSessionStore store = new MappedSessionStore(tempDir.resolve("sessions.db"), 16)) {
+            String email = "a".repeat(MappedSessionStore.MAX_EMAIL_BYTES) + "@example.com";
+            assertThrows(IllegalArgumentException.class, () -> store.put(1L, 1L, email, NOW, NOW + 1000, NOW));
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.globallogic.bci.util;
+
+import com.globallogic.bci.token.TokenVerification;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for OpaqueTokenProvider
+ */
+@DisplayName("OpaqueTokenProvider Tests")
+class OpaqueTokenProviderTest {
+
+    @TempDir
+    Path tempDir;
+
+    private MutableClock clock;
+    private OpaqueTokenProvider provider;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        clock = new MutableClock(1_700_000_000_000L);
+        provider = new OpaqueTokenProvider(new MappedSessionStore(tempDir.resolve("sessions.db"), 64), clock);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        provider.close();
+    }
+
+    @Test
+    @DisplayName("Generated tokens should be 22 Base64url characters")
+    void testTokenFormat() {
+        String token = provider.generateToken("user@example.com");
+
+        assertEquals(OpaqueTokenProvider.TOKEN_LENGTH, token.length());
+        assertTrue(token.matches("[A-Za-z0-9_-]+"));
+        assertNotEquals(token, provider.generateToken("user@example.com"));
+    }
+
+    @Test
+    @DisplayName("Generated tokens should verify with the session email and expiration")
+    void testVerifyValid() {
+        String token = provider.generateToken("user@example.com");
+
+        TokenVerification result = provider.verify(token);
+        assertTrue(result.isValid());
+        assertEquals("user@example.com", result.getEmail());
+        assertEquals("user@example.com", result.getSubject());
+        assertEquals(token, result.getTokenId());
+        assertEquals(clock.millis() + 86400000L, result.getExpiration().getTime());
+    }
+
+    @Test
+    @DisplayName("Sessions past 24 hours should verify as expired")
+    void testVerifyExpired() {
+        String token = provider.generateToken("user@example.com");
+        clock.advance(86400000L);
+
+        assertEquals(TokenVerification.Status.EXPIRED, provider.verify(token).getStatus());
+    }
+
+    @Test
+    @DisplayName("Well-formed tokens that were never issued should be rejected")
+    void testVerifyUnknown() {
+        assertEquals(TokenVerification.Status.BAD_SIGNATURE, provider.verify("AAAAAAAAAAAAAAAAAAAAAA").getStatus());
+    }
+
+    @Test
+    @DisplayName("Malformed tokens should be rejected")
+    void testVerifyMalformed() {
+        assertEquals(TokenVerification.Status.MALFORMED, provider.verify(null).getStatus());
+        assertEquals(TokenVerification.Status.MALFORMED, provider.verify("").getStatus());
+        assertEquals(TokenVerification.Status.MALFORMED, provider.verify("too-short").getStatus());
+        assertEquals(TokenVerification.Status.MALFORMED, provider.verify("AAAAAAAAAAAAAAAAAAAA+A").getStatus());
+        // Non-zero padding bits in the last character
+        assertEquals(TokenVerification.Status.MALFORMED, provider.verify("AAAAAAAAAAAAAAAAAAAAAB").getStatus());
+    }
+
+    @Test
+    @DisplayName("JWTs should not verify in opaque mode")
+    void testJwtRejected() {
+        String jwt = new JwtTokenProvider("mySecretKeyForJWTTokenGenerationInBCI12345").generateToken("user@example.com");
+
+        assertEquals(TokenVerification.Status.MALFORMED, provider.verify(jwt).getStatus());
+    }
+
+    private static final class MutableClock extends Clock {
+        private long millis;
+
+        private MutableClock(long millis) {
+            this.millis = millis;
+        }
+
+        void advance(long delta) {
+            millis += delta;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
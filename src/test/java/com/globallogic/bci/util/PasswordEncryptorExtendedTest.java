@@ -81,8 +81,8 @@ class PasswordEncryptorExtendedTest {
             String plainPassword = "Pass123word";
             String encrypted = passwordEncryptor.encryptPassword(plainPassword);
             
-            // BCrypt hashes start with $2a$, $2b$, $2y$, or $2x$
-            assertTrue(encrypted.startsWith("$2"));
+            // BCrypt hashes start with $2a$, $2b$, $2y$, or $2x$ after the engine prefix
+            assertTrue(encrypted.startsWith("{bcrypt}$2"));
         }
 
         @Test
@@ -2,6 +2,13 @@ package com.globallogic.bci.util;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -21,7 +28,7 @@ class PasswordEncryptorTest {
 
         assertNotNull(encryptedPassword);
         assertNotEquals(plainPassword, encryptedPassword);
-        assertTrue(encryptedPassword.startsWith("$2a$") || encryptedPassword.startsWith("$2b$"));
+        assertTrue(encryptedPassword.startsWith("{bcrypt}$2a$") || encryptedPassword.startsWith("{bcrypt}$2b$"));
     }
 
     @Test
@@ -99,4 +106,106 @@ class PasswordEncryptorTest {
         assertTrue(passwordEncryptor.verifyPassword(password, encryptedPassword));
         assertFalse(passwordEncryptor.verifyPassword("pass123word", encryptedPassword)); // lowercase
     }
+
+    @Test
+    @DisplayName("Async encryption should run on the hashing executor")
+    void testEncryptPasswordAsync() {
+        AtomicInteger executions = new AtomicInteger();
+        PasswordEncryptor asyncEncryptor = new PasswordEncryptor(task -> {
+            executions.incrementAndGet();
+            task.run();
+        });
+
+        String encryptedPassword = asyncEncryptor.encryptPasswordAsync("Pass123word").join();
+
+        assertTrue(asyncEncryptor.verifyPassword("Pass123word", encryptedPassword));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    @DisplayName("Hash should carry the configured cost")
+    void testHashCarriesCost() {
+        PasswordEncryptor encryptor = new PasswordEncryptor(Runnable::run, 5);
+
+        assertEquals(5, encryptor.getStrength());
+        assertTrue(encryptor.encryptPassword("Pass123word").matches("\\{bcrypt\\}\\$2[aby]\\$05\\$.*"));
+    }
+
+    @Test
+    @DisplayName("Verification should upgrade hashes with an outdated cost")
+    void testRehashOutdatedCost() {
+        String oldHash = new PasswordEncryptor(Runnable::run, 4).encryptPassword("Pass123word");
+        PasswordEncryptor encryptor = new PasswordEncryptor(Runnable::run, 5);
+        List<String> rehashed = new ArrayList<>();
+
+        assertTrue(encryptor.verifyPassword("Pass123word", oldHash, rehashed::add));
+
+        assertEquals(1, rehashed.size());
+        assertFalse(encryptor.needsRehash(rehashed.get(0)));
+        assertTrue(encryptor.verifyPassword("Pass123word", rehashed.get(0)));
+    }
+
+    @Test
+    @DisplayName("Verification should not rehash current, stronger or mismatching hashes")
+    void testNoRehash() {
+        PasswordEncryptor encryptor = new PasswordEncryptor(Runnable::run, 5);
+        String currentHash = encryptor.encryptPassword("Pass123word");
+        String strongerHash = new PasswordEncryptor(Runnable::run, 6).encryptPassword("Pass123word");
+        String oldHash = new PasswordEncryptor(Runnable::run, 4).encryptPassword("Pass123word");
+        List<String> rehashed = new ArrayList<>();
+
+        assertTrue(encryptor.verifyPassword("Pass123word", currentHash, rehashed::add));
+        assertTrue(encryptor.verifyPassword("Pass123word", strongerHash, rehashed::add));
+        assertFalse(encryptor.verifyPassword("Wrong123pass", oldHash, rehashed::add));
+
+        assertTrue(rehashed.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Legacy hashes without engine prefix should verify as BCrypt and be upgraded")
+    void testLegacyUnprefixedHash() {
+        String legacyHash = new BCryptPasswordEncoder(4).encode("Pass123word");
+        PasswordEncryptor encryptor = new PasswordEncryptor(Runnable::run, 4);
+        List<String> rehashed = new ArrayList<>();
+
+        assertTrue(encryptor.verifyPassword("Pass123word", legacyHash, rehashed::add));
+        assertFalse(encryptor.verifyPassword("Wrong123pass", legacyHash));
+
+        assertEquals(1, rehashed.size());
+        assertTrue(rehashed.get(0).startsWith("{bcrypt}"));
+    }
+
+    @ParameterizedTest
+    @EnumSource(PasswordHashingEngine.class)
+    @DisplayName("Every engine should hash with its prefix and verify its own hashes")
+    void testEngineRoundTrip(PasswordHashingEngine engine) {
+        PasswordEncryptor encryptor = new PasswordEncryptor(Runnable::run, engine, 4);
+        String encryptedPassword = encryptor.encryptPassword("Pass123word");
+
+        assertTrue(encryptedPassword.startsWith("{" + engine.getId() + "}"));
+        assertTrue(encryptor.verifyPassword("Pass123word", encryptedPassword));
+        assertFalse(encryptor.verifyPassword("Wrong123pass", encryptedPassword));
+        assertFalse(encryptor.needsRehash(encryptedPassword));
+    }
+
+    @ParameterizedTest
+    @EnumSource(PasswordHashingEngine.class)
+    @DisplayName("Hashes of other engines should verify and be migrated to the current engine")
+    void testCrossEngineVerification(PasswordHashingEngine engine) {
+        PasswordEncryptor argon2Encryptor = new PasswordEncryptor(Runnable::run, PasswordHashingEngine.ARGON2, 4);
+        String encryptedPassword = new PasswordEncryptor(Runnable::run, engine, 4).encryptPassword("Pass123word");
+        List<String> rehashed = new ArrayList<>();
+
+        assertTrue(argon2Encryptor.verifyPassword("Pass123word", encryptedPassword, rehashed::add));
+
+        assertEquals(engine == PasswordHashingEngine.ARGON2 ? 0 : 1, rehashed.size());
+        rehashed.forEach(hash -> assertTrue(hash.startsWith("{argon2}")));
+    }
+
+    @Test
+    @DisplayName("Engine lookup should be case-insensitive and reject unknown ids")
+    void testEngineLookup() {
+        assertEquals(PasswordHashingEngine.SCRYPT, PasswordHashingEngine.fromId("SCrypt"));
+        assertThrows(IllegalArgumentException.class, () -> PasswordHashingEngine.fromId("md5"));
+    }
 }
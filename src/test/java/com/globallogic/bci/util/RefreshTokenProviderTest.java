@@ -0,0 +1,73 @@
+package com.globallogic.bci.util;
+
+import com.globallogic.bci.token.TokenVerification;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RefreshTokenProvider
+ */
+@DisplayName("RefreshTokenProvider Tests")
+class RefreshTokenProviderTest {
+
+    private static final String SECRET = "mySecretKeyForJWTTokenGenerationInBCI12345";
+
+    private RefreshTokenProvider refreshTokenProvider;
+    private JwtTokenProvider jwtTokenProvider;
+
+    @BeforeEach
+    void setUp() {
+        JwtKeyRing keyRing = JwtKeyRing.single(SECRET);
+        refreshTokenProvider = new RefreshTokenProvider(keyRing, 7200);
+        jwtTokenProvider = new JwtTokenProvider(keyRing, VerifiedTokenCache.disabled());
+    }
+
+    @Test
+    @DisplayName("Refresh tokens should carry the refresh type, a jti and their own lifetime")
+    void testRefreshTokenClaims() {
+        String token = refreshTokenProvider.generateToken("user@example.com");
+
+        Claims claims = Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes())).build()
+                .parseClaimsJws(token).getBody();
+        assertEquals("refresh", claims.get("typ"));
+        assertNotNull(claims.getId());
+        assertEquals(7200, (claims.getExpiration().getTime() - claims.getIssuedAt().getTime()) / 1000);
+    }
+
+    @Test
+    @DisplayName("Refresh tokens should verify as refresh tokens only")
+    void testRefreshTokenNotAnAccessToken() {
+        String token = refreshTokenProvider.generateToken("user@example.com");
+
+        TokenVerification result = refreshTokenProvider.verify(token);
+        assertTrue(result.isValid());
+        assertEquals("user@example.com", result.getEmail());
+        assertEquals(TokenVerification.Status.MALFORMED, jwtTokenProvider.verify(token).getStatus());
+    }
+
+    @Test
+    @DisplayName("Access tokens should not verify as refresh tokens")
+    void testAccessTokenNotARefreshToken() {
+        String token = jwtTokenProvider.generateToken("user@example.com");
+
+        assertTrue(jwtTokenProvider.verify(token).isValid());
+        assertEquals(TokenVerification.Status.MALFORMED, refreshTokenProvider.verify(token).getStatus());
+    }
+
+    @Test
+    @DisplayName("Missing or foreign refresh tokens should be rejected")
+    void testInvalidRefreshTokens() {
+        String foreign = new RefreshTokenProvider("anotherSecretKeyForJWTTokenGeneration98765")
+                .generateToken("user@example.com");
+
+        assertEquals(TokenVerification.Status.MALFORMED, refreshTokenProvider.verify(null).getStatus());
+        assertEquals(TokenVerification.Status.MALFORMED, refreshTokenProvider.verify("").getStatus());
+        assertEquals(TokenVerification.Status.BAD_SIGNATURE, refreshTokenProvider.verify(foreign).getStatus());
+    }
+}
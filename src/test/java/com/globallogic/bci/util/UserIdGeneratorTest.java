@@ -0,0 +1,64 @@
+package com.globallogic.bci.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for UserIdGenerator
+ */
+@DisplayName("UserIdGenerator Tests")
+class UserIdGeneratorTest {
+
+    @Test
+    @DisplayName("UUIDv7 ids should carry version 7, the RFC variant and the timestamp")
+    void testUuidV7Layout() {
+        long before = System.currentTimeMillis();
+        UUID id = UserIdGenerator.UUID_V7.generate();
+        long after = System.currentTimeMillis();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        long timestamp = id.getMostSignificantBits() >>> 16;
+        assertTrue(timestamp >= before && timestamp <= after);
+    }
+
+    @Test
+    @DisplayName("UUIDv7 ids from later milliseconds should sort after earlier ones")
+    void testUuidV7TimeOrdered() {
+        UUID earlier = UserIdGenerator.uuidV7(1_700_000_000_000L, ThreadLocalRandom.current());
+        UUID later = UserIdGenerator.uuidV7(1_700_000_000_001L, ThreadLocalRandom.current());
+
+        assertTrue(earlier.toString().compareTo(later.toString()) < 0);
+        assertTrue(earlier.toString().startsWith("018bcfe5-6800-7"));
+    }
+
+    @Test
+    @DisplayName("Generated ids should be unique")
+    void testUnique() {
+        Set<UUID> ids = new HashSet<>();
+        for (int i = 0; i < 100_000; i++) {
+            assertTrue(ids.add(UserIdGenerator.UUID_V7.generate()));
+        }
+    }
+
+    @Test
+    @DisplayName("Random generator should produce version 4 ids")
+    void testRandom() {
+        assertEquals(4, UserIdGenerator.RANDOM.generate().version());
+    }
+
+    @Test
+    @DisplayName("Generators should be selected by id, case-insensitively")
+    void testFromId() {
+        assertEquals(UserIdGenerator.UUID_V7, UserIdGenerator.fromId("uuidv7"));
+        assertEquals(UserIdGenerator.RANDOM, UserIdGenerator.fromId("RANDOM"));
+        assertThrows(IllegalArgumentException.class, () -> UserIdGenerator.fromId("snowflake"));
+    }
+}
@@ -0,0 +1,140 @@
+package com.globallogic.bci.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Property-based equivalence tests: the compiled validation rules must accept
+ * and reject exactly the same inputs as the original regex implementation.
+ *
+ * Inputs are generated from seeded random sources, mixing well-formed
+ * addresses and passwords with random mutations (inserted, deleted and
+ * replaced characters, including non-ASCII and line terminators), so most
+ * cases sit close to the accept/reject boundary.
+ */
+@DisplayName("Validation Equivalence Tests")
+class ValidationEquivalenceTest {
+
+    private static final int CASES_PER_SEED = 50_000;
+
+    private static final String EMAIL_ALPHABET = "aZm09._%+-@.-@ !#é\n";
+    private static final String PASSWORD_ALPHABET = "aAbBzZ0189 _!é\n";
+    private static final String LETTERS = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ";
+    private static final String DIGITS = "0123456789";
+
+    private final ValidationUtil validationUtil = new ValidationUtil();
+
+    @ParameterizedTest
+    @ValueSource(longs = {1L, 42L, 20260105L})
+    @DisplayName("Compiled email rule should match the email regex")
+    void testEmailEquivalence(long seed) {
+        Random random = new Random(seed);
+        int accepted = 0;
+        for (int i = 0; i < CASES_PER_SEED; i++) {
+            String email = random.nextBoolean()
+                    ? mutate(random, wellFormedEmail(random), EMAIL_ALPHABET)
+                    : randomString(random, EMAIL_ALPHABET, 16);
+            boolean expected = email.matches(ValidationUtil.EMAIL_REGEX);
+            assertEquals(expected, validationUtil.isValidEmail(email), () -> "Email: " + escape(email));
+            accepted += expected ? 1 : 0;
+        }
+        // Make sure the generator exercises both outcomes
+        assertTrue(accepted > CASES_PER_SEED / 20 && accepted < CASES_PER_SEED * 19 / 20);
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {1L, 42L, 20260105L})
+    @DisplayName("Compiled password rule should match the password regex and counts")
+    void testPasswordEquivalence(long seed) {
+        Random random = new Random(seed);
+        int accepted = 0;
+        for (int i = 0; i < CASES_PER_SEED; i++) {
+            String password = random.nextBoolean()
+                    ? mutate(random, wellFormedPassword(random), PASSWORD_ALPHABET)
+                    : randomString(random, PASSWORD_ALPHABET, 14);
+            boolean expected = legacyIsValidPassword(password);
+            assertEquals(expected, validationUtil.isValidPassword(password), () -> "Password: " + escape(password));
+            accepted += expected ? 1 : 0;
+        }
+        assertTrue(accepted > CASES_PER_SEED / 20 && accepted < CASES_PER_SEED * 19 / 20);
+    }
+
+    /**
+     * The password check as implemented before the rules were compiled.
+     */
+    private static boolean legacyIsValidPassword(String password) {
+        return password.matches(ValidationUtil.PASSWORD_REGEX)
+                && password.chars().filter(Character::isUpperCase).count() == 1
+                && password.chars().filter(Character::isDigit).count() >= 2
+                && password.chars().filter(Character::isLowerCase).count() >= 1;
+    }
+
+    private static String wellFormedEmail(Random random) {
+        StringBuilder email = new StringBuilder();
+        email.append(randomString(random, LETTERS + DIGITS + "._%+-", 1 + random.nextInt(8)));
+        email.append('@');
+        int labels = 1 + random.nextInt(3);
+        for (int i = 0; i < labels; i++) {
+            email.append(randomString(random, LETTERS + DIGITS + "-", 1 + random.nextInt(6))).append('.');
+        }
+        email.append(randomString(random, LETTERS, 1 + random.nextInt(4)));
+        return email.toString();
+    }
+
+    private static String wellFormedPassword(Random random) {
+        StringBuilder password = new StringBuilder();
+        password.append(LETTERS.charAt(26 + random.nextInt(26)));
+        int digits = 1 + random.nextInt(3);
+        for (int i = 0; i < digits; i++) {
+            password.append(DIGITS.charAt(random.nextInt(10)));
+        }
+        int lowercase = 4 + random.nextInt(6);
+        for (int i = 0; i < lowercase; i++) {
+            password.insert(random.nextInt(password.length() + 1), LETTERS.charAt(random.nextInt(26)));
+        }
+        return password.toString();
+    }
+
+    private static String mutate(Random random, String value, String alphabet) {
+        StringBuilder mutated = new StringBuilder(value);
+        int mutations = random.nextInt(3);
+        for (int i = 0; i < mutations; i++) {
+            int position = random.nextInt(mutated.length() + 1);
+            char c = alphabet.charAt(random.nextInt(alphabet.length()));
+            switch (random.nextInt(3)) {
+                case 0:
+                    mutated.insert(position, c);
+                    break;
+                case 1:
+                    if (position < mutated.length()) {
+                        mutated.deleteCharAt(position);
+                    }
+                    break;
+                default:
+                    if (position < mutated.length()) {
+                        mutated.setCharAt(position, c);
+                    }
+                    break;
+            }
+        }
+        return mutated.toString();
+    }
+
+    private static String randomString(Random random, String alphabet, int maxLength) {
+        int length = random.nextInt(maxLength + 1);
+        StringBuilder value = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            value.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return value.toString();
+    }
+
+    private static String escape(String value) {
+        return value.replace("\n", "\\n");
+    }
+}
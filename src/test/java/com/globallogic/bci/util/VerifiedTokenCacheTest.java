@@ -0,0 +1,255 @@
+package com.globallogic.bci.util;
+
+import com.globallogic.bci.token.TokenVerification;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for VerifiedTokenCache
+ */
+@DisplayName("VerifiedTokenCache Tests")
+class VerifiedTokenCacheTest {
+
+    private static final String SECRET = "mySecretKeyForJWTTokenGenerationInBCI12345";
+
+    private MutableClock clock;
+    private VerifiedTokenCache cache;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(1_700_000_000_000L);
+        cache = new VerifiedTokenCache(true, 2, 300, clock);
+    }
+
+    private TokenVerification validUntil(long expirationMillis) {
+        return TokenVerification.valid("user@example.com", "user@example.com",
+                new Date(clock.millis()), new Date(expirationMillis));
+    }
+
+    @Test
+    @DisplayName("Should count a miss then a hit for the same token")
+    void testHitAndMiss() {
+        assertNull(cache.get("token-a"));
+        cache.put("token-a", validUntil(clock.millis() + 60_000));
+
+        TokenVerification cached = cache.get("token-a");
+        assertNotNull(cached);
+        assertEquals("user@example.com", cached.getEmail());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    @DisplayName("Should never serve an entry at or after the token expiration")
+    void testExpiredEntryNotServed() {
+        cache.put("token-a", validUntil(clock.millis() + 10_000));
+
+        clock.advance(10_000);
+        assertNull(cache.get("token-a"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("Should drop entries after the configured TTL")
+    void testTtlEviction() {
+        cache.put("token-a", validUntil(clock.millis() + 86_400_000));
+
+        clock.advance(299_999);
+        assertNotNull(cache.get("token-a"));
+        clock.advance(1);
+        assertNull(cache.get("token-a"));
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used entry when full")
+    void testLruEviction() {
+        long exp = clock.millis() + 60_000;
+        cache.put("token-a", validUntil(exp));
+        cache.put("token-b", validUntil(exp));
+        cache.get("token-a");
+        cache.put("token-c", validUntil(exp));
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertNotNull(cache.get("token-a"));
+        assertNull(cache.get("token-b"));
+        assertNotNull(cache.get("token-c"));
+    }
+
+    @Test
+    @DisplayName("Should not serve an entry past its not-after time")
+    void testNotAfterCapsEntry() {
+        cache.put("token-a", validUntil(clock.millis() + 60_000), clock.millis() + 5_000);
+
+        clock.advance(4_999);
+        assertNotNull(cache.get("token-a"));
+        clock.advance(1);
+        assertNull(cache.get("token-a"));
+    }
+
+    @Test
+    @DisplayName("Should stop serving tokens of a retired key once it leaves the key ring")
+    void testRetiredKeyEntriesDropped() {
+        String oldToken = new JwtTokenProvider(SECRET).generateToken("user@example.com");
+        JwtKeyRing ring = new JwtKeyRing("rotatedSecretKeyForJWTTokenGenerationInBCI67890", "k2",
+                new String[]{"k1:" + SECRET + "@" + clock.instant()}, 3600, clock);
+        VerifiedTokenCache ringCache = new VerifiedTokenCache(true, 100, 86_400, clock);
+        JwtTokenProvider provider = new JwtTokenProvider(ring, ringCache);
+
+        assertTrue(provider.verify(oldToken).isValid());
+        assertTrue(provider.verify(oldToken).isValid());
+        assertEquals(1, ringCache.getHitCount());
+
+        clock.advance(3_600_000);
+
+        assertEquals(TokenVerification.Status.BAD_SIGNATURE, provider.verify(oldToken).getStatus());
+        assertEquals(1, ringCache.getHitCount());
+        assertEquals(0, ringCache.size());
+    }
+
+    @Test
+    @DisplayName("Large cache should stay within max-size across its stripes")
+    void testStripedCapacity() {
+        VerifiedTokenCache striped = new VerifiedTokenCache(true, 1024, 300, clock);
+        long exp = clock.millis() + 60_000;
+        for (int i = 0; i < 4096; i++) {
+            striped.put("token-" + i, validUntil(exp));
+        }
+
+        assertTrue(striped.size() <= 1024);
+        assertTrue(striped.size() > 512);
+        assertEquals(4096 - striped.size(), striped.getEvictionCount());
+        assertNotNull(striped.get("token-4095"));
+    }
+
+    @Test
+    @DisplayName("Concurrent lookups and inserts should keep the cache consistent")
+    void testConcurrentAccess() throws Exception {
+        // 16 stripes of 1024 entries: nothing is evicted between a put and its get
+        VerifiedTokenCache striped = new VerifiedTokenCache(true, 16_384, 300, clock);
+        long exp = clock.millis() + 60_000;
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int thread = t;
+                results.add(pool.submit(() -> {
+                    for (int i = 0; i < 1000; i++) {
+                        String token = "token-" + thread + "-" + i;
+                        striped.put(token, validUntil(exp));
+                        assertNotNull(striped.get(token));
+                    }
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(8000, striped.getHitCount());
+        assertEquals(8000, striped.size());
+        assertEquals(0, striped.getEvictionCount());
+    }
+
+    @Test
+    @DisplayName("Should not cache rejected tokens")
+    void testFailuresNotCached() {
+        cache.put("token-a", TokenVerification.failure(TokenVerification.Status.BAD_SIGNATURE));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("Disabled cache should never store or count")
+    void testDisabledCache() {
+        VerifiedTokenCache disabled = VerifiedTokenCache.disabled();
+        disabled.put("token-a", validUntil(clock.millis() + 60_000));
+
+        assertFalse(disabled.isEnabled());
+        assertNull(disabled.get("token-a"));
+        assertEquals(0, disabled.getMissCount());
+    }
+
+    @Test
+    @DisplayName("JwtTokenProvider should answer repeated verifications from the cache")
+    void testProviderUsesCache() {
+        VerifiedTokenCache providerCache = new VerifiedTokenCache(true, 100, 300, new SimpleMeterRegistry());
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, providerCache);
+        String token = provider.generateToken("user@example.com");
+
+        TokenVerification first = provider.verify(token);
+        TokenVerification second = provider.verify(token);
+
+        assertTrue(first.isValid());
+        assertSame(first, second);
+        assertEquals(1, providerCache.getHitCount());
+        assertEquals(1, providerCache.getMissCount());
+    }
+
+    @Test
+    @DisplayName("Should publish hit, miss, eviction and size meters")
+    void testMetersRegistered() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        VerifiedTokenCache meteredCache = new VerifiedTokenCache(true, 1, 300, meterRegistry);
+        String token = new JwtTokenProvider(SECRET).generateToken("user@example.com");
+        TokenVerification verification = new JwtTokenProvider(SECRET).verify(token);
+
+        meteredCache.get(token);
+        meteredCache.put(token, verification);
+        meteredCache.get(token);
+        meteredCache.put("other-token", verification);
+
+        assertEquals(1.0, meterRegistry.get("jwt.cache.hits").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("jwt.cache.misses").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("jwt.cache.evictions").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("jwt.cache.size").gauge().value());
+    }
+
+    private static final class MutableClock extends Clock {
+        private long millis;
+
+        private MutableClock(long millis) {
+            this.millis = millis;
+        }
+
+        void advance(long delta) {
+            millis += delta;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}